@@ -0,0 +1,59 @@
+package benchmarks;
+
+import core.AudioManager;
+import core.BatchWorldGenerator;
+import core.GenerationStats;
+import core.LevelParameters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to generate and measure a batch of levels with {@link BatchWorldGenerator}.
+ * Comparing the thread counts shows how batch generation scales with cores; with
+ * enough cores the time per batch should fall in proportion to the threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchGenerationBenchmark {
+    private static final int BATCH_SIZE = 64;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private BatchWorldGenerator generator;
+    private List<LevelParameters> levels;
+
+    @Setup
+    public void setUp() {
+        AudioManager.useSilentAudio();
+        generator = new BatchWorldGenerator(threads);
+        levels = BatchWorldGenerator.seedRange(1, BATCH_SIZE, seed -> LevelParameters.nextLevel(seed, 4));
+    }
+
+    @TearDown
+    public void tearDown() {
+        generator.shutdown();
+    }
+
+    @Benchmark
+    public List<GenerationStats> generateBatch() {
+        return generator.generateStats(levels, 0);
+    }
+}
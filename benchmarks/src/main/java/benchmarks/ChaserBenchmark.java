@@ -0,0 +1,56 @@
+package benchmarks;
+
+import core.AudioManager;
+import core.Player;
+import core.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one chaser tick, an avatar step followed by World.moveChasers, as the
+ * number of chasers grows. All chasers share the avatar's distance field, so the
+ * time per tick should stay roughly flat.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChaserBenchmark {
+    private static final long SEED = 4242L;
+    private static final char[] MOVES = {'w', 'a', 's', 'd'};
+
+    @Param({"1", "4", "16", "64"})
+    public int chasers;
+
+    private World world;
+    private Random random;
+
+    @Setup
+    public void setUp() {
+        AudioManager.useSilentAudio();
+        world = new World(new Player("bench"), SEED, 0, 0, chasers);
+        random = new Random(SEED);
+    }
+
+    @Benchmark
+    public World moveChasers() {
+        world.moveAvatar(MOVES[random.nextInt(MOVES.length)]);
+        world.tick(); // Lets ice slides finish, as the game loop would
+        world.moveChasers();
+        return world;
+    }
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import core.AudioManager;
+import core.LevelCache;
+import core.LevelParameters;
+import core.Player;
+import core.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of starting a level again (a retry or a load) with and without
+ * {@link LevelCache}: generating it from its seed against copying the cached layout.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LevelCacheBenchmark {
+    private static final long SEED = 12345L;
+
+    private LevelParameters level;
+    private Player player;
+    private LevelCache cache;
+
+    @Setup
+    public void setUp() {
+        AudioManager.useSilentAudio();
+        level = LevelParameters.nextLevel(SEED, 4);
+        player = new Player("bench");
+        cache = new LevelCache(LevelCache.DEFAULT_CAPACITY);
+        cache.createWorld(level, player);
+    }
+
+    @Benchmark
+    public World generate() {
+        return level.generateWorld(player);
+    }
+
+    @Benchmark
+    public World cached() {
+        return cache.createWorld(level, player);
+    }
+}
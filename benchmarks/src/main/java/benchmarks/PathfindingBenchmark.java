@@ -0,0 +1,91 @@
+package benchmarks;
+
+import core.AudioManager;
+import core.GridPathfinder;
+import core.Player;
+import core.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tileengine.TETile;
+import tileengine.Tileset;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of one A* query between floor tiles whose shortest path is about
+ * {@code distance} steps long. The queries cycle through a fixed set of pairs
+ * picked during setup, so every measured call is a real search.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PathfindingBenchmark {
+    private static final long SEED = 4242L;
+    private static final int PAIRS = 64;
+    private static final int MAX_TRIES = 1_000_000;
+
+    @Param({"8", "32", "64"})
+    public int distance;
+
+    private GridPathfinder pathfinder;
+    private final int[] pairs = new int[PAIRS * 4];
+    private int pairCount = 0;
+    private int next = 0;
+
+    @Setup
+    public void setUp() {
+        AudioManager.useSilentAudio();
+        World world = new World(new Player("bench"), SEED, 10, 10);
+        TETile[][] map = world.getMap();
+        pathfinder = new GridPathfinder(world.getWidth(), world.getHeight(),
+                (x, y) -> map[x][y] != Tileset.WALL);
+
+        // Random floor pairs whose path length is within a quarter of the target.
+        // The goal is drawn near the start, since a path is never shorter than the
+        // Manhattan distance between its ends.
+        Random random = new Random(SEED);
+        int found = 0;
+        for (int tries = 0; tries < MAX_TRIES && found < PAIRS; tries++) {
+            int sx = random.nextInt(world.getWidth());
+            int sy = random.nextInt(world.getHeight());
+            int gx = sx + random.nextInt(2 * distance + 1) - distance;
+            int gy = sy + random.nextInt(2 * distance + 1) - distance;
+            if (gx < 0 || gx >= world.getWidth() || gy < 0 || gy >= world.getHeight()
+                    || map[sx][sy] != Tileset.FLOOR || map[gx][gy] != Tileset.FLOOR) {
+                continue;
+            }
+            int length = pathfinder.findPath(sx, sy, gx, gy);
+            if (length >= 0 && Math.abs(length - distance) <= distance / 4) {
+                pairs[found * 4] = sx;
+                pairs[found * 4 + 1] = sy;
+                pairs[found * 4 + 2] = gx;
+                pairs[found * 4 + 3] = gy;
+                found++;
+            }
+        }
+        if (found == 0) {
+            throw new IllegalStateException("No paths of about " + distance + " steps");
+        }
+        pairCount = found;
+    }
+
+    @Benchmark
+    public int findPath() {
+        int i = next;
+        next = (next + 4) % (pairCount * 4);
+        return pathfinder.findPath(pairs[i], pairs[i + 1], pairs[i + 2], pairs[i + 3]);
+    }
+}
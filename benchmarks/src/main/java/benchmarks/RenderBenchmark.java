@@ -0,0 +1,61 @@
+package benchmarks;
+
+import core.AudioManager;
+import core.Player;
+import core.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tileengine.AvatarTileset;
+import tileengine.TERenderer;
+import tileengine.TETile;
+import tileengine.TileAtlas;
+import tileengine.Tileset;
+
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rendering a whole level into an offscreen image, which needs no window
+ * and so runs headless.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RenderBenchmark {
+    private static final long SEED = 4242L;
+
+    @Param({"8", "16"})
+    public int tileSize;
+
+    private TERenderer renderer;
+    private TETile[][] map;
+    private BufferedImage target;
+
+    @Setup
+    public void setUp() {
+        AudioManager.useSilentAudio();
+        map = new World(new Player("bench"), SEED, 10, 10).getMap();
+        renderer = new TERenderer();
+        TileAtlas.getInstance().preload(Tileset.ALL);
+        TileAtlas.getInstance().preload(AvatarTileset.ALL);
+        target = new BufferedImage(map.length * tileSize, map[0].length * tileSize,
+                BufferedImage.TYPE_INT_RGB);
+    }
+
+    @Benchmark
+    public BufferedImage renderFrame() {
+        return renderer.renderFrame(map, target);
+    }
+}
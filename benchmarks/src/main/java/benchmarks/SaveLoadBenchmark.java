@@ -0,0 +1,117 @@
+package benchmarks;
+
+import core.AudioManager;
+import core.LevelCache;
+import core.Player;
+import core.SaveGame;
+import core.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import utils.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of saving and loading a game through a save file on disk. This is the path
+ * GameMenu.saveGameToFile and GameMenu.loadGame take, without the menu itself,
+ * which needs a window.
+ *
+ * Restoring a save regenerates its level through {@link LevelCache#shared()}. The
+ * load benchmarks that take a {@link ColdCache} clear that cache before every call,
+ * so they include generation; {@link #loadCached()} measures a level the cache holds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SaveLoadBenchmark {
+    private static final long SEED = 4242L;
+
+    private Player player;
+    private World world;
+    private Path saveDir;
+    private String saveFile;
+    private String textSaveFile;
+
+    /**
+     * Empties the shared level cache before each call, as on the first load of a save.
+     */
+    @State(Scope.Thread)
+    public static class ColdCache {
+        @Setup(Level.Invocation)
+        public void clear() {
+            LevelCache.shared().clear();
+        }
+    }
+
+    @Setup
+    public void setUp() throws IOException {
+        AudioManager.useSilentAudio();
+        player = new Player("bench");
+        world = new World(player, SEED, 10, 10, 3);
+        saveDir = Files.createTempDirectory("save-bench");
+        saveFile = SaveGame.fileName(saveDir.toString(), player.getUsername());
+        textSaveFile = SaveGame.legacyFileName(saveDir.toString(), player.getUsername());
+        save();
+        saveText();
+    }
+
+    @TearDown
+    public void tearDown() {
+        new File(saveFile).delete();
+        new File(textSaveFile).delete();
+        saveDir.toFile().delete();
+    }
+
+    @Benchmark
+    public void save() {
+        FileUtils.writeBytes(saveFile, SaveGame.capture(player, world, 1).encode());
+    }
+
+    @Benchmark
+    public World load(ColdCache cold) {
+        return readSave();
+    }
+
+    @Benchmark
+    public World loadCached() {
+        return readSave();
+    }
+
+    // The old text format, still read when migrating saves
+    @Benchmark
+    public void saveText() {
+        FileUtils.writeFile(textSaveFile, SaveGame.capture(player, world, 1).serialize());
+    }
+
+    @Benchmark
+    public World loadText(ColdCache cold) {
+        return SaveGame.parse(FileUtils.readFile(textSaveFile)).restore(player);
+    }
+
+    @Benchmark
+    public World roundTrip(ColdCache cold) {
+        save();
+        return readSave();
+    }
+
+    private World readSave() {
+        return SaveGame.decode(FileUtils.readBytes(saveFile)).restore(player);
+    }
+}
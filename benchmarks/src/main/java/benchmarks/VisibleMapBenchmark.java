@@ -0,0 +1,59 @@
+package benchmarks;
+
+import core.AudioManager;
+import core.Player;
+import core.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tileengine.TETile;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building the map the player sees in dark mode, which the game does
+ * every frame while a dark room is active. Most frames reuse the last field of view;
+ * {@link #getVisibleMapAfterChange} makes every frame recompute it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class VisibleMapBenchmark {
+    private static final long SEED = 4242L;
+
+    @Param({"3", "6"})
+    public int visionRadius;
+
+    private World world;
+    private boolean widened;
+
+    @Setup
+    public void setUp() {
+        AudioManager.useSilentAudio();
+        world = new World(new Player("bench"), SEED, 10, 10);
+        world.setDarkMode(true, visionRadius);
+    }
+
+    @Benchmark
+    public TETile[][] getVisibleMap() {
+        return world.getVisibleMap();
+    }
+
+    @Benchmark
+    public TETile[][] getVisibleMapAfterChange() {
+        widened = !widened;
+        world.setDarkMode(true, widened ? visionRadius + 1 : visionRadius);
+        return world.getVisibleMap();
+    }
+}
@@ -0,0 +1,53 @@
+package benchmarks;
+
+import core.AudioManager;
+import core.LevelParameters;
+import core.Player;
+import core.World;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of generating a whole level with {@code new World(player, seed, n, m)}.
+ * The level parameter picks the consumable and obstacle counts the game uses for
+ * that level, so higher levels place more items.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WorldGenerationBenchmark {
+    @Param({"1", "42", "987654321"})
+    public long seed;
+
+    @Param({"1", "4", "8"})
+    public int level;
+
+    private Player player;
+    private LevelParameters parameters;
+
+    @Setup
+    public void setUp() {
+        AudioManager.useSilentAudio();
+        player = new Player("bench");
+        parameters = LevelParameters.nextLevel(seed, level);
+    }
+
+    @Benchmark
+    public World generate() {
+        return new World(player, seed, parameters.getNumConsumables(), parameters.getNumObstacles());
+    }
+}
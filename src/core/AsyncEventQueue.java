@@ -0,0 +1,114 @@
+package core;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Delivers events to listeners on one background thread, so slow listeners (playing a
+ * sound, say) do not hold up the game loop.
+ *
+ * The queue is a fixed ring of event slots that are filled in place, so publishing
+ * copies a few fields and allocates nothing. Publishers claim a slot with a
+ * compare-and-set on the claim counter and mark it ready through a per-slot sequence
+ * number; the single delivery thread reads slots in order and parks when it runs out.
+ * No locks are taken on either side. If the ring is full the event is dropped and
+ * counted rather than making the game wait.
+ */
+public final class AsyncEventQueue {
+    private static final int CAPACITY = 1024; // Must be a power of two
+    private static final int MASK = CAPACITY - 1;
+
+    private static AsyncEventQueue shared;
+
+    private final Event[] events = new Event[CAPACITY];
+    private final EventListener[] targets = new EventListener[CAPACITY];
+    // ready[i] is s + 1 once the event with sequence s has been written to slot i
+    private final AtomicLongArray ready = new AtomicLongArray(CAPACITY);
+    private final AtomicLong claimed = new AtomicLong(); // Next sequence to hand out
+    private volatile long delivered = 0; // Next sequence to deliver
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+
+    /**
+     * Creates a queue and starts its delivery thread. The class is final so the
+     * thread can never see a subclass that is still being constructed.
+     */
+    public AsyncEventQueue() {
+        for (int i = 0; i < CAPACITY; i++) {
+            events[i] = new Event();
+        }
+        thread = new Thread(this::run, "event-dispatch");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * @return the queue every {@link EventDispatcher} hands its async listeners to,
+     *         started on first use
+     */
+    public static synchronized AsyncEventQueue shared() {
+        if (shared == null) {
+            shared = new AsyncEventQueue();
+        }
+        return shared;
+    }
+
+    /**
+     * Queues a copy of the event for the listener.
+     *
+     * @return false if the queue was full and the event was dropped
+     */
+    public boolean publish(Event event, EventListener target) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if (sequence - delivered >= CAPACITY) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        int slot = (int) (sequence & MASK);
+        events[slot].copyFrom(event);
+        targets[slot] = target;
+        ready.set(slot, sequence + 1); // Publishes the writes above to the delivery thread
+        LockSupport.unpark(thread);
+        return true;
+    }
+
+    private void run() {
+        long next = 0;
+        while (true) {
+            int slot = (int) (next & MASK);
+            if (ready.get(slot) != next + 1) {
+                LockSupport.park(this);
+                continue;
+            }
+            EventListener target = targets[slot];
+            targets[slot] = null;
+            try {
+                target.onEvent(events[slot]);
+            } catch (RuntimeException e) {
+                System.err.println("Error in event listener: " + e.getMessage());
+                e.printStackTrace();
+            }
+            next++;
+            delivered = next; // Frees the slot for publishers
+        }
+    }
+
+    /**
+     * @return the number of events waiting to be delivered
+     */
+    public int pending() {
+        return (int) (claimed.get() - delivered);
+    }
+
+    /**
+     * @return the number of events dropped because the queue was full
+     */
+    public long getDropped() {
+        return dropped.get();
+    }
+}
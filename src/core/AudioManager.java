@@ -1,20 +1,19 @@
 package core;
 
-import javax.sound.sampled.*;
-import java.util.HashMap;
-import java.util.Map;
-import java.io.ByteArrayInputStream;
-import java.util.Timer;
-import java.util.TimerTask;
-import java.io.File;
-import java.io.IOException;
-import java.util.HashSet;
-import java.util.Set;
-
+/**
+ * Plays the game's sounds by name through an {@link AudioMixer}.
+ *
+ * Sounds are decoded into memory in the background by a {@link SoundLoader}, and
+ * one that has not loaded yet is silent. One-shot effects can overlap (two
+ * quick footsteps both play in full); the looping and ambient sounds play at most
+ * once at a time. Volume settings are applied as the mixer's music and effects gains,
+ * so changing them affects sounds that are already playing.
+ */
 public class AudioManager {
-    private static AudioManager instance;
-    private final Map<String, Clip> soundCache;
-    private final Set<String> activeSounds; // Track currently active sounds
+    private static volatile AudioManager instance;
+    private static String cacheDir = SoundLoader.DEFAULT_CACHE_DIR;
+    private final SoundLoader sounds; // Null when silent
+    private final AudioMixer mixer; // Null when silent
 
     // Sound type constants
     private static final String SOUND_EERIE = "eerie";
@@ -33,22 +32,69 @@ public class AudioManager {
     // Different channels for different types of sounds
     private static final float EFFECTS_VOLUME = 0.7f;
     private static final float WALK_VOLUME = 0.3f;
+    private static final double WALK_SECONDS = 0.2; // Footsteps are trimmed to one step
 
     private float masterVolume = 1.0f;
     private float musicVolume = 0.7f;
     private float sfxVolume = 0.5f;
+    private volatile float walkVolume = WALK_VOLUME;
 
     private AudioManager() {
-        soundCache = new HashMap<>();
-        activeSounds = new HashSet<>();
-        initializeSounds();
+        this(true);
+    }
+
+    private AudioManager(boolean loadSounds) {
+        if (loadSounds) {
+            sounds = new SoundLoader(cacheDir);
+            initializeSounds();
+            mixer = AudioMixer.open();
+            updateAllVolumes();
+        } else {
+            sounds = null;
+            mixer = null;
+        }
     }
 
+    /**
+     * @return the shared instance, created on first use; safe to call from any thread
+     */
     public static AudioManager getInstance() {
-        if (instance == null) {
-            instance = new AudioManager();
+        AudioManager current = instance;
+        if (current != null) {
+            return current;
         }
-        return instance;
+        synchronized (AudioManager.class) {
+            if (instance == null) {
+                instance = new AudioManager();
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Replaces the shared instance with one that loads no sounds, so every call
+     * becomes a no-op. Used by headless runs, which may have no audio device.
+     */
+    public static synchronized void useSilentAudio() {
+        if (instance != null) {
+            instance.cleanup();
+        }
+        instance = new AudioManager(false);
+    }
+
+    /**
+     * Sets where decoded sounds are cached between runs, or null to turn the cache
+     * off. Takes effect for the next instance created.
+     */
+    public static void setCacheDir(String dir) {
+        cacheDir = dir;
+    }
+
+    /**
+     * @return what loads the sounds, or null if this instance is silent
+     */
+    public SoundLoader getLoader() {
+        return sounds;
     }
 
     private void initializeSounds() {
@@ -65,57 +111,12 @@ public class AudioManager {
         loadSound(SOUND_EERIE, "/sounds/near_dark.wav");
         loadSound(SOUND_CHASER, "/sounds/chaser.wav");
         loadSound(SOUND_INVISIBILITY, "/sounds/invisibility_loop.wav");
+        sounds.finish();
     }
 
     private void loadSound(String soundId, String resourcePath) {
-        try {
-
-            var resource = getClass().getResource(resourcePath);
-            if (resource == null) {
-                System.err.println("Could not find sound resource: " + resourcePath);
-                return;
-            }
-
-            AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(resource);
-
-            // For footstep sounds, trim the duration
-            if (soundId.equals(SOUND_WALK)) {
-                // Convert to PCM format if needed
-                AudioFormat format = audioInputStream.getFormat();
-                if (!format.getEncoding().equals(AudioFormat.Encoding.PCM_SIGNED)) {
-                    audioInputStream = AudioSystem.getAudioInputStream(AudioFormat.Encoding.PCM_SIGNED,
-                            audioInputStream);
-                }
-
-                // Get the first 200ms of audio
-                int bytesPerFrame = format.getFrameSize();
-                long framesForDuration = (long) (0.2 * format.getFrameRate()); // 200ms
-                byte[] audioData = new byte[(int) (framesForDuration * bytesPerFrame)];
-
-                audioInputStream.read(audioData);
-                AudioInputStream shortenedStream = new AudioInputStream(
-                        new ByteArrayInputStream(audioData),
-                        format,
-                        audioData.length / bytesPerFrame);
-                audioInputStream = shortenedStream;
-            }
-
-            Clip clip = AudioSystem.getClip();
-            clip.open(audioInputStream);
-
-            // Add listener to reset clip position
-            clip.addLineListener(event -> {
-                if (event.getType() == LineEvent.Type.STOP) {
-                    clip.setFramePosition(0);
-                }
-            });
-
-            soundCache.put(soundId, clip);
-            audioInputStream.close();
-        } catch (Exception e) {
-            System.err.println("Error loading sound " + soundId + ": " + e.getMessage());
-            e.printStackTrace();
-        }
+        // For footstep sounds, keep only the first 200ms
+        sounds.load(soundId, resourcePath, soundId.equals(SOUND_WALK) ? WALK_SECONDS : 0);
     }
 
     // Helper method to check if a sound should loop
@@ -127,121 +128,48 @@ public class AudioManager {
 
     public void playSound(String soundId) {
         // Don't play any sounds if master volume is 0
-        if (masterVolume <= 0.001f) {
+        if (mixer == null || masterVolume <= 0.001f) {
             return;
         }
-
-        Clip clip = soundCache.get(soundId);
-        if (clip != null && !clip.isRunning()) { // Only play if not already playing
-            try {
-                clip.setFramePosition(0);
-
-                // Apply volume settings before playing
-                if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                    FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                    float effectiveVolume = masterVolume * (isMusic(soundId) ? musicVolume : sfxVolume);
-
-                    // Handle 0 volume correctly by setting to minimum gain (silent)
-                    if (effectiveVolume <= 0.001f) {
-                        gainControl.setValue(gainControl.getMinimum());
-                    } else {
-                        float dB = (float) (Math.log10(Math.max(0.01f, effectiveVolume)) * 20.0f);
-                        gainControl
-                                .setValue(Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB)));
-                    }
-                }
-
-                clip.start();
-                // Only add to activeSounds if it's a looping sound
-                if (isLoopingSound(soundId)) {
-                    activeSounds.add(soundId);
-                }
-            } catch (Exception e) {
-                System.err.println("Error playing sound " + soundId + ": " + e.getMessage());
-            }
-        }
+        // Ambient sounds play once at a time; effects may overlap
+        mixer.play(soundId, sounds.get(soundId), group(soundId), voiceGain(soundId), false,
+                isLoopingSound(soundId));
     }
 
     public void stopSound(String soundId) {
-        Clip clip = soundCache.get(soundId);
-        if (clip != null && clip.isRunning()) {
-            clip.stop();
-            clip.setFramePosition(0);
-            activeSounds.remove(soundId);
+        if (mixer != null) {
+            mixer.stop(soundId);
         }
     }
 
-    // New method to fade out a sound gradually over fadeDuration milliseconds
+    /**
+     * Fades a sound out gradually over fadeDuration milliseconds, then stops it.
+     */
     public void fadeOutSound(String soundId, int fadeDuration) {
-        Clip clip = soundCache.get(soundId);
-        if (clip != null && clip.isRunning()) {
-            try {
-                // First check if the clip supports volume control
-                if (!clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                    System.out.println("Volume control not supported for " + soundId + ", using fallback stop");
-                    stopSound(soundId);
-                    return;
-                }
-
-                // If we get here, volume control is supported
-                FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                float currentGain = gainControl.getValue();
-                float minGain = gainControl.getMinimum();
-                int steps = 20;
-                long sleepInterval = fadeDuration / steps;
-
-                new Thread(() -> {
-                    try {
-                        for (int i = 0; i < steps && clip.isRunning(); i++) {
-                            float newGain = currentGain + (minGain - currentGain) * (i + 1) / steps;
-                            gainControl.setValue(newGain);
-                            Thread.sleep(sleepInterval);
-                        }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    } finally {
-                        stopSound(soundId);
-                        // Reset gain to original value
-                        try {
-                            gainControl.setValue(currentGain);
-                        } catch (IllegalArgumentException ex) {
-                            System.err.println("Error resetting gain for " + soundId);
-                        }
-                    }
-                }).start();
-            } catch (Exception e) {
-                System.err.println("Error during fade out for " + soundId + ": " + e.getMessage());
-                stopSound(soundId); // Fallback to immediate stop
-            }
+        if (mixer != null) {
+            mixer.fadeOut(soundId, fadeDuration);
         }
     }
 
     public void stopAllSoundsExcept(String exceptSoundId) {
-        Set<String> soundsToStop = new HashSet<>(activeSounds);
-        soundsToStop.remove(exceptSoundId);
-
-        for (String soundId : soundsToStop) {
-            stopSound(soundId);
+        if (mixer != null) {
+            mixer.stopAllExcept(exceptSoundId);
         }
     }
 
     public void cleanup() {
-        for (Clip clip : soundCache.values()) {
-            clip.close();
+        if (mixer != null) {
+            mixer.close();
         }
-        soundCache.clear();
     }
 
+    /**
+     * Sets how loud footsteps are; {@link #WALK_VOLUME} is the normal level.
+     */
     public void setWalkVolume(float volume) {
-        Clip clip = soundCache.get(SOUND_WALK);
-        if (clip != null) {
-            try {
-                FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                float dB = (float) (20 * Math.log10(volume));
-                gainControl.setValue(dB);
-            } catch (Exception e) {
-                System.err.println("Error setting walk volume: " + e.getMessage());
-            }
+        walkVolume = volume;
+        if (mixer != null) {
+            mixer.setGain(SOUND_WALK, voiceGain(SOUND_WALK));
         }
     }
 
@@ -250,79 +178,50 @@ public class AudioManager {
             System.err.println("Warning: Attempting to loop non-looping sound: " + soundId);
             return;
         }
+        // If master volume is 0, don't even start the sound
+        if (mixer == null || masterVolume <= 0.001f) {
+            return;
+        }
+        // Start from the beginning, as a restarted clip would
+        mixer.stop(soundId);
+        mixer.play(soundId, sounds.get(soundId), group(soundId), voiceGain(soundId), true, true);
+    }
 
-        Clip clip = soundCache.get(soundId);
-        if (clip != null) {
-            clip.setFramePosition(0);
-
-            // Apply volume settings for all looping sounds
-            if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                float effectiveVolume = masterVolume * (isMusic(soundId) ? musicVolume : sfxVolume);
-
-                // Handle 0 volume correctly by setting to minimum gain (silent)
-                float dB;
-                if (effectiveVolume <= 0.001f) {
-                    dB = gainControl.getMinimum();
-                    // If master volume is 0, don't even start the sound
-                    if (masterVolume <= 0.001f) {
-                        System.out.println("Master volume is 0, not starting looping sound: " + soundId);
-                        return;
-                    }
-                } else {
-                    dB = (float) (Math.log10(Math.max(0.01f, effectiveVolume)) * 20.0f);
-                    dB = Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB));
-                }
-                gainControl.setValue(dB);
-                System.out.println("Starting looping sound: " + soundId + " with volume: " + effectiveVolume + " (dB: "
-                        + dB + ")");
-            }
-
-            clip.loop(Clip.LOOP_CONTINUOUSLY);
-            activeSounds.add(soundId);
+    /**
+     * Plays a looping sound as coming from somewhere near the avatar: gain from 0
+     * (silent) to 1 (full volume), pan from -1 (left) to 1 (right). Starts the loop if
+     * it is not playing, otherwise just moves it.
+     */
+    public void playPositionalSound(String soundId, float gain, float pan) {
+        if (mixer == null || masterVolume <= 0.001f) {
+            return;
+        }
+        if (!mixer.play(soundId, sounds.get(soundId), group(soundId), gain, pan, true, true)) {
+            mixer.setGainAndPan(soundId, gain, pan);
         }
     }
 
     public void stopLoopingSound(String soundId) {
-        Clip clip = soundCache.get(soundId);
-        if (clip != null) {
-            clip.stop();
-            clip.setFramePosition(0);
-            boolean wasRemoved = activeSounds.remove(soundId); // Remove from active sounds
-        } else {
-            System.out.println("Cannot stop looping sound: " + soundId + " - not found in cache");
-        }
+        stopSound(soundId);
     }
 
-    // New method to pause all active sounds
+    // Pauses the looping sounds where they are
     public void pauseAllSounds() {
-        for (String soundId : activeSounds) {
-            Clip clip = soundCache.get(soundId);
-            if (clip != null && clip.isRunning()) {
-                clip.stop();
-            }
+        if (mixer != null) {
+            mixer.setLoopsPaused(true);
         }
     }
 
-    // New method to resume all active sounds
+    // Resumes the looping sounds from where they were paused
     public void resumeAllSounds() {
-        for (String soundId : activeSounds) {
-            Clip clip = soundCache.get(soundId);
-            if (clip != null && isLoopingSound(soundId)) {
-                clip.loop(Clip.LOOP_CONTINUOUSLY);
-            }
+        if (mixer != null) {
+            mixer.setLoopsPaused(false);
         }
     }
 
-    // Add a method to stop all currently playing sounds
+    // Stops every sound that is playing
     public void stopAllSounds() {
-        // Create a copy of the activeSounds set to avoid
-        // ConcurrentModificationException
-        Set<String> soundsToStop = new HashSet<>(activeSounds);
-        for (String soundId : soundsToStop) {
-            stopSound(soundId);
-        }
-        activeSounds.clear();
+        stopAllSoundsExcept(null);
     }
 
     public void setMasterVolume(float volume) {
@@ -332,17 +231,6 @@ public class AudioManager {
         // If master volume is 0, stop all sounds immediately
         if (volume <= 0.001f) {
             stopAllSounds();
-            return;
-        }
-
-        // Ensure the invisibility sound is properly updated
-        Clip invisibilityClip = soundCache.get(SOUND_INVISIBILITY);
-        if (invisibilityClip != null && invisibilityClip.isRunning()) {
-            if (!activeSounds.contains(SOUND_INVISIBILITY)) {
-                System.out.println("Re-adding invisibility sound to active sounds list");
-                activeSounds.add(SOUND_INVISIBILITY);
-            }
-            updateInvisibilitySoundVolume();
         }
     }
 
@@ -361,132 +249,34 @@ public class AudioManager {
     }
 
     private void updateAllVolumes() {
-        for (Map.Entry<String, Clip> entry : soundCache.entrySet()) {
-            String soundId = entry.getKey();
-            Clip clip = entry.getValue();
-
-            try {
-                if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                    FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                    float effectiveVolume = masterVolume * (isMusic(soundId) ? musicVolume : sfxVolume);
-
-                    // Handle 0 volume correctly by setting to minimum gain (silent)
-                    float dB;
-                    if (effectiveVolume <= 0.001f) {
-                        dB = gainControl.getMinimum();
-                    } else {
-                        dB = (float) (Math.log10(Math.max(0.01f, effectiveVolume)) * 20.0f);
-                        dB = Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB));
-                    }
-                    gainControl.setValue(dB);
-                }
-            } catch (Exception e) {
-                System.err.println("Error setting volume for " + soundId + ": " + e.getMessage());
-            }
+        if (mixer == null) {
+            return;
         }
+        mixer.setGroupGain(AudioMixer.MUSIC, groupGain(musicVolume));
+        mixer.setGroupGain(AudioMixer.EFFECTS, groupGain(sfxVolume));
+    }
 
-        // Make sure all active sounds respect the new volume settings
-        updateActiveLoopingSounds();
+    // Linear gain for a volume setting; near-zero settings are silent
+    private float groupGain(float volume) {
+        float effectiveVolume = masterVolume * volume;
+        return effectiveVolume <= 0.001f ? 0f : Math.max(0.01f, effectiveVolume);
     }
 
-    /**
-     * Updates the volume for all currently active looping sounds
-     */
-    private void updateActiveLoopingSounds() {
-
-        // If master volume is 0, stop all looping sounds
-        if (masterVolume <= 0.001f) {
-            Set<String> soundsToStop = new HashSet<>(activeSounds);
-            for (String soundId : soundsToStop) {
-                if (isLoopingSound(soundId)) {
-                    Clip clip = soundCache.get(soundId);
-                    if (clip != null && clip.isRunning()) {
-                        clip.stop();
-                        clip.setFramePosition(0);
-                        activeSounds.remove(soundId);
-                    }
-                }
-            }
-            return;
-        }
+    // Gain of one voice of the sound, before its group's gain
+    private float voiceGain(String soundId) {
+        return soundId.equals(SOUND_WALK) ? walkVolume / WALK_VOLUME : 1f;
+    }
 
-        for (String soundId : activeSounds) {
-            if (isLoopingSound(soundId)) {
-                Clip clip = soundCache.get(soundId);
-                if (clip != null && clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                    try {
-                        FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                        float effectiveVolume = masterVolume * (isMusic(soundId) ? musicVolume : sfxVolume);
-
-                        // Handle 0 volume correctly by setting to minimum gain (silent)
-                        float dB;
-                        if (effectiveVolume <= 0.001f) {
-                            dB = gainControl.getMinimum();
-                        } else {
-                            dB = (float) (Math.log10(Math.max(0.01f, effectiveVolume)) * 20.0f);
-                            dB = Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB));
-                        }
-                        gainControl.setValue(dB);
-                    } catch (Exception e) {
-                        System.err.println("Error updating volume for active sound " + soundId + ": " + e.getMessage());
-                    }
-                } else {
-                    System.out.println("Warning: Cannot update volume for " + soundId +
-                            (clip == null ? " - clip is null" : " - no gain control support"));
-                }
-            }
-        }
+    private int group(String soundId) {
+        return isMusic(soundId) ? AudioMixer.MUSIC : AudioMixer.EFFECTS;
     }
 
     /**
-     * Specifically updates the volume for the invisibility sound effect
-     * to ensure it respects the master volume setting even while looping.
+     * Volumes live in the mixer's group gains, so the invisibility loop already
+     * follows them; kept for callers that change volumes while it plays.
      */
     public void updateInvisibilitySoundVolume() {
-        Clip clip = soundCache.get(SOUND_INVISIBILITY);
-        if (clip != null) {
-            // If master volume is 0, stop the sound and return
-            if (masterVolume <= 0.001f) {
-                if (clip.isRunning()) {
-                    clip.stop();
-                    clip.setFramePosition(0);
-                    activeSounds.remove(SOUND_INVISIBILITY);
-                    System.out.println("Stopped invisibility sound due to zero master volume");
-                }
-                return;
-            }
-
-            // Add to active sounds if it's running but not in the list
-            if (clip.isRunning() && !activeSounds.contains(SOUND_INVISIBILITY)) {
-                System.out.println("Adding running invisibility sound to active sounds list");
-                activeSounds.add(SOUND_INVISIBILITY);
-            }
-
-            if (clip.isControlSupported(FloatControl.Type.MASTER_GAIN)) {
-                try {
-                    FloatControl gainControl = (FloatControl) clip.getControl(FloatControl.Type.MASTER_GAIN);
-                    float effectiveVolume = masterVolume * sfxVolume;
-
-                    // Handle 0 volume correctly by setting to minimum gain (silent)
-                    float dB;
-                    if (effectiveVolume <= 0.001f) {
-                        dB = gainControl.getMinimum();
-                    } else {
-                        dB = (float) (Math.log10(Math.max(0.01f, effectiveVolume)) * 20.0f);
-                        dB = Math.max(gainControl.getMinimum(), Math.min(gainControl.getMaximum(), dB));
-                    }
-                    gainControl.setValue(dB);
-                    System.out.println("Updated invisibility sound volume to: " + effectiveVolume +
-                            " (dB: " + dB + "), isRunning: " + clip.isRunning());
-                } catch (Exception e) {
-                    System.err.println("Error updating invisibility volume: " + e.getMessage());
-                }
-            } else {
-                System.out.println("Invisibility sound does not support volume control");
-            }
-        } else {
-            System.out.println("Invisibility sound clip not found in cache");
-        }
+        updateAllVolumes();
     }
 
     private boolean isMusic(String soundId) {
@@ -501,6 +291,6 @@ public class AudioManager {
      * This is useful when volume settings change while sounds are playing.
      */
     public void updateAllPlayingSoundVolumes() {
-        updateActiveLoopingSounds();
+        updateAllVolumes();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,368 @@
+package core;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Software mixer: every sound plays as a voice mixed into one output line by a single
+ * audio thread.
+ *
+ * Sounds are decoded once into float samples at the output rate, so starting one is
+ * just claiming a voice. Any number of voices (up to {@link #VOICES}) can play the
+ * same sound at once, each with its own gain, pan and fade; a fade is a gain ramp
+ * applied while mixing, so it needs no thread or timer of its own. Gain and pan
+ * changes are also ramped over one block, so moving a sound does not click. The audio thread mixes
+ * {@link #BLOCK_FRAMES} frames at a time and the line holds only a few blocks, which
+ * bounds the delay between starting a sound and hearing it.
+ *
+ * All methods may be called from any thread. If no output line can be opened the
+ * mixer stays silent and every call does nothing.
+ */
+public class AudioMixer {
+    public static final float SAMPLE_RATE = 44100f;
+    public static final int VOICES = 32;
+    public static final int BLOCK_FRAMES = 441; // 10 ms per mixed block
+    private static final int LINE_BLOCKS = 4; // Blocks the line buffers, about 40 ms
+
+    // Volume groups, each with its own gain on top of the voice's
+    public static final int MUSIC = 0;
+    public static final int EFFECTS = 1;
+
+    private static final float CENTRE = (float) Math.sqrt(2); // Keeps a centred voice at full gain
+
+    private static final AudioFormat FORMAT = new AudioFormat(SAMPLE_RATE, 16, 2, true, false);
+
+    /**
+     * A decoded sound: interleaved stereo samples at {@link #SAMPLE_RATE}.
+     */
+    public static class Sound {
+        final float[] samples;
+        final int frames;
+
+        Sound(float[] samples) {
+            this.samples = samples;
+            this.frames = samples.length / 2;
+        }
+
+        public int getFrames() {
+            return frames;
+        }
+    }
+
+    private static class Voice {
+        boolean active;
+        boolean paused;
+        boolean loop;
+        String id;
+        Sound sound;
+        int group;
+        float gain;
+        float pan; // -1 left to 1 right
+        float left = -1f; // Channel gains reached at the end of the last block, or -1 if new
+        float right;
+        float fade; // Multiplier ramped by fadeStep each frame
+        float fadeStep;
+        int position; // Next frame to play
+        long started; // Start order, for stealing the oldest voice
+    }
+
+    private final Voice[] voices = new Voice[VOICES];
+    private final float[] groupGains = { 1f, 1f };
+    private final float[] mix = new float[BLOCK_FRAMES * 2];
+    private final byte[] output = new byte[BLOCK_FRAMES * 4];
+    private final SourceDataLine line;
+    private final Thread thread;
+    private long starts = 0;
+    private volatile boolean closed = false;
+
+    private AudioMixer(SourceDataLine line) {
+        for (int i = 0; i < VOICES; i++) {
+            voices[i] = new Voice();
+        }
+        this.line = line;
+        if (line == null) {
+            thread = null;
+            return;
+        }
+        thread = new Thread(this::run, "audio-mixer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Opens the default output line and starts the audio thread; the mixer is silent
+     * if there is no line to open.
+     */
+    public static AudioMixer open() {
+        try {
+            SourceDataLine line = AudioSystem.getSourceDataLine(FORMAT);
+            line.open(FORMAT, BLOCK_FRAMES * 4 * LINE_BLOCKS);
+            line.start();
+            return new AudioMixer(line);
+        } catch (LineUnavailableException | IllegalArgumentException | SecurityException e) {
+            System.err.println("No audio output available: " + e.getMessage());
+            return new AudioMixer(null);
+        }
+    }
+
+    /**
+     * Decodes a sound into the mixer's format, converting its encoding, channels and
+     * sample rate.
+     *
+     * @param maxSeconds how much of the sound to keep, or 0 for all of it
+     */
+    public static Sound decode(AudioInputStream in, double maxSeconds) throws IOException {
+        AudioFormat source = in.getFormat();
+        AudioFormat pcm = new AudioFormat(source.getSampleRate(), 16, source.getChannels(), true, false);
+        AudioInputStream stream = source.matches(pcm) ? in : AudioSystem.getAudioInputStream(pcm, in);
+        byte[] bytes = stream.readAllBytes();
+
+        int channels = pcm.getChannels();
+        int sourceFrames = bytes.length / (2 * channels);
+        if (maxSeconds > 0) {
+            sourceFrames = Math.min(sourceFrames, (int) (maxSeconds * pcm.getSampleRate()));
+        }
+        // Resample by linear interpolation between neighbouring source frames
+        double step = pcm.getSampleRate() / SAMPLE_RATE;
+        int frames = sourceFrames == 0 ? 0 : (int) ((sourceFrames - 1) / step) + 1;
+        float[] samples = new float[frames * 2];
+        for (int frame = 0; frame < frames; frame++) {
+            double position = frame * step;
+            int before = (int) position;
+            int after = Math.min(before + 1, sourceFrames - 1);
+            float t = (float) (position - before);
+            for (int channel = 0; channel < 2; channel++) {
+                int from = Math.min(channel, channels - 1); // Mono plays on both sides
+                float a = sample(bytes, before * channels + from);
+                float b = sample(bytes, after * channels + from);
+                samples[frame * 2 + channel] = a + (b - a) * t;
+            }
+        }
+        return new Sound(samples);
+    }
+
+    // The index-th 16-bit little-endian sample, scaled to [-1, 1)
+    private static float sample(byte[] bytes, int index) {
+        return (short) ((bytes[index * 2] & 0xFF) | (bytes[index * 2 + 1] << 8)) / 32768f;
+    }
+
+    /**
+     * Starts a voice playing the sound. If every voice is busy, the one started
+     * longest ago is taken over.
+     *
+     * @param id name the voice can be stopped, faded or paused by
+     * @param exclusive if true, do nothing while a voice with this id is playing and
+     *        not fading out
+     * @return false if nothing was started
+     */
+    public synchronized boolean play(String id, Sound sound, int group, float gain, boolean loop,
+                                     boolean exclusive) {
+        return play(id, sound, group, gain, 0f, loop, exclusive);
+    }
+
+    /**
+     * Like {@link #play(String, Sound, int, float, boolean, boolean)}, placing the
+     * voice between the left (-1) and right (1) speaker.
+     */
+    public synchronized boolean play(String id, Sound sound, int group, float gain, float pan, boolean loop,
+                                     boolean exclusive) {
+        if (line == null || sound == null || sound.frames == 0) {
+            return false;
+        }
+        if (exclusive) {
+            for (Voice voice : voices) {
+                if (voice.active && voice.id.equals(id) && voice.fadeStep >= 0) {
+                    return false;
+                }
+            }
+        }
+        Voice voice = null;
+        for (Voice candidate : voices) {
+            if (!candidate.active) {
+                voice = candidate;
+                break;
+            }
+            if (voice == null || candidate.started < voice.started) {
+                voice = candidate;
+            }
+        }
+        voice.active = true;
+        voice.paused = false;
+        voice.loop = loop;
+        voice.id = id;
+        voice.sound = sound;
+        voice.group = group;
+        voice.gain = gain;
+        voice.pan = pan;
+        voice.left = -1f;
+        voice.fade = 1f;
+        voice.fadeStep = 0f;
+        voice.position = 0;
+        voice.started = starts++;
+        return true;
+    }
+
+    /**
+     * @return whether a voice with this id is playing (or paused)
+     */
+    public synchronized boolean isPlaying(String id) {
+        for (Voice voice : voices) {
+            if (voice.active && voice.id.equals(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void stop(String id) {
+        for (Voice voice : voices) {
+            if (voice.active && voice.id.equals(id)) {
+                voice.active = false;
+            }
+        }
+    }
+
+    /**
+     * Stops every voice except those with the given id (null stops them all).
+     */
+    public synchronized void stopAllExcept(String id) {
+        for (Voice voice : voices) {
+            if (voice.active && !voice.id.equals(id)) {
+                voice.active = false;
+            }
+        }
+    }
+
+    /**
+     * Ramps the voices with this id down to silence over the given time, then stops
+     * them.
+     */
+    public synchronized void fadeOut(String id, int millis) {
+        float step = -1f / Math.max(1, millis * SAMPLE_RATE / 1000f);
+        for (Voice voice : voices) {
+            if (voice.active && voice.id.equals(id)) {
+                voice.fadeStep = step;
+            }
+        }
+    }
+
+    /**
+     * Pauses or resumes the looping voices, keeping their place.
+     */
+    public synchronized void setLoopsPaused(boolean paused) {
+        for (Voice voice : voices) {
+            if (voice.active && voice.loop) {
+                voice.paused = paused;
+            }
+        }
+    }
+
+    /**
+     * Changes the gain of the voices with this id from now on.
+     */
+    public synchronized void setGain(String id, float gain) {
+        for (Voice voice : voices) {
+            if (voice.active && voice.id.equals(id)) {
+                voice.gain = gain;
+            }
+        }
+    }
+
+    /**
+     * Moves the voices with this id: changes their gain and their pan, from -1 (left)
+     * to 1 (right).
+     */
+    public synchronized void setGainAndPan(String id, float gain, float pan) {
+        for (Voice voice : voices) {
+            if (voice.active && voice.id.equals(id)) {
+                voice.gain = gain;
+                voice.pan = pan;
+            }
+        }
+    }
+
+    /**
+     * Sets the gain applied to every voice in the group, {@link #MUSIC} or
+     * {@link #EFFECTS}.
+     */
+    public synchronized void setGroupGain(int group, float gain) {
+        groupGains[group] = gain;
+    }
+
+    public void close() {
+        closed = true;
+        if (line != null) {
+            line.stop();
+            line.close();
+        }
+    }
+
+    private void run() {
+        while (!closed) {
+            mixBlock();
+            // Blocks while the line is full, which paces the thread to the output
+            line.write(output, 0, output.length);
+        }
+    }
+
+    private synchronized void mixBlock() {
+        Arrays.fill(mix, 0f);
+        for (Voice voice : voices) {
+            if (voice.active && !voice.paused) {
+                mixVoice(voice);
+            }
+        }
+        for (int i = 0; i < mix.length; i++) {
+            int value = (int) (Math.max(-1f, Math.min(1f, mix[i])) * 32767f);
+            output[i * 2] = (byte) value;
+            output[i * 2 + 1] = (byte) (value >> 8);
+        }
+    }
+
+    private void mixVoice(Voice voice) {
+        float[] samples = voice.sound.samples;
+        // Equal-power pan, ramped from where the last block ended
+        float gain = voice.gain * groupGains[voice.group] * CENTRE;
+        float angle = (Math.max(-1f, Math.min(1f, voice.pan)) + 1f) * (float) (Math.PI / 4);
+        float targetLeft = gain * (float) Math.cos(angle);
+        float targetRight = gain * (float) Math.sin(angle);
+        if (voice.left < 0f) {
+            voice.left = targetLeft;
+            voice.right = targetRight;
+        }
+        float stepLeft = (targetLeft - voice.left) / BLOCK_FRAMES;
+        float stepRight = (targetRight - voice.right) / BLOCK_FRAMES;
+        for (int frame = 0; frame < BLOCK_FRAMES; frame++) {
+            if (voice.position >= voice.sound.frames) {
+                if (!voice.loop) {
+                    voice.active = false;
+                    return;
+                }
+                voice.position = 0;
+            }
+            voice.left += stepLeft;
+            voice.right += stepRight;
+            mix[frame * 2] += samples[voice.position * 2] * voice.left * voice.fade;
+            mix[frame * 2 + 1] += samples[voice.position * 2 + 1] * voice.right * voice.fade;
+            voice.position++;
+
+            if (voice.fadeStep != 0f) {
+                voice.fade += voice.fadeStep;
+                if (voice.fade <= 0f) {
+                    voice.active = false; // Faded out
+                    return;
+                } else if (voice.fade >= 1f) {
+                    voice.fade = 1f;
+                    voice.fadeStep = 0f;
+                }
+            }
+        }
+        voice.left = targetLeft; // Exactly, without the rounding of the steps
+        voice.right = targetRight;
+    }
+}
@@ -0,0 +1,127 @@
+package core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.LongFunction;
+
+/**
+ * Generates many levels at once, one per {@link LevelParameters}, spread over a
+ * ForkJoinPool.
+ *
+ * Every level is built by its own task with its own {@link Player}, and a world's
+ * state (random generator, tiles, event dispatcher) belongs to that world alone, so
+ * the tasks share nothing mutable. Generating a world never touches the audio.
+ * Results come back in the order the levels were given.
+ */
+public class BatchWorldGenerator {
+    private final ForkJoinPool pool;
+
+    /**
+     * A generated level, with its stats.
+     */
+    public static class Result {
+        private final LevelParameters parameters;
+        private final World world;
+        private final GenerationStats stats;
+
+        Result(LevelParameters parameters, World world, GenerationStats stats) {
+            this.parameters = parameters;
+            this.world = world;
+            this.stats = stats;
+        }
+
+        public LevelParameters getParameters() {
+            return parameters;
+        }
+
+        public World getWorld() {
+            return world;
+        }
+
+        public GenerationStats getStats() {
+            return stats;
+        }
+    }
+
+    /**
+     * Uses one thread per available processor.
+     */
+    public BatchWorldGenerator() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public BatchWorldGenerator(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * The levels for count consecutive seeds starting at firstSeed, for example
+     * {@code seedRange(1, 1000, seed -> LevelParameters.retry(seed, 3))}.
+     */
+    public static List<LevelParameters> seedRange(long firstSeed, int count,
+                                                  LongFunction<LevelParameters> levelForSeed) {
+        List<LevelParameters> levels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            levels.add(levelForSeed.apply(firstSeed + i));
+        }
+        return levels;
+    }
+
+    /**
+     * Generates every level for a player with the given points (which decide how many
+     * rooms a level gets).
+     */
+    public List<Result> generate(List<LevelParameters> levels, int playerPoints) {
+        List<Callable<Result>> tasks = new ArrayList<>(levels.size());
+        for (LevelParameters level : levels) {
+            tasks.add(() -> generateOne(level, playerPoints));
+        }
+        return runAll(tasks);
+    }
+
+    /**
+     * Like {@link #generate}, but keeps only the stats, so each world can be
+     * collected as soon as it has been measured.
+     */
+    public List<GenerationStats> generateStats(List<LevelParameters> levels, int playerPoints) {
+        List<Callable<GenerationStats>> tasks = new ArrayList<>(levels.size());
+        for (LevelParameters level : levels) {
+            tasks.add(() -> generateOne(level, playerPoints).getStats());
+        }
+        return runAll(tasks);
+    }
+
+    /**
+     * Stops the worker threads once queued work is done.
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static Result generateOne(LevelParameters level, int playerPoints) {
+        Player player = new Player("batch", playerPoints);
+        long start = System.nanoTime();
+        World world = level.generateWorld(player);
+        long elapsed = System.nanoTime() - start;
+        return new Result(level, world, GenerationStats.of(world, level.getLevel(), elapsed));
+    }
+
+    private <T> List<T> runAll(List<Callable<T>> tasks) {
+        List<T> results = new ArrayList<>(tasks.size());
+        for (Future<T> future : pool.invokeAll(tasks)) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while generating levels", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Generating a level failed: " + e.getCause(), e.getCause());
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,62 @@
+package core;
+
+import tileengine.TETile;
+import tileengine.Tileset;
+
+/**
+ * One enemy hunting the avatar. The world draws the chaser tile over the map, so
+ * each chaser remembers the tile it is standing on to restore it when it moves.
+ */
+public class Chaser {
+    private int x;
+    private int y;
+    private TETile tileUnder = Tileset.FLOOR;
+    // Position at the start of the current simulation tick, for interpolated drawing
+    private int prevX;
+    private int prevY;
+
+    public Chaser(int x, int y) {
+        this.x = x;
+        this.y = y;
+        this.prevX = x;
+        this.prevY = y;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getPrevX() {
+        return prevX;
+    }
+
+    public int getPrevY() {
+        return prevY;
+    }
+
+    /**
+     * @return true if the chaser changed cells during the current tick
+     */
+    public boolean isMoving() {
+        return prevX != x || prevY != y;
+    }
+
+    public TETile getTileUnder() {
+        return tileUnder;
+    }
+
+    void moveTo(int x, int y, TETile tileUnder) {
+        this.x = x;
+        this.y = y;
+        this.tileUnder = tileUnder;
+    }
+
+    void settle() {
+        prevX = x;
+        prevY = y;
+    }
+}
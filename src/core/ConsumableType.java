@@ -0,0 +1,55 @@
+package core;
+
+import tileengine.TETile;
+import tileengine.Tileset;
+
+public enum ConsumableType {
+    SMILEY_FACE("Smiley Face", 10, Tileset.SMILEY_FACE_green_body_circle),
+    NORMAL_FACE("Normal Face", 5, Tileset.SMILEY_FACE_green_body_rhombus);
+
+    private final String name; // Also the name stored in text save files
+    private final int pointValue;
+    private final TETile tile;
+
+    ConsumableType(String name, int pointValue, TETile tile) {
+        this.name = name;
+        this.pointValue = pointValue;
+        this.tile = tile;
+    }
+
+    public Consumable create() {
+        return new Consumable(name, pointValue, tile);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPointValue() {
+        return pointValue;
+    }
+
+    public TETile getTile() {
+        return tile;
+    }
+
+    /**
+     * @return the type with the given display name; anything unknown is a normal face,
+     *         as it always was when loading text saves
+     */
+    public static ConsumableType fromName(String name) {
+        return SMILEY_FACE.name.equals(name) ? SMILEY_FACE : NORMAL_FACE;
+    }
+
+    /**
+     * @return the type drawn with the given tile, or null if it is not a consumable
+     */
+    public static ConsumableType fromTile(TETile tile) {
+        for (ConsumableType type : values()) {
+            if (type.tile == tile) {
+                return type;
+            }
+        }
+        return null;
+    }
+}
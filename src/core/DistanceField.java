@@ -0,0 +1,235 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * Breadth-first distance field rooted at a single cell (the avatar).
+ *
+ * Every query is an O(1) array read: the distance from any cell back to the root,
+ * and the neighbouring cell that moves one step closer to it. Chasers and
+ * proximity checks read the same field, so their cost no longer depends on how
+ * many of them ask.
+ *
+ * The field is kept up to date incrementally when the root moves to an adjacent
+ * cell. A 4-connected grid is bipartite, so such a move changes every reachable
+ * distance by exactly one: cells whose shortest route already passed through the
+ * new root get one closer, every other cell gets one further away. The update
+ * therefore bumps a global offset (the "+1" for everyone) and walks only the new
+ * root's subtree of the old shortest-path DAG to apply the "-1" there. Any other
+ * move (teleport, loading a save, a change to the walls) marks the field stale and
+ * it is rebuilt with a full BFS on the next query.
+ */
+public class DistanceField {
+    public static final int UNREACHABLE = -1;
+
+    private static final int[] DX = { 0, 1, 0, -1 }; // Up, Right, Down, Left
+    private static final int[] DY = { 1, 0, -1, 0 };
+    private static final int MAX_OFFSET = 1 << 24;
+
+    private final int width;
+    private final int height;
+    private final GridPathfinder.Passability passability;
+
+    // distance(cell) = raw[cell] + offset for cells reached by the last rebuild
+    private final int[] raw;
+    private final int[] reachedStamp;
+    private int buildGeneration = 0;
+    private int offset;
+
+    private final int[] visitStamp; // per incremental update
+    private int visitGeneration = 0;
+    private final int[] queue;
+
+    private int rootX = -1;
+    private int rootY = -1;
+    private boolean stale = true;
+    private int pendingRoot = -1; // One-tile root move not applied yet, or -1
+
+    public DistanceField(int width, int height, GridPathfinder.Passability passability) {
+        this.width = width;
+        this.height = height;
+        this.passability = passability;
+        int cells = width * height;
+        raw = new int[cells];
+        reachedStamp = new int[cells];
+        visitStamp = new int[cells];
+        queue = new int[cells];
+    }
+
+    /**
+     * Moves the root. Nothing is recomputed until the next query: a single
+     * one-tile step is then applied incrementally, anything else (a jump, or
+     * several moves between two queries) is cheaper to redo with a full rebuild.
+     */
+    public void moveRoot(int x, int y) {
+        if (x == rootX && y == rootY) {
+            return;
+        }
+        boolean adjacent = Math.abs(x - rootX) + Math.abs(y - rootY) == 1;
+        if (!stale && pendingRoot < 0 && adjacent) {
+            pendingRoot = cellId(x, y);
+        } else {
+            stale = true;
+        }
+        rootX = x;
+        rootY = y;
+    }
+
+    /**
+     * Forces a full rebuild on the next query, e.g. after walls were changed.
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * @return the number of steps from (x, y) to the root, or {@link #UNREACHABLE}
+     */
+    public int distanceTo(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return UNREACHABLE;
+        }
+        ensureBuilt();
+        int cell = cellId(x, y);
+        return isReached(cell) ? raw[cell] + offset : UNREACHABLE;
+    }
+
+    /**
+     * Picks the neighbour of (x, y) that is one step closer to the root, checking
+     * up, right, down, left in that order.
+     *
+     * @return the neighbour's cell id (x * height + y), or -1 if (x, y) is the
+     *         root or cannot reach it
+     */
+    public int nextStepFrom(int x, int y) {
+        int distance = distanceTo(x, y);
+        if (distance <= 0) {
+            return -1;
+        }
+        for (int d = 0; d < 4; d++) {
+            int nx = x + DX[d];
+            int ny = y + DY[d];
+            if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                continue;
+            }
+            int neighbour = cellId(nx, ny);
+            if (isReached(neighbour) && raw[neighbour] + offset == distance - 1) {
+                return neighbour;
+            }
+        }
+        return -1;
+    }
+
+    public int getRootX() {
+        return rootX;
+    }
+
+    public int getRootY() {
+        return rootY;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    private void ensureBuilt() {
+        if (stale) {
+            rebuild();
+        } else if (pendingRoot >= 0) {
+            int newRoot = pendingRoot;
+            pendingRoot = -1;
+            if (isReached(newRoot) && offset < MAX_OFFSET) {
+                stepRoot(newRoot);
+            } else {
+                rebuild();
+            }
+        }
+    }
+
+    private void rebuild() {
+        stale = false;
+        pendingRoot = -1;
+        offset = 0;
+        if (buildGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(reachedStamp, 0);
+            buildGeneration = 0;
+        }
+        buildGeneration++;
+        if (rootX < 0 || rootX >= width || rootY < 0 || rootY >= height) {
+            return;
+        }
+
+        int root = cellId(rootX, rootY);
+        raw[root] = 0;
+        reachedStamp[root] = buildGeneration;
+        queue[0] = root;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int current = queue[head++];
+            int cx = current / height;
+            int cy = current % height;
+            int next = raw[current] + 1;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                    continue;
+                }
+                int neighbour = cellId(nx, ny);
+                if (reachedStamp[neighbour] != buildGeneration && passability.isPassable(nx, ny)) {
+                    reachedStamp[neighbour] = buildGeneration;
+                    raw[neighbour] = next;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+    }
+
+    // Root moves from its current cell to the adjacent cell newRoot
+    private void stepRoot(int newRoot) {
+        if (visitGeneration == Integer.MAX_VALUE) {
+            Arrays.fill(visitStamp, 0);
+            visitGeneration = 0;
+        }
+        visitGeneration++;
+        int oldOffset = offset;
+
+        // Walk the subtree of cells whose old shortest route went through newRoot.
+        // Those become one step closer: -2 on raw to cancel the +1 offset below.
+        visitStamp[newRoot] = visitGeneration;
+        raw[newRoot] -= 2;
+        queue[0] = newRoot;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int current = queue[head++];
+            int cx = current / height;
+            int cy = current % height;
+            int oldDistance = raw[current] + 2 + oldOffset;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                    continue;
+                }
+                int neighbour = cellId(nx, ny);
+                if (visitStamp[neighbour] != visitGeneration && isReached(neighbour)
+                        && raw[neighbour] + oldOffset == oldDistance + 1) {
+                    visitStamp[neighbour] = visitGeneration;
+                    raw[neighbour] -= 2;
+                    queue[tail++] = neighbour;
+                }
+            }
+        }
+        offset = oldOffset + 1;
+    }
+
+    private boolean isReached(int cell) {
+        return reachedStamp[cell] == buildGeneration;
+    }
+
+    private int cellId(int x, int y) {
+        return x * height + y;
+    }
+}
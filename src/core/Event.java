@@ -1,5 +1,13 @@
 package core;
 
+/**
+ * Something that happened in a world, passed to listeners by {@link EventDispatcher}.
+ *
+ * Events raised by the game carry a {@link Cause}, which fixes their type, text and
+ * sound, plus the points involved; the message is only built when a listener asks
+ * for it. The dispatcher reuses its event objects, so a listener must copy out what it
+ * needs during {@link EventListener#onEvent} instead of keeping the event.
+ */
 public class Event {
     public enum EventType {
         CONSUMABLE_CONSUMED,
@@ -9,11 +17,70 @@ public class Event {
         GAME_OVER
     }
 
+    /**
+     * What exactly happened. Causes that show points read "text N points!".
+     */
+    public enum Cause {
+        CONSUMED(EventType.CONSUMABLE_CONSUMED, "You got ", true, "consume"),
+        SPIKES(EventType.OBSTACLE_HIT, "Ouch! Lost ", true, "damage"),
+        TELEPORTED(EventType.OBSTACLE_HIT, "Teleported!", false, "teleport"),
+        TELEPORT_FAILED(EventType.OBSTACLE_HIT, "Teleporter malfunctioned!", false, null),
+        ICE(EventType.OBSTACLE_HIT, "Sliding on ice!", false, "slide"),
+        DARKNESS(EventType.OBSTACLE_HIT, "Darkness engulfs you! Find a torch or exit to restore light!", false,
+                "darkness"),
+        TORCH_NEARBY(EventType.OBSTACLE_HIT, "A torch glimmers nearby...", false, null),
+        TORCH_FOUND(EventType.ITEM_PICKUP, "You found a torch! Your vision greatly improves!", false, "torch"),
+        LIGHT_RETURNS(EventType.OBSTACLE_END, "Light returns to the room!", false, null),
+        CAUGHT(EventType.GAME_OVER, "The chaser caught you!", false, null);
+
+        private final EventType type;
+        private final String text;
+        private final boolean showsPoints;
+        private final String sound;
+
+        Cause(EventType type, String text, boolean showsPoints, String sound) {
+            this.type = type;
+            this.text = text;
+            this.showsPoints = showsPoints;
+            this.sound = sound;
+        }
+
+        public EventType getType() {
+            return type;
+        }
+
+        /**
+         * @return the sound effect to play for this cause, or null for none
+         */
+        public String getSound() {
+            return sound;
+        }
+    }
+
     private EventType type;
-    private String message;
+    private Cause cause; // Null for events made from a free-form message
+    private int points;
+    private String message; // Built on first getMessage() for causes that show points
 
     public Event(EventType type, String message) {
+        set(type, null, 0, message);
+    }
+
+    Event() {
+    }
+
+    void set(Cause cause, int points) {
+        set(cause.type, cause, points, cause.showsPoints ? null : cause.text);
+    }
+
+    void copyFrom(Event other) {
+        set(other.type, other.cause, other.points, other.message);
+    }
+
+    private void set(EventType type, Cause cause, int points, String message) {
         this.type = type;
+        this.cause = cause;
+        this.points = points;
         this.message = message;
     }
 
@@ -21,7 +88,24 @@ public class Event {
         return type;
     }
 
+    /**
+     * @return what happened, or null for an event made from a free-form message
+     */
+    public Cause getCause() {
+        return cause;
+    }
+
+    /**
+     * @return the points the player gained (negative if lost), or 0 if none
+     */
+    public int getPoints() {
+        return points;
+    }
+
     public String getMessage() {
+        if (message == null) {
+            message = cause.text + Math.abs(points) + " points!";
+        }
         return message;
     }
 }
@@ -1,17 +1,101 @@
 package core;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
+/**
+ * Passes a world's events to the listeners subscribed to their type.
+ *
+ * Listeners are kept in one array per event type, so a dispatch only visits the ones
+ * that asked for that type. Ordinary listeners run on the dispatching (game) thread;
+ * async listeners get a copy of the event through {@link AsyncEventQueue} and run on
+ * its thread. Events raised by cause are written into a reused event object, so
+ * gameplay raises them without allocating.
+ */
 public class EventDispatcher {
-    private List<EventListener> listeners = new ArrayList<>();
+    private static final int TYPES = Event.EventType.values().length;
+    private static final EventListener[] NONE = new EventListener[0];
 
+    private final EventListener[][] listeners = new EventListener[TYPES][];
+    private final EventListener[][] asyncListeners = new EventListener[TYPES][];
+    private AsyncEventQueue queue; // Set once there is an async listener
+
+    // One event per nesting level, in case a listener raises an event of its own
+    private Event[] scratch = { new Event() };
+    private int depth = 0;
+
+    public EventDispatcher() {
+        Arrays.fill(listeners, NONE);
+        Arrays.fill(asyncListeners, NONE);
+    }
+
+    /**
+     * Subscribes the listener to every type of event, on the dispatching thread.
+     */
     public void addListener(EventListener listener) {
-        listeners.add(listener);
+        for (Event.EventType type : Event.EventType.values()) {
+            addListener(type, listener);
+        }
+    }
+
+    /**
+     * Subscribes the listener to one type of event, on the dispatching thread.
+     */
+    public void addListener(Event.EventType type, EventListener listener) {
+        listeners[type.ordinal()] = append(listeners[type.ordinal()], listener);
+    }
+
+    /**
+     * Subscribes the listener to the given types of event, on the shared async
+     * thread. It must not touch game state that the game thread changes.
+     */
+    public void addAsyncListener(EventListener listener, Event.EventType... types) {
+        queue = AsyncEventQueue.shared();
+        for (Event.EventType type : types) {
+            asyncListeners[type.ordinal()] = append(asyncListeners[type.ordinal()], listener);
+        }
+    }
+
+    private static EventListener[] append(EventListener[] array, EventListener listener) {
+        EventListener[] grown = Arrays.copyOf(array, array.length + 1);
+        grown[array.length] = listener;
+        return grown;
+    }
+
+    /**
+     * Raises an event for the cause with no points involved.
+     */
+    public void dispatch(Event.Cause cause) {
+        dispatch(cause, 0);
+    }
+
+    /**
+     * Raises an event for the cause, with the points the player gained (negative if
+     * lost).
+     */
+    public void dispatch(Event.Cause cause, int points) {
+        int type = cause.getType().ordinal();
+        if (listeners[type].length == 0 && asyncListeners[type].length == 0) {
+            return;
+        }
+        if (depth == scratch.length) {
+            scratch = Arrays.copyOf(scratch, depth + 1);
+            scratch[depth] = new Event();
+        }
+        Event event = scratch[depth++];
+        try {
+            event.set(cause, points);
+            dispatch(event);
+        } finally {
+            depth--;
+        }
     }
 
     public void dispatch(Event event) {
-        for (EventListener listener : listeners) {
+        int type = event.getType().ordinal();
+        for (EventListener listener : asyncListeners[type]) {
+            queue.publish(event, listener);
+        }
+        for (EventListener listener : listeners[type]) {
             listener.onEvent(event);
         }
     }
@@ -0,0 +1,203 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * What the avatar can see in dark mode: the cells within a vision radius that an
+ * unbroken line of sight reaches, found by recursive shadowcasting.
+ *
+ * Each of the eight octants around the viewer is scanned row by row outwards, and a
+ * run of opaque cells narrows the slopes still visible beyond it, so every cell in
+ * the radius is looked at about once. Opaque cells themselves are seen (walls show
+ * up), but nothing behind them is. The radius test reads a precomputed mask, one
+ * per radius, instead of taking a square root per cell.
+ *
+ * The visible cells are kept in two lists that swap on every recompute, so a caller
+ * can darken just the cells that went out of view. Nothing is recomputed until the
+ * viewer moves or the radius changes, and no call allocates once the lists are big
+ * enough for the largest radius used.
+ */
+public class FieldOfView {
+    // Octant transforms: a cell (col, row) of octant i is at (col * XX + row * XY, col * YX + row * YY)
+    private static final int[] XX = { 1, 0, 0, -1, -1, 0, 0, 1 };
+    private static final int[] XY = { 0, 1, -1, 0, 0, -1, 1, 0 };
+    private static final int[] YX = { 0, 1, 1, 0, 0, -1, -1, 0 };
+    private static final int[] YY = { 1, 0, 0, 1, -1, 0, 0, -1 };
+
+    private final int width;
+    private final int height;
+    private final GridPathfinder.Passability transparency;
+
+    private final int[] visibleStamp; // Cell is visible when equal to generation
+    private int generation = 0;
+    private int[] current = new int[0];
+    private int currentCount = 0;
+    private int[] previous = new int[0];
+    private int previousCount = 0;
+
+    // masks[r][dx] is the largest dy with dx * dx + dy * dy <= r * r
+    private int[][] masks = new int[0][];
+    private int[] mask;
+
+    private int originX = -1;
+    private int originY = -1;
+    private int radius = -1;
+
+    /**
+     * @param transparency whether a cell lets sight through; off-grid cells never do
+     */
+    public FieldOfView(int width, int height, GridPathfinder.Passability transparency) {
+        this.width = width;
+        this.height = height;
+        this.transparency = transparency;
+        visibleStamp = new int[width * height];
+    }
+
+    /**
+     * Sees from (x, y) up to radius cells away (by Euclidean distance). Does nothing
+     * if that is what was seen last time.
+     *
+     * @return true if the visible cells were recomputed
+     */
+    public boolean update(int x, int y, int radius) {
+        if (x == originX && y == originY && radius == this.radius) {
+            return false;
+        }
+        originX = x;
+        originY = y;
+        this.radius = radius;
+        mask = maskFor(radius);
+
+        int[] swap = previous;
+        previous = current;
+        previousCount = currentCount;
+        current = swap;
+        currentCount = 0;
+        int bound = Math.min(width * height, (2 * radius + 1) * (2 * radius + 1));
+        if (current.length < bound) {
+            current = new int[bound];
+        }
+        generation++;
+
+        markVisible(x, y);
+        for (int octant = 0; octant < 8; octant++) {
+            castLight(1, 1.0, 0.0, XX[octant], XY[octant], YX[octant], YY[octant]);
+        }
+        return true;
+    }
+
+    /**
+     * Scans one octant from the given row outwards, between two slopes (1.0 being the
+     * diagonal and 0.0 the straight line out from the viewer).
+     */
+    private void castLight(int row, double startSlope, double endSlope, int xx, int xy, int yx, int yy) {
+        if (startSlope < endSlope) {
+            return;
+        }
+        double nextStart = startSlope;
+        for (int distance = row; distance <= radius; distance++) {
+            boolean blocked = false;
+            int dy = -distance;
+            for (int dx = -distance; dx <= 0; dx++) {
+                // Slopes through the left and right edges of this cell
+                double leftSlope = (dx - 0.5) / (dy + 0.5);
+                double rightSlope = (dx + 0.5) / (dy - 0.5);
+                if (startSlope < rightSlope) {
+                    continue;
+                } else if (endSlope > leftSlope) {
+                    break;
+                }
+
+                int offsetX = dx * xx + dy * xy;
+                int offsetY = dx * yx + dy * yy;
+                int x = originX + offsetX;
+                int y = originY + offsetY;
+                boolean inRange = Math.abs(offsetY) <= mask[Math.abs(offsetX)];
+                boolean onGrid = x >= 0 && x < width && y >= 0 && y < height;
+                if (inRange && onGrid) {
+                    markVisible(x, y);
+                }
+
+                boolean opaque = !onGrid || !transparency.isPassable(x, y);
+                if (blocked) {
+                    if (opaque) {
+                        nextStart = rightSlope;
+                    } else {
+                        blocked = false;
+                        startSlope = nextStart;
+                    }
+                } else if (opaque && distance < radius) {
+                    // Start of a shadow: scan what is still visible past its near edge
+                    blocked = true;
+                    castLight(distance + 1, startSlope, leftSlope, xx, xy, yx, yy);
+                    nextStart = rightSlope;
+                }
+            }
+            if (blocked) {
+                break;
+            }
+        }
+    }
+
+    private void markVisible(int x, int y) {
+        int cell = x * height + y;
+        if (visibleStamp[cell] != generation) {
+            visibleStamp[cell] = generation;
+            current[currentCount++] = cell;
+        }
+    }
+
+    private int[] maskFor(int radius) {
+        if (radius >= masks.length) {
+            masks = Arrays.copyOf(masks, radius + 1);
+        }
+        if (masks[radius] == null) {
+            int[] reach = new int[radius + 1];
+            int dy = radius;
+            for (int dx = 0; dx <= radius; dx++) {
+                while (dx * dx + dy * dy > radius * radius) {
+                    dy--;
+                }
+                reach[dx] = dy;
+            }
+            masks[radius] = reach;
+        }
+        return masks[radius];
+    }
+
+    public boolean isVisible(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height && visibleStamp[x * height + y] == generation;
+    }
+
+    /**
+     * @return the number of cells visible now, see {@link #visibleCell}
+     */
+    public int visibleCount() {
+        return currentCount;
+    }
+
+    /**
+     * @return the cell id (x * height + y) of the i-th visible cell
+     */
+    public int visibleCell(int i) {
+        return current[i];
+    }
+
+    /**
+     * @return the number of cells that were visible before the last recompute
+     */
+    public int previousCount() {
+        return previousCount;
+    }
+
+    public int previousCell(int i) {
+        return previous[i];
+    }
+
+    /**
+     * @return whether the cell with this id is visible now
+     */
+    public boolean isVisibleCell(int cell) {
+        return visibleStamp[cell] == generation;
+    }
+}
@@ -3,6 +3,7 @@ package core;
 import edu.princeton.cs.algs4.StdDraw;
 import tileengine.TERenderer;
 import tileengine.TETile;
+import tileengine.TileAtlas;
 import tileengine.Tileset;
 import utils.FileUtils;
 import tileengine.AvatarTileset;
@@ -11,7 +12,7 @@ import tileengine.AvatarOption;
 import java.awt.*;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.io.File;
 import java.io.IOException;
 
@@ -32,32 +33,25 @@ public class GameMenu implements EventListener {
     boolean redraw = true;
     private double prevMouseX = 0;
     private double prevMouseY = 0;
-    private long lastChaserMoveTime = 0; // Variable to track the last time the chaser moved
-    private long CHASER_MOVE_INTERVAL = 500; // Reduced interval for faster chaser movement
+
+    // Fixed-timestep simulation: real time is banked in the accumulator and spent
+    // in whole ticks, so game logic runs at the same rate whatever the frame rate
+    private static final int MAX_CATCH_UP_TICKS = 5; // Drop backlog beyond this per frame
+    private long simAccumulator = 0;
+    private final Simulation simulation = new Simulation();
 
     Player player = null;
     public Language currentLanguage = Language.ENGLISH; // Default language
     public TranslationManager translationManager;
     List<Notification> notifications = new ArrayList<>();
 
-    // Add this class to cache HUD information
-    private static class HUDInfo {
-        final String tileDescription;
-        final String playerInfo;
-        final String pointsInfo;
-        final String instructions;
-
-        HUDInfo(String tileDescription, String playerInfo, String pointsInfo, String instructions) {
-            this.tileDescription = tileDescription;
-            this.playerInfo = playerInfo;
-            this.pointsInfo = pointsInfo;
-            this.instructions = instructions;
-        }
-    }
+    private final Hud hud = new Hud();
+    private final SoundEffects soundEffects = new SoundEffects(); // Played off the game thread
 
-    // Add these fields to GameMenu class
-    private HUDInfo hudCache;
-    private boolean hudNeedsUpdate = true;
+    // The HUD and notifications are drawn over the top rows of the map. The renderer
+    // redraws that band as a whole, and the HUD with it, when any tile there changes.
+    private static final int HUD_ROWS = 6;
+    private String notificationShown = null;
 
     enum GameState {
         LANGUAGE_SELECT,
@@ -72,7 +66,6 @@ public class GameMenu implements EventListener {
 
     private int currentLevel = 1;
     private static final int MAX_LEVEL = 5;
-    private static final int POINTS_PER_LEVEL = 100;
 
     // Add these fields to GameMenu class
     private char lastDirection = 's'; // Default facing down
@@ -141,12 +134,11 @@ public class GameMenu implements EventListener {
     private List<AnimatedMenuItem> loginMenuItems = new ArrayList<>();
 
     // Add these constants at the top of GameMenu class
-    private static final String SAVES_DIR = "saves";
-    private static final String AUTO_SAVE_PREFIX = "auto_";
-    private static final String SAVE_FILE_SUFFIX = "_save.txt";
-    private static final int MAX_AUTO_SAVES = 3;
+    private static final String SAVES_DIR = SaveGame.DEFAULT_DIR;
+    private static final int MAX_AUTO_SAVES = SaveGame.MAX_AUTO_SAVES;
     private static final long AUTO_SAVE_INTERVAL = 300000; // 5 minutes in milliseconds
     private long lastAutoSaveTime = 0;
+    private final SaveWriter autoSaveWriter = new SaveWriter(SAVES_DIR, MAX_AUTO_SAVES);
 
     public SettingsMenu settingsMenu;
     private InGameInputHandler inGameInputHandler;
@@ -174,6 +166,9 @@ public class GameMenu implements EventListener {
     public void createGameMenu() throws InterruptedException {
         setupCanvas();
         ter = new TERenderer();
+        // Resolve every tile image up front instead of on the first frame
+        TileAtlas.getInstance().preload(Tileset.ALL);
+        TileAtlas.getInstance().preload(AvatarTileset.ALL);
 
         currentState = GameState.LANGUAGE_SELECT;
         long lastUpdateTime = System.currentTimeMillis();
@@ -182,6 +177,7 @@ public class GameMenu implements EventListener {
         while (true) {
             long currentTime = System.currentTimeMillis();
             long deltaTime = currentTime - lastUpdateTime;
+            lastUpdateTime = currentTime;
 
             // Add auto-save check
             if (currentState == GameState.IN_GAME && !isPaused) { // Don't auto-save when paused
@@ -195,16 +191,14 @@ public class GameMenu implements EventListener {
 
             // Handle input
             boolean inputHandled = handleInput();
-            boolean chaserMoved = false;
 
-            // Update game state using deltaTime
-            if (currentState == GameState.IN_GAME && !isPaused) { // Don't update chaser when paused
-                chaserMoved = updateChaser();
-                // needsRender = inputHandled || chaserMoved || detectMouseMove();
-                needsRender = inputHandled || chaserMoved;
-            }
-            if (currentState == GameState.IN_GAME && world.handleChaserCollision()) {
-                failGame();
+            // Run as many fixed ticks as the elapsed time pays for
+            if (currentState == GameState.IN_GAME && !isPaused) { // Don't simulate when paused
+                boolean simulated = advanceSimulation(deltaTime);
+                // Keep drawing while a chaser glides between tiles
+                needsRender = inputHandled || simulated || world.hasMovingChasers();
+            } else {
+                simAccumulator = 0;
             }
 
             // Render if needed
@@ -217,23 +211,72 @@ public class GameMenu implements EventListener {
             if (sleepTime > 0) {
                 Thread.sleep(sleepTime);
             }
-
-            lastUpdateTime = currentTime;
         }
     }
 
-    private boolean updateChaser() {
-        long currentTime = System.currentTimeMillis();
-        if (currentTime - lastChaserMoveTime >= CHASER_MOVE_INTERVAL) {
-            world.moveChaser();
-            lastChaserMoveTime = currentTime;
+    /**
+     * Spends the elapsed time in fixed simulation ticks. At most
+     * MAX_CATCH_UP_TICKS run per frame; any older backlog (after a long stall or
+     * a blocking message screen) is dropped so a slow frame cannot snowball.
+     *
+     * @return true if the simulation changed anything visible
+     */
+    private boolean advanceSimulation(long deltaTime) {
+        simAccumulator += deltaTime;
+        boolean changed = false;
+        int ticks = 0;
+        // Checked before the first tick too, to catch input that walked the avatar
+        // into a chaser; each catch is raised once, by the check that found it
+        boolean caught = world.handleChaserCollision();
+        while (!caught && simAccumulator >= World.TICK_MS && ticks < MAX_CATCH_UP_TICKS) {
+            simAccumulator -= World.TICK_MS;
+            ticks++;
+            changed |= simulation.step(world, LevelParameters.chaserMoveInterval(currentLevel));
+            caught = world.handleChaserCollision();
+        }
+        if (simAccumulator >= World.TICK_MS) {
+            simAccumulator %= World.TICK_MS;
+        }
+        if (caught) {
+            simAccumulator = 0;
+            failGame();
             return true;
         }
-        return false;
+        return changed;
+    }
+
+    /**
+     * Draws chasers that stepped during the current tick part-way between their
+     * old and new cells, alpha being the fraction of the next tick already banked.
+     * The tile frame holds them on their new cell, so that cell is repainted with
+     * the tile underneath first. Skipped in dark mode, where the cell under a
+     * chaser may not be visible.
+     */
+    private void drawInterpolatedChasers(double alpha) {
+        if (world.isDarkMode() || alpha >= 1) {
+            return;
+        }
+        for (Chaser chaser : world.getChasers()) {
+            if (!chaser.isMoving()) {
+                continue;
+            }
+            chaser.getTileUnder().draw(chaser.getX(), chaser.getY());
+            double x = chaser.getPrevX() + (chaser.getX() - chaser.getPrevX()) * alpha;
+            double y = chaser.getPrevY() + (chaser.getY() - chaser.getPrevY()) * alpha;
+            Tileset.CHASER.draw(x, y);
+            // The sprite straddles both cells; repaint them cleanly next frame
+            ter.markDirty(chaser.getPrevX(), chaser.getPrevY());
+            ter.markDirty(chaser.getX(), chaser.getY());
+        }
     }
 
     private void render() {
-        StdDraw.clear(StdDraw.BLACK);
+        // A running game only redraws what changed; everything else starts from black
+        boolean incremental = currentState == GameState.IN_GAME && !isPaused;
+        if (!incremental) {
+            StdDraw.clear(StdDraw.BLACK);
+            ter.invalidate();
+        }
         setDrawColor(Color.WHITE);
 
         switch (currentState) {
@@ -251,9 +294,11 @@ public class GameMenu implements EventListener {
                 }
                 break;
             case IN_GAME:
-                renderInGameScreen();
                 if (isPaused) {
+                    renderInGameScreen();
                     drawPauseOverlay();
+                } else {
+                    renderInGameScreenIncremental();
                 }
                 break;
         }
@@ -288,10 +333,32 @@ public class GameMenu implements EventListener {
 
     private void renderInGameScreen() {
         ter.renderFrame(world.getVisibleMap());
+        drawInterpolatedChasers((double) simAccumulator / World.TICK_MS);
         updateHUD();
+        renderHUD();
         renderNotifications();
     }
 
+    /**
+     * Draws only the tiles that changed since the last frame. The HUD band is
+     * repainted when its text changes or a tile beneath it was redrawn.
+     */
+    private void renderInGameScreenIncremental() {
+        boolean hudChanged = updateHUD();
+        String notification = latestNotificationMessage();
+        if (hudChanged || !Objects.equals(notification, notificationShown)) {
+            ter.markRegionDirty(0, world.getHeight() - HUD_ROWS, world.getWidth() - 1, world.getHeight() - 1);
+            notificationShown = notification;
+        }
+
+        ter.renderFrameIncremental(world.getVisibleMap());
+        drawInterpolatedChasers((double) simAccumulator / World.TICK_MS);
+        if (ter.wasOverlayRedrawn()) {
+            renderHUD();
+            renderNotifications();
+        }
+    }
+
     private boolean handleInput() throws InterruptedException {
         if (!StdDraw.hasNextKeyTyped()) {
             return false;
@@ -323,8 +390,8 @@ public class GameMenu implements EventListener {
         StdDraw.setCanvasSize(screenSize.width, screenSize.height);
         StdDraw.setPenColor(Color.white);
         // Call this once during game initialization
-        StdDraw.setXscale(0, world.getWIDTH());
-        StdDraw.setYscale(0, world.getHEIGHT());
+        StdDraw.setXscale(0, World.DEFAULT_WIDTH);
+        StdDraw.setYscale(0, World.DEFAULT_HEIGHT);
         StdDraw.enableDoubleBuffering();
     }
 
@@ -398,8 +465,7 @@ public class GameMenu implements EventListener {
     }
 
     private boolean checkSavedGameExists(String username) {
-        String saveFile = SAVES_DIR + "/" + username + SAVE_FILE_SUFFIX;
-        return new File(saveFile).exists();
+        return SaveGame.exists(SAVES_DIR, username);
     }
 
     private boolean hasMouseMoved(double currentMouseX, double currentMouseY) {
@@ -409,87 +475,28 @@ public class GameMenu implements EventListener {
                 Math.abs(currentMouseY - prevMouseY) > threshold;
     }
 
-    private void updateHUD() {
+    /**
+     * Brings the HUD up to date; cheap when nothing it shows has changed.
+     *
+     * @return true if the HUD differs from what was last shown
+     */
+    private boolean updateHUD() {
         // Update player invisibility status in case the duration has expired.
         if (player.updateInvisibility()) {
             // Add notification when invisibility wears off
             AudioManager.getInstance().playSound("menu");
             notifications.add(new Notification("Invisibility has worn off!", System.currentTimeMillis() + 2000));
         }
-        // Update the avatar tile based on current invisibility state.
-        world.updateAvatarTile();
-
-        // Get the current tile at the avatar's position from World
-        TETile currentTile = world.getMap()[world.getAvatarX()][world.getAvatarY()];
-
-        // Get the description of the current tile.
-        String tileDescription = getTileDescription(currentTile);
-
-        String instructions = "Press N to restart; Press V for invisibility cure";
-        // Update the HUD information with current tile description, player info and
-        // instructions.
-        hudCache = new HUDInfo(tileDescription,
-                "Player: " + player.getUsername(),
-                "Points: " + player.getPoints(),
-                instructions);
-
-        // Render the HUD
-        renderHUD();
-    }
-
-    private String getTileDescription(TETile tile) {
-        // Get the tile in front of the avatar based on last movement direction
-        Point facingTile = getFacingTilePosition();
-        if (facingTile != null) {
-            tile = world.getMap()[facingTile.x][facingTile.y];
-        }
-
-        // Check for obstacles first
-        for (ObstacleType obstacle : ObstacleType.values()) {
-            if (tile == obstacle.getTile()) {
-                switch (obstacle) {
-                    case SPIKES -> {
-                        return "Danger ahead! Spikes will hurt you and reduce points!";
-                    }
-                    case TELEPORTER -> {
-                        return "A mysterious portal ahead. Where will it take you?";
-                    }
-                    case ICE -> {
-                        return "Careful! Slippery ice ahead!";
-                    }
-                }
-            }
-        }
-
-        // Check for consumables
-        for (Consumable consumable : world.getConsumables()) {
-            if (tile == consumable.getTile()) {
-                return "Ahead: " + consumable.getName() + " worth " + consumable.getPointValue() + " points!";
-            }
+        boolean invisible = player.isInvisible();
+        if (invisible != hud.isInvisible()) {
+            // Swap the avatar tile only when invisibility actually changes
+            world.updateAvatarTile();
         }
-
-        // Check basic world tiles
-        if (tile == world.getFloorTile()) {
-            return "Clear path ahead.";
-        } else if (tile == world.getWallTile()) {
-            return "A wall blocks your path.";
-        } else if (tile == Tileset.CHASER) {
-            return "DANGER! The chaser is right in front of you!";
-        } else if (tile == Tileset.LOCKED_DOOR || tile == Tileset.UNLOCKED_DOOR) {
-            return "The exit door is right ahead!";
-        }
-
-        return "Can't see what's ahead.";
+        return hud.update(player.getUsername(), player.getPoints(), currentLevel, getFacingTile(), invisible);
     }
 
     private void renderHUD() {
-        // Spread out HUD elements with better spacing
-        StdDraw.setPenColor(Color.white);
-        StdDraw.textLeft(0.1, 44, hudCache.playerInfo);
-        StdDraw.textLeft(0.1, 43, hudCache.pointsInfo);
-        StdDraw.textLeft(0.1, 42, "Level: " + currentLevel);
-        StdDraw.textLeft(0.1, 41, hudCache.tileDescription);
-        StdDraw.text(40, 44, hudCache.instructions);
+        hud.draw(world.getWidth(), world.getHeight());
     }
 
     public Player loginOrCreateProfile() {
@@ -500,30 +507,23 @@ public class GameMenu implements EventListener {
         String username = getUsernameInput();
 
         // Check if save file exists
-        String saveFile = SAVES_DIR + "/" + username + SAVE_FILE_SUFFIX;
-        if (new File(saveFile).exists()) {
+        if (SaveGame.exists(SAVES_DIR, username)) {
             try {
                 // Load basic player info from save file
-                String contents = FileUtils.readFile(saveFile);
-                String[] lines = contents.split("\n");
+                SaveGame save = SaveGame.read(SAVES_DIR, username);
 
                 // Verify username
-                if (!lines[0].equals(username)) {
+                if (!save.getUsername().equals(username)) {
                     return createNewPlayer(username);
                 }
 
-                // Load player data from first few lines of save file
-                int points = Integer.parseInt(lines[1]);
-                int avatarChoice = Integer.parseInt(lines[2]);
-
-                int currentLevelFromFile = Integer.parseInt(lines[8]);
-                currentLevel = currentLevelFromFile;
+                currentLevel = save.getLevel();
 
-                Player player = new Player(username, points);
-                player.setAvatarChoice(avatarChoice);
+                Player player = new Player(username, save.getPoints());
+                player.setAvatarChoice(save.getAvatarChoice());
                 hasSavedGame = true;
                 System.out.println("Input Username: " + username);
-                System.out.println("Saved Username: " + lines[0]);
+                System.out.println("Saved Username: " + save.getUsername());
                 return player;
 
             } catch (Exception e) {
@@ -673,8 +673,10 @@ public class GameMenu implements EventListener {
         gameStarted = true;
         System.out.println("before newing the world");
         // Initialize a new world with the given seed and player
-        world = new World(player, seed);
-        this.world.getEventDispatcher().addListener(this); // Register this GameMenu as a listener
+        world = LevelParameters.firstLevel(seed).createWorld(player);
+        this.world.getEventDispatcher().addListener(Event.EventType.CONSUMABLE_CONSUMED, this); // Register this GameMenu as a listener
+        this.world.getEventDispatcher().addAsyncListener(soundEffects, Event.EventType.values());
+        this.world.setTileChangeListener(ter::markDirty);
         System.out.println("New world created with seed: " + seed);
         drawWorld();
     }
@@ -682,9 +684,10 @@ public class GameMenu implements EventListener {
     public void drawWorld() {
         System.out.println("before drawing world");
         try {
-            int width = world.getMap().length;
-            int height = world.getMap()[0].length;
+            int width = world.getWidth();
+            int height = world.getHeight();
             ter.initialize(width, height);
+            ter.setOverlayRegion(0, height - HUD_ROWS, width - 1, height - 1);
             ter.renderFrame(world.getMap());
         } catch (Exception e) {
             System.err.println("Error drawing world: " + e.getMessage());
@@ -696,7 +699,6 @@ public class GameMenu implements EventListener {
         lastDirection = key; // Update last direction before moving
         if (world.moveAvatar(key)) {
             AudioManager.getInstance().playSound("walk");
-            hudNeedsUpdate = true;
             if (world.getAvatarX() == world.getDoorX() && world.getAvatarY() == world.getDoorY()) {
                 exitDoor();
             }
@@ -743,14 +745,11 @@ public class GameMenu implements EventListener {
 
     // Add a new method to retry the current level
     private void retryCurrentLevel() {
-        // Create a new world with the same level
-        long seed = System.currentTimeMillis();
-        int numConsumables = 10 + (currentLevel - 1) * 2; // Scale consumables with level
-        int numObstacles = 5 + (currentLevel - 1); // Scale obstacles with level
-
-        // Create a new world with the current level settings
-        world = new World(player, seed, numConsumables, numObstacles);
-        world.getEventDispatcher().addListener(this);
+        // Create a new world with the current level settings, seeded from the failed one
+        world = LevelParameters.retryAfter(world.getSeed(), currentLevel).createWorld(player);
+        world.getEventDispatcher().addListener(Event.EventType.CONSUMABLE_CONSUMED, this);
+        world.getEventDispatcher().addAsyncListener(soundEffects, Event.EventType.values());
+        world.setTileChangeListener(ter::markDirty);
 
         // Reset game state
         gameStarted = true;
@@ -770,9 +769,8 @@ public class GameMenu implements EventListener {
         AudioManager.getInstance().playSound("gamePass");
 
         // Award points based on current level
-        int levelPoints = POINTS_PER_LEVEL * currentLevel;
+        int levelPoints = LevelParameters.POINTS_PER_LEVEL * currentLevel;
         player.addPoints(levelPoints);
-        hudNeedsUpdate = true;
 
         // Show level completion message
         showLevelCompleteMessage(levelPoints);
@@ -783,17 +781,11 @@ public class GameMenu implements EventListener {
     }
 
     private void createNextLevel() {
-        // Increase difficulty with each level
-        long newSeed = world.getSeed() + currentLevel; // Generate new seed for variety
-
-        // Adjust game parameters based on level
-        CHASER_MOVE_INTERVAL = Math.max(1000, CHASER_MOVE_INTERVAL - (500 * currentLevel));
-        int numConsumables = 3 + currentLevel; // More consumables in higher levels
-        int numObstacles = 10 + (currentLevel * 9); // More obstacles in higher levels
-
-        // Create new world with increased difficulty
-        world = new World(player, newSeed, numConsumables, numObstacles);
-        world.getEventDispatcher().addListener(this);
+        // Create new world with increased difficulty, seeded from the last one for variety
+        world = LevelParameters.nextLevel(world.getSeed(), currentLevel).createWorld(player);
+        world.getEventDispatcher().addListener(Event.EventType.CONSUMABLE_CONSUMED, this);
+        world.getEventDispatcher().addAsyncListener(soundEffects, Event.EventType.values());
+        world.setTileChangeListener(ter::markDirty);
 
         // Show new level message
         showNewLevelMessage();
@@ -843,9 +835,11 @@ public class GameMenu implements EventListener {
         new File(SAVES_DIR).mkdirs();
 
         // Single save file per user
-        String fileName = String.format("%s/%s%s", SAVES_DIR, player.getUsername(), SAVE_FILE_SUFFIX);
+        String fileName = SaveGame.fileName(SAVES_DIR, player.getUsername());
 
         try {
+            // A pending auto-save must not end up newer than this save
+            autoSaveWriter.flush();
             saveGameToFile(fileName);
             PlayerStorage.savePlayer(player);
         } catch (Exception e) {
@@ -854,106 +848,37 @@ public class GameMenu implements EventListener {
     }
 
     public void loadGame(Player player) {
-        String saveFile = SAVES_DIR + "/" + player.getUsername() + SAVE_FILE_SUFFIX;
-        File file = new File(saveFile);
-
-        if (!file.exists()) {
+        if (!SaveGame.exists(SAVES_DIR, player.getUsername())) {
             System.err.println("No save file found for player: " + player.getUsername());
             return;
         }
 
         try {
-            String contents = FileUtils.readFile(saveFile);
-            String[] lines = contents.split("\n");
-            int currentLine = 0;
+            SaveGame save = SaveGame.read(SAVES_DIR, player.getUsername());
 
             // Verify username
-            String savedUsername = lines[currentLine++];
-            if (!savedUsername.equals(player.getUsername())) {
+            if (!save.getUsername().equals(player.getUsername())) {
                 System.err.println("Save file username mismatch");
                 return;
             }
 
-            // Load basic game state
-            int points = Integer.parseInt(lines[currentLine++]);
-            int avatarChoice = Integer.parseInt(lines[currentLine++]);
-            long seed = Long.parseLong(lines[currentLine++]);
-            int avatarX = Integer.parseInt(lines[currentLine++]);
-            int avatarY = Integer.parseInt(lines[currentLine++]);
-            int chaserX = Integer.parseInt(lines[currentLine++]);
-            int chaserY = Integer.parseInt(lines[currentLine++]);
-            currentLevel = Integer.parseInt(lines[currentLine++]); // Load current level
-
-            // Load door position
-            String[] doorPos = lines[currentLine++].split(",");
-            int doorX = Integer.parseInt(doorPos[0]);
-            int doorY = Integer.parseInt(doorPos[1]);
-
-            // Load dark mode state
-            String[] darkModeData = lines[currentLine++].split(",");
-            boolean isDarkMode = Boolean.parseBoolean(darkModeData[0]);
-            int visionRadius = Integer.parseInt(darkModeData[1]);
-
-            // Load invisibility state
-            String[] invisibilityData = lines[currentLine++].split(",");
-            boolean isInvisible = Boolean.parseBoolean(invisibilityData[0]);
-            long remainingDuration = Long.parseLong(invisibilityData[1]);
-            if (isInvisible) {
-                player.setInvisibilityState(true, remainingDuration);
-                player.resumeInvisibility();
+            currentLevel = save.getLevel(); // Load current level
+            world = save.restore(player);
+            world.getEventDispatcher().addListener(Event.EventType.CONSUMABLE_CONSUMED, this);
+            world.getEventDispatcher().addAsyncListener(soundEffects, Event.EventType.values());
+            world.setTileChangeListener(ter::markDirty);
+            if (save.isInvisible()) {
                 AudioManager.getInstance().playLoopingSound("invisibility");
             }
 
-            // Update player state first (before creating world)
-            player.setPoints(points);
-            player.setAvatarChoice(avatarChoice);
-
-            // Create new world with seed but don't populate items yet
-            world = new World(player, seed, 0, 0);
-
-            // Set positions
-            world.setAvatarToNewPosition(avatarX, avatarY);
-            world.setChaserToNewPosition(chaserX, chaserY);
-            world.setDoorPosition(doorX, doorY);
-
-            // Set dark mode state
-            world.setDarkMode(isDarkMode, visionRadius);
-
-            // Load torch positions
-            int numTorches = Integer.parseInt(lines[currentLine++]);
-            for (int i = 0; i < numTorches; i++) {
-                String[] torchPos = lines[currentLine++].split(",");
-                int x = Integer.parseInt(torchPos[0]);
-                int y = Integer.parseInt(torchPos[1]);
-                world.addTorch(x, y);
-            }
-
-            // Load consumables
-            int numConsumables = Integer.parseInt(lines[currentLine++]);
-            for (int i = 0; i < numConsumables; i++) {
-                String[] consumableData = lines[currentLine++].split(",");
-                int x = Integer.parseInt(consumableData[0]);
-                int y = Integer.parseInt(consumableData[1]);
-                String type = consumableData[2];
-                world.addConsumable(x, y, type);
-            }
-
-            // Load obstacles
-            int numObstacles = Integer.parseInt(lines[currentLine++]);
-            for (int i = 0; i < numObstacles; i++) {
-                String[] obstacleData = lines[currentLine++].split(",");
-                int x = Integer.parseInt(obstacleData[0]);
-                int y = Integer.parseInt(obstacleData[1]);
-                ObstacleType type = ObstacleType.valueOf(obstacleData[2]);
-                world.addObstacle(x, y, type);
-            }
-
             // Set game state
             gameStarted = true;
 
             // Add notification about load
             notifications.add(new Notification(
-                    "Game loaded successfully",
+                    save.getSkippedSaves().isEmpty()
+                            ? "Game loaded successfully"
+                            : "Latest save was damaged; loaded an older one",
                     System.currentTimeMillis() + 3000));
 
             // Check and play chaser sound if nearby
@@ -973,24 +898,30 @@ public class GameMenu implements EventListener {
         if (event.getType() == Event.EventType.CONSUMABLE_CONSUMED) {
             // Add notification without any pause
             notifications.add(new Notification(event.getMessage(), System.currentTimeMillis() + 2000));
-            hudNeedsUpdate = true; // Update HUD when points change
             redraw = true; // Request a redraw to show the notification
         }
     }
 
     public void renderNotifications() {
-        // Remove expired notifications first
-        notifications.removeIf(Notification::isExpired);
-
         // Only show the most recent notification
-        if (!notifications.isEmpty()) {
-            Notification latestNotification = notifications.get(notifications.size() - 1);
+        String message = latestNotificationMessage();
+        if (message != null) {
             StdDraw.setPenColor(StdDraw.WHITE);
-            StdDraw.textLeft(0.01, 40, latestNotification.getMessage());
+            StdDraw.textLeft(0.01, world.getHeight() - 5, message); // Just below the HUD lines
         }
     }
 
+    private String latestNotificationMessage() {
+        // Remove expired notifications first
+        notifications.removeIf(Notification::isExpired);
+        if (notifications.isEmpty()) {
+            return null;
+        }
+        return notifications.get(notifications.size() - 1).getMessage();
+    }
+
     public void handleRestart() throws InterruptedException {
+        ter.invalidate(); // The confirmation prompt replaces the game screen
         // Pause the game if it wasn't already paused
         boolean wasPaused = isPaused;
         if (!wasPaused) {
@@ -1030,6 +961,7 @@ public class GameMenu implements EventListener {
     public void handlePause() {
         // Toggle pause state
         isPaused = !isPaused;
+        ter.invalidate(); // The pause menu draws over the whole game
 
         AudioManager.getInstance().playSound("menu");
         if (isPaused) {
@@ -1068,8 +1000,9 @@ public class GameMenu implements EventListener {
         return false;
     }
 
-    // Add this method to get the position of the tile the avatar is facing
-    private Point getFacingTilePosition() {
+    // The tile in front of the avatar based on last movement direction, or null if
+    // that is off the map
+    private TETile getFacingTile() {
         int x = world.getAvatarX();
         int y = world.getAvatarY();
 
@@ -1084,8 +1017,8 @@ public class GameMenu implements EventListener {
         }
 
         // Check if the position is within bounds
-        if (x >= 0 && x < world.getMap().length && y >= 0 && y < world.getMap()[0].length) {
-            return new Point(x, y);
+        if (x >= 0 && x < world.getWidth() && y >= 0 && y < world.getHeight()) {
+            return world.getTile(x, y);
         }
         return null;
     }
@@ -1104,12 +1037,12 @@ public class GameMenu implements EventListener {
     private void drawPauseOverlay() {
         // Draw semi-transparent dark overlay
         StdDraw.setPenColor(new Color(0, 0, 0, 0.5f));
-        StdDraw.filledRectangle(World.getWIDTH() / 2.0, World.getHEIGHT() / 2.0,
-                World.getWIDTH() / 2.0, World.getHEIGHT() / 2.0);
+        StdDraw.filledRectangle(world.getWidth() / 2.0, world.getHeight() / 2.0,
+                world.getWidth() / 2.0, world.getHeight() / 2.0);
 
         // Draw pause menu
         StdDraw.setPenColor(Color.WHITE);
-        double centerY = World.getHEIGHT() / 2.0;
+        double centerY = world.getHeight() / 2.0;
 
         StdDraw.text(40, centerY + 5, translationManager.getTranslation("game_paused"));
         StdDraw.text(40, centerY, translationManager.getTranslation("press_p_resume"));
@@ -1151,83 +1084,12 @@ public class GameMenu implements EventListener {
             return;
         }
 
-        // Use the same save file as manual save
-        String fileName = String.format("%s/%s%s", SAVES_DIR, player.getUsername(), SAVE_FILE_SUFFIX);
-
-        try {
-            saveGameToFile(fileName);
-        } catch (Exception e) {
-            System.err.println("Error during auto-save: " + e.getMessage());
-        }
+        // Snapshot now, encode and write on the save writer's thread
+        autoSaveWriter.submit(SaveGame.capture(player, world, currentLevel));
     }
 
-    // Common save function used by both manual and auto-save
     private void saveGameToFile(String fileName) throws IOException {
-        StringBuilder data = new StringBuilder();
-
-        // Basic game state
-        data.append(player.getUsername()).append("\n")
-                .append(player.getPoints()).append("\n")
-                .append(player.getAvatarChoice()).append("\n")
-                .append(world.getSeed()).append("\n")
-                .append(world.getAvatarX()).append("\n")
-                .append(world.getAvatarY()).append("\n")
-                .append(world.getChaserX()).append("\n")
-                .append(world.getChaserY()).append("\n")
-                .append(currentLevel).append("\n"); // Add current level
-
-        // Door position
-        data.append(world.getDoorX()).append(",").append(world.getDoorY()).append("\n");
-
-        // Dark mode state
-        data.append(world.isDarkMode()).append(",").append(world.getVisionRadius()).append("\n");
-
-        // Use pauseInvisibility to determine remaining duration
-        player.pauseInvisibility();
-        data.append(player.isInvisible()).append(",").append(player.getRemainingInvisibilityDuration()).append("\n");
-
-        // Save torch positions
-        List<Point> torchPositions = world.getTorchPositions();
-        data.append(torchPositions.size()).append("\n");
-        for (Point p : torchPositions) {
-            data.append(p.x).append(",").append(p.y).append("\n");
-        }
-
-        // Save consumables and obstacles
-        saveConsumables(data);
-        saveObstacles(data);
-
-        FileUtils.writeFile(fileName, data.toString());
-    }
-
-    private void saveConsumables(StringBuilder data) {
-        List<Point> remainingConsumables = new ArrayList<>();
-        TETile[][] worldMap = world.getMap();
-
-        for (Point p : world.getConsumablesList()) {
-            if (worldMap[p.x][p.y] == Tileset.SMILEY_FACE_green_body_circle ||
-                    worldMap[p.x][p.y] == Tileset.SMILEY_FACE_green_body_rhombus) {
-                remainingConsumables.add(p);
-            }
-        }
-
-        data.append(remainingConsumables.size()).append("\n");
-        for (Point p : remainingConsumables) {
-            TETile tile = worldMap[p.x][p.y];
-            String type = (tile == Tileset.SMILEY_FACE_green_body_circle) ? "Smiley Face" : "Normal Face";
-            data.append(p.x).append(",").append(p.y).append(",").append(type).append("\n");
-        }
-    }
-
-    private void saveObstacles(StringBuilder data) {
-        Map<Point, ObstacleType> obstacles = world.getObstacleMap();
-        data.append(obstacles.size()).append("\n");
-        for (Map.Entry<Point, ObstacleType> entry : obstacles.entrySet()) {
-            Point p = entry.getKey();
-            data.append(p.x).append(",")
-                    .append(p.y).append(",")
-                    .append(entry.getValue().name()).append("\n");
-        }
+        FileUtils.writeBytesAtomically(fileName, SaveGame.capture(player, world, currentLevel).encode());
     }
 
     public void showTutorial() {
@@ -0,0 +1,132 @@
+package core;
+
+/**
+ * What one generated level looks like and how long it took to build: room and
+ * hallway counts, whether the avatar can walk to the door, how many consumables and
+ * open cells it can reach, how many corridors generation added to connect it, and how
+ * many unwinnable seeds were skipped to get it.
+ */
+public class GenerationStats {
+    private final long seed;
+    private final int level;
+    private final int rooms;
+    private final int hallways;
+    private final int doorDistance;
+    private final int reachableConsumables;
+    private final int totalConsumables;
+    private final int regions;
+    private final int unreachableCells;
+    private final int repairCorridors;
+    private final int skippedSeeds;
+    private final long generationNanos;
+
+    public GenerationStats(long seed, int level, int rooms, int hallways, int doorDistance,
+                           int reachableConsumables, int totalConsumables, int regions, int unreachableCells,
+                           int repairCorridors, int skippedSeeds, long generationNanos) {
+        this.seed = seed;
+        this.level = level;
+        this.rooms = rooms;
+        this.hallways = hallways;
+        this.doorDistance = doorDistance;
+        this.reachableConsumables = reachableConsumables;
+        this.totalConsumables = totalConsumables;
+        this.regions = regions;
+        this.unreachableCells = unreachableCells;
+        this.repairCorridors = repairCorridors;
+        this.skippedSeeds = skippedSeeds;
+        this.generationNanos = generationNanos;
+    }
+
+    /**
+     * Measures a freshly generated world.
+     *
+     * @param generationNanos how long the world took to build
+     */
+    public static GenerationStats of(World world, int level, long generationNanos) {
+        ReachabilityReport reachability = world.checkReachability();
+        int totalConsumables = world.getConsumablesList().size();
+        return new GenerationStats(world.getSeed(), level, world.getRoomCount(), world.getHallwayCount(),
+                world.distanceFromAvatar(world.getDoorX(), world.getDoorY()),
+                totalConsumables - reachability.getUnreachableConsumables().size(), totalConsumables,
+                reachability.getRegions(), reachability.getUnreachableCells(), reachability.getRepairCorridors(),
+                world.getSkippedSeeds(), generationNanos);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getRooms() {
+        return rooms;
+    }
+
+    public int getHallways() {
+        return hallways;
+    }
+
+    /**
+     * @return the number of steps from the avatar to the door, or
+     * {@link DistanceField#UNREACHABLE}
+     */
+    public int getDoorDistance() {
+        return doorDistance;
+    }
+
+    public boolean isDoorReachable() {
+        return doorDistance != DistanceField.UNREACHABLE;
+    }
+
+    public int getReachableConsumables() {
+        return reachableConsumables;
+    }
+
+    public int getTotalConsumables() {
+        return totalConsumables;
+    }
+
+    /**
+     * @return the number of separate open regions; 1 for a fully connected level
+     */
+    public int getRegions() {
+        return regions;
+    }
+
+    public int getUnreachableCells() {
+        return unreachableCells;
+    }
+
+    public int getRepairCorridors() {
+        return repairCorridors;
+    }
+
+    /**
+     * @return how many unwinnable seeds were skipped before this level's seed
+     */
+    public int getSkippedSeeds() {
+        return skippedSeeds;
+    }
+
+    /**
+     * A level can be finished only if the avatar can walk to the door.
+     */
+    public boolean isWinnable() {
+        return isDoorReachable();
+    }
+
+    public long getGenerationNanos() {
+        return generationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "seed " + seed + ", level " + level + ": " + rooms + " rooms, " + hallways + " hallways, door "
+                + (isDoorReachable() ? doorDistance + " steps away" : "unreachable") + ", "
+                + reachableConsumables + "/" + totalConsumables + " consumables reachable, "
+                + unreachableCells + " cells unreachable, " + repairCorridors + " corridors added, "
+                + skippedSeeds + " seeds skipped, " + generationNanos / 1000 + " us";
+    }
+}
@@ -0,0 +1,271 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * A* search over a fixed-size tile grid.
+ *
+ * Cells are addressed by an int id (x * height + y, matching the column-major
+ * layout of {@code TETile[x][y]}), and every per-cell array is allocated once in
+ * the constructor. A search therefore allocates nothing: g-scores and the closed
+ * set are invalidated by bumping a generation stamp instead of being cleared, and
+ * the open set is an indexed binary heap that supports decrease-key, so membership
+ * checks are O(1) instead of the O(n) {@code PriorityQueue.contains}.
+ *
+ * Moves are 4-directional with unit cost and the heuristic is the Manhattan
+ * distance, which is consistent on this grid, so the first time the goal is
+ * popped its g-score is the shortest path length.
+ */
+public class GridPathfinder {
+
+    /**
+     * Decides whether a search may step onto a cell. Called with in-bounds
+     * coordinates only.
+     */
+    public interface Passability {
+        boolean isPassable(int x, int y);
+    }
+
+    private static final int[] DX = { 0, 1, 0, -1 }; // Up, Right, Down, Left
+    private static final int[] DY = { 1, 0, -1, 0 };
+
+    private final int width;
+    private final int height;
+    private final Passability passability;
+
+    private final int[] gScore;
+    private final int[] fScore;
+    private final int[] parent;
+    private final int[] seenStamp; // gScore/parent are valid when equal to generation
+    private final int[] closedStamp; // cell is closed when equal to generation
+    private int generation = 0;
+
+    // Indexed binary min-heap on fScore (ties broken towards larger gScore)
+    private final int[] heap;
+    private final int[] heapIndex;
+    private int heapSize;
+
+    // Result of the last successful search, first step first, goal last
+    private final int[] path;
+    private int pathLength = -1;
+
+    public GridPathfinder(int width, int height, Passability passability) {
+        this.width = width;
+        this.height = height;
+        this.passability = passability;
+        int cells = width * height;
+        gScore = new int[cells];
+        fScore = new int[cells];
+        parent = new int[cells];
+        seenStamp = new int[cells];
+        closedStamp = new int[cells];
+        heap = new int[cells];
+        heapIndex = new int[cells];
+        path = new int[cells];
+    }
+
+    /**
+     * Finds a shortest 4-connected path from the start to the goal.
+     *
+     * @return the number of steps in the path (0 when start equals goal), or -1 if
+     *         the goal cannot be reached. The steps can then be read with
+     *         {@link #pathX(int)} and {@link #pathY(int)}; the start cell itself is
+     *         not part of the path.
+     */
+    public int findPath(int startX, int startY, int goalX, int goalY) {
+        return findPath(startX, startY, goalX, goalY, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Like {@link #findPath(int, int, int, int)}, but gives up on paths longer than
+     * maxLength. Cells whose f-score already exceeds the limit are never queued, so
+     * a short query only explores the cells that could lie on such a path.
+     *
+     * @return the number of steps, or -1 if there is no path of at most maxLength
+     */
+    public int findPath(int startX, int startY, int goalX, int goalY, int maxLength) {
+        pathLength = -1;
+        if (!inBounds(startX, startY) || !inBounds(goalX, goalY)
+                || manhattan(startX, startY, goalX, goalY) > maxLength) {
+            return -1;
+        }
+        nextGeneration();
+
+        int start = cellId(startX, startY);
+        int goal = cellId(goalX, goalY);
+        heapSize = 0;
+        gScore[start] = 0;
+        parent[start] = -1;
+        seenStamp[start] = generation;
+        push(start, manhattan(startX, startY, goalX, goalY));
+
+        while (heapSize > 0) {
+            int current = pop();
+            if (current == goal) {
+                buildPath(goal);
+                return pathLength;
+            }
+            closedStamp[current] = generation;
+
+            int cx = current / height;
+            int cy = current % height;
+            int tentativeG = gScore[current] + 1;
+            for (int d = 0; d < 4; d++) {
+                int nx = cx + DX[d];
+                int ny = cy + DY[d];
+                if (!inBounds(nx, ny)) {
+                    continue;
+                }
+                int neighbour = cellId(nx, ny);
+                if (closedStamp[neighbour] == generation || !passability.isPassable(nx, ny)) {
+                    continue;
+                }
+                int f = tentativeG + manhattan(nx, ny, goalX, goalY);
+                if (f > maxLength) {
+                    continue;
+                }
+                if (seenStamp[neighbour] != generation) {
+                    seenStamp[neighbour] = generation;
+                    gScore[neighbour] = tentativeG;
+                    parent[neighbour] = current;
+                    push(neighbour, f);
+                } else if (tentativeG < gScore[neighbour]) {
+                    gScore[neighbour] = tentativeG;
+                    parent[neighbour] = current;
+                    decreaseKey(neighbour, f);
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Length of the path found by the last call to {@link #findPath}, or -1.
+     */
+    public int pathLength() {
+        return pathLength;
+    }
+
+    public int pathX(int step) {
+        return path[step] / height;
+    }
+
+    public int pathY(int step) {
+        return path[step] % height;
+    }
+
+    /**
+     * Copies the cell ids of the last path into dest, which must hold at least
+     * {@link #pathLength()} entries. Decode with {@code id / height, id % height}.
+     */
+    public void copyPath(int[] dest) {
+        if (pathLength > 0) {
+            System.arraycopy(path, 0, dest, 0, pathLength);
+        }
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    private void buildPath(int goal) {
+        pathLength = gScore[goal];
+        int cell = goal;
+        for (int i = pathLength - 1; i >= 0; i--) {
+            path[i] = cell;
+            cell = parent[cell];
+        }
+    }
+
+    private void nextGeneration() {
+        if (generation == Integer.MAX_VALUE) {
+            Arrays.fill(seenStamp, 0);
+            Arrays.fill(closedStamp, 0);
+            generation = 0;
+        }
+        generation++;
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    private int cellId(int x, int y) {
+        return x * height + y;
+    }
+
+    private static int manhattan(int x1, int y1, int x2, int y2) {
+        return Math.abs(x1 - x2) + Math.abs(y1 - y2);
+    }
+
+    private boolean less(int a, int b) {
+        if (fScore[a] != fScore[b]) {
+            return fScore[a] < fScore[b];
+        }
+        // Prefer the cell closer to the goal so ties expand along one front
+        return gScore[a] > gScore[b];
+    }
+
+    private void push(int cell, int f) {
+        fScore[cell] = f;
+        heap[heapSize] = cell;
+        heapIndex[cell] = heapSize;
+        siftUp(heapSize++);
+    }
+
+    private void decreaseKey(int cell, int f) {
+        fScore[cell] = f;
+        siftUp(heapIndex[cell]);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapIndex[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int i) {
+        int cell = heap[i];
+        while (i > 0) {
+            int parentIndex = (i - 1) >>> 1;
+            int parentCell = heap[parentIndex];
+            if (!less(cell, parentCell)) {
+                break;
+            }
+            heap[i] = parentCell;
+            heapIndex[parentCell] = i;
+            i = parentIndex;
+        }
+        heap[i] = cell;
+        heapIndex[cell] = i;
+    }
+
+    private void siftDown(int i) {
+        int cell = heap[i];
+        int half = heapSize >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < heapSize && less(heap[right], heap[child])) {
+                child = right;
+            }
+            if (!less(heap[child], cell)) {
+                break;
+            }
+            heap[i] = heap[child];
+            heapIndex[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = cell;
+        heapIndex[cell] = i;
+    }
+}
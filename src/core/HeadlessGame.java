@@ -0,0 +1,226 @@
+package core;
+
+import tileengine.TETile;
+import utils.FileUtils;
+
+import java.io.File;
+
+/**
+ * Runs the game without StdDraw or any window, driven by an input string such as
+ * {@code "n123swasd:q"}:
+ *
+ * <ul>
+ * <li>{@code n<digits>s} starts a new game with that seed</li>
+ * <li>{@code l} loads the saved game of this player</li>
+ * <li>{@code w a s d} move the avatar</li>
+ * <li>{@code :q} saves and stops reading input</li>
+ * </ul>
+ *
+ * Time advances by a fixed number of simulation ticks per key. Each tick is a
+ * {@link Simulation#step} at the level's chaser pace, the same step GameMenu runs,
+ * so the chasers, ice slides and other timed effects play out as they would in the
+ * real game, but the same seed and input always give the same result. Reaching the
+ * door moves on to the next level; being caught ends the run.
+ *
+ * Sounds still go through the shared {@link AudioManager}. Runs without an audio
+ * device, such as tests and batch harnesses, call {@link #silenceAudio} first.
+ */
+public class HeadlessGame {
+    public static final String DEFAULT_USERNAME = "headless";
+    // A key every 200 ms, about as fast as a player taps
+    public static final int DEFAULT_TICKS_PER_KEY = 4;
+
+    private enum InputState {
+        READY, SEED, COMMAND
+    }
+
+    private final String username;
+    private final String saveDir;
+    private final int ticksPerKey;
+
+    private final Player player;
+    private World world;
+    private int level = 1;
+    private final Simulation simulation = new Simulation();
+    private boolean gameOver = false;
+    private boolean quit = false;
+
+    private InputState inputState = InputState.READY;
+    private final StringBuilder seedDigits = new StringBuilder();
+
+    public HeadlessGame() {
+        this(DEFAULT_USERNAME, SaveGame.DEFAULT_DIR, DEFAULT_TICKS_PER_KEY);
+    }
+
+    public HeadlessGame(String username, String saveDir, int ticksPerKey) {
+        this.username = username;
+        this.saveDir = saveDir;
+        this.ticksPerKey = ticksPerKey;
+        this.player = new Player(username);
+    }
+
+    /**
+     * Replaces the process-wide AudioManager with a silent one. This also silences
+     * any GameMenu in the same process, so only call it where nothing should play.
+     */
+    public static void silenceAudio() {
+        AudioManager.useSilentAudio();
+    }
+
+    /**
+     * Simulates a game, but doesn't render anything or call any StdDraw methods.
+     * Returns the world that would result if the input string had been typed on
+     * the keyboard.
+     *
+     * @param input the input string to feed to the game
+     * @return the 2D TETile[][] representing the state of the world
+     */
+    public static TETile[][] getWorldFromInput(String input) {
+        return new HeadlessGame().run(input).getMap();
+    }
+
+    /**
+     * Feeds every key of the input to the game, stopping early after {@code :q}.
+     *
+     * @return this game, to read the final state from
+     */
+    public HeadlessGame run(String input) {
+        for (int i = 0; i < input.length() && !quit; i++) {
+            press(input.charAt(i));
+        }
+        return this;
+    }
+
+    /**
+     * Feeds a single key to the game.
+     */
+    public void press(char key) {
+        if (quit) {
+            return;
+        }
+        char c = Character.toLowerCase(key);
+        switch (inputState) {
+            case SEED -> {
+                if (Character.isDigit(c)) {
+                    seedDigits.append(c);
+                } else if (c == 's') {
+                    startNewGame(seedDigits.length() == 0 ? 0 : Long.parseLong(seedDigits.toString()));
+                    inputState = InputState.READY;
+                }
+            }
+            case COMMAND -> {
+                inputState = InputState.READY;
+                if (c == 'q') {
+                    saveAndQuit();
+                }
+            }
+            case READY -> {
+                switch (c) {
+                    case 'n' -> {
+                        seedDigits.setLength(0);
+                        inputState = InputState.SEED;
+                    }
+                    case 'l' -> loadGame();
+                    case ':' -> inputState = InputState.COMMAND;
+                    case 'w', 'a', 's', 'd' -> move(c);
+                    default -> {
+                        // Keys the headless game has no use for are ignored
+                    }
+                }
+            }
+        }
+    }
+
+    private void startNewGame(long seed) {
+        level = 1;
+        player.setPoints(0);
+        gameOver = false;
+        world = LevelParameters.firstLevel(seed).createWorld(player);
+    }
+
+    private void move(char direction) {
+        if (world == null || gameOver) {
+            return;
+        }
+        world.moveAvatar(direction);
+        if (world.getAvatarX() == world.getDoorX() && world.getAvatarY() == world.getDoorY()) {
+            completeLevel();
+            return;
+        }
+        if (world.handleChaserCollision()) {
+            gameOver = true;
+            return;
+        }
+        advance(ticksPerKey);
+    }
+
+    /**
+     * Runs the simulation for the given number of ticks without any input.
+     */
+    public void advance(int ticks) {
+        for (int i = 0; i < ticks && world != null && !gameOver; i++) {
+            simulation.step(world, LevelParameters.chaserMoveInterval(level));
+            if (world.handleChaserCollision()) {
+                gameOver = true;
+            }
+        }
+    }
+
+    private void completeLevel() {
+        player.addPoints(LevelParameters.POINTS_PER_LEVEL * level);
+        level++;
+        world = LevelParameters.nextLevel(world.getSeed(), level).createWorld(player);
+        world.resetDoorState();
+    }
+
+    private void saveAndQuit() {
+        quit = true;
+        if (world == null) {
+            return;
+        }
+        new File(saveDir).mkdirs();
+        FileUtils.writeBytesAtomically(SaveGame.fileName(saveDir, username),
+                SaveGame.capture(player, world, level).encode());
+    }
+
+    private void loadGame() {
+        SaveGame save = SaveGame.read(saveDir, username);
+        if (save == null || !save.getUsername().equals(username)) {
+            return;
+        }
+        level = save.getLevel();
+        gameOver = false;
+        world = save.restore(player);
+    }
+
+    /**
+     * @return the live map of the current level, or null before a game was started
+     */
+    public TETile[][] getMap() {
+        return world == null ? null : world.getMap();
+    }
+
+    public World getWorld() {
+        return world;
+    }
+
+    public Player getPlayer() {
+        return player;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public long getTicks() {
+        return simulation.getTicks();
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    public boolean hasQuit() {
+        return quit;
+    }
+}
@@ -0,0 +1,128 @@
+package core;
+
+import edu.princeton.cs.algs4.StdDraw;
+import tileengine.TETile;
+import tileengine.Tileset;
+
+import java.awt.Color;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * The in-game heads-up display: who is playing, their points, the level and what the
+ * avatar is facing.
+ *
+ * The HUD keeps the inputs it was last built from and rebuilds a line only when its
+ * input changes, so on a frame where nothing happened {@link #update} compares a few
+ * fields and allocates nothing. What a facing tile means is looked up in a table built
+ * once from the obstacle and consumable types, instead of being worked out per frame.
+ */
+public class Hud {
+    public static final String INSTRUCTIONS = "Press N to restart; Press V for invisibility cure";
+    private static final String UNKNOWN_TILE = "Can't see what's ahead.";
+
+    // What each tile in front of the avatar means; anything else is UNKNOWN_TILE
+    private static final Map<TETile, String> DESCRIPTIONS = descriptions();
+
+    private String username;
+    private int points;
+    private int level;
+    private TETile facingTile;
+    private boolean invisible;
+    private boolean built = false;
+
+    private String playerLine;
+    private String pointsLine;
+    private String levelLine;
+    private String facingLine = UNKNOWN_TILE;
+
+    /**
+     * Brings the HUD up to date with the game.
+     *
+     * @param facingTile the tile in front of the avatar, or null if there is none
+     * @return true if anything shown changed since the last call
+     */
+    public boolean update(String username, int points, int level, TETile facingTile, boolean invisible) {
+        boolean changed = !built;
+        if (!built || !username.equals(this.username)) {
+            this.username = username;
+            playerLine = "Player: " + username;
+            changed = true;
+        }
+        if (!built || points != this.points) {
+            this.points = points;
+            pointsLine = "Points: " + points;
+            changed = true;
+        }
+        if (!built || level != this.level) {
+            this.level = level;
+            levelLine = "Level: " + level;
+            changed = true;
+        }
+        if (facingTile != this.facingTile) {
+            this.facingTile = facingTile;
+            String line = describe(facingTile);
+            changed |= line != facingLine; // Descriptions are shared constants
+            facingLine = line;
+        }
+        if (invisible != this.invisible) {
+            this.invisible = invisible;
+            changed = true;
+        }
+        built = true;
+        return changed;
+    }
+
+    /**
+     * @return whether the avatar was invisible when the HUD was last updated
+     */
+    public boolean isInvisible() {
+        return invisible;
+    }
+
+    /**
+     * Forgets what was shown, so the next {@link #update} rebuilds every line.
+     */
+    public void invalidate() {
+        built = false;
+    }
+
+    /**
+     * Draws the HUD lines over the top rows of a map of the given size.
+     */
+    public void draw(int width, int height) {
+        int top = height - 1;
+        StdDraw.setPenColor(Color.white);
+        StdDraw.textLeft(0.1, top, playerLine);
+        StdDraw.textLeft(0.1, top - 1, pointsLine);
+        StdDraw.textLeft(0.1, top - 2, levelLine);
+        StdDraw.textLeft(0.1, top - 3, facingLine);
+        StdDraw.text(width / 2.0, top, INSTRUCTIONS);
+    }
+
+    /**
+     * @return what the avatar is told about the tile in front of it
+     */
+    public static String describe(TETile tile) {
+        String description = tile == null ? null : DESCRIPTIONS.get(tile);
+        return description == null ? UNKNOWN_TILE : description;
+    }
+
+    private static Map<TETile, String> descriptions() {
+        Map<TETile, String> descriptions = new IdentityHashMap<>();
+        // Obstacles first, then consumables, then the plain world tiles
+        descriptions.put(ObstacleType.SPIKES.getTile(), "Danger ahead! Spikes will hurt you and reduce points!");
+        descriptions.put(ObstacleType.TELEPORTER.getTile(), "A mysterious portal ahead. Where will it take you?");
+        descriptions.put(ObstacleType.ICE.getTile(), "Careful! Slippery ice ahead!");
+        for (ConsumableType type : ConsumableType.values()) {
+            descriptions.putIfAbsent(type.getTile(),
+                    "Ahead: " + type.getName() + " worth " + type.getPointValue() + " points!");
+        }
+        descriptions.putIfAbsent(World.FLOOR, "Clear path ahead.");
+        descriptions.putIfAbsent(World.WALL, "A wall blocks your path.");
+        descriptions.putIfAbsent(Tileset.CHASER, "DANGER! The chaser is right in front of you!");
+        descriptions.putIfAbsent(Tileset.LOCKED_DOOR, "The exit door is right ahead!");
+        descriptions.putIfAbsent(Tileset.UNLOCKED_DOOR, "The exit door is right ahead!");
+        return descriptions;
+    }
+}
@@ -0,0 +1,235 @@
+package core;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Remembers recently generated levels, so retrying a level, loading a save or
+ * replaying a seed copies the level instead of generating it again.
+ *
+ * Levels are keyed by everything that decides what gets generated (seed, difficulty,
+ * numbers of consumables, obstacles and chasers, and size) and kept as
+ * {@link LevelLayout}s. The cache holds at most a fixed number of layouts and evicts
+ * the least recently used one. Optionally, evicted layouts are written to a
+ * memory-mapped file instead of being dropped; when the file is full it starts over
+ * from the beginning.
+ *
+ * The cache can be shared between threads. Levels are generated outside its lock, so
+ * two threads asking for the same new level may both generate it.
+ */
+public class LevelCache {
+    public static final int DEFAULT_CAPACITY = 16;
+
+    private static final LevelCache SHARED = new LevelCache(DEFAULT_CAPACITY);
+
+    private final LinkedHashMap<Key, LevelLayout> layouts;
+    private final MappedByteBuffer spill; // Null if spilling is off
+    private final Map<Key, int[]> spilled = new HashMap<>(); // Offset and length in spill
+    private int spillEnd = 0;
+
+    private long hits = 0;
+    private long spillHits = 0;
+    private long misses = 0;
+
+    // What decides the level a World constructor generates
+    private static final class Key {
+        private final long seed;
+        private final int difficulty;
+        private final int numConsumables;
+        private final int numObstacles;
+        private final int numChasers;
+        private final int width;
+        private final int height;
+
+        Key(long seed, int difficulty, int numConsumables, int numObstacles, int numChasers, int width, int height) {
+            this.seed = seed;
+            this.difficulty = difficulty;
+            this.numConsumables = numConsumables;
+            this.numObstacles = numObstacles;
+            this.numChasers = numChasers;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return seed == key.seed && difficulty == key.difficulty && numConsumables == key.numConsumables
+                    && numObstacles == key.numObstacles && numChasers == key.numChasers
+                    && width == key.width && height == key.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(seed, difficulty, numConsumables, numObstacles, numChasers, width, height);
+        }
+    }
+
+    /**
+     * A cache that drops levels once it holds more than capacity of them.
+     */
+    public LevelCache(int capacity) {
+        this(capacity, null, 0);
+    }
+
+    /**
+     * A cache that moves levels to spillFile once it holds more than capacity of them.
+     *
+     * @param spillFile  created if missing; null turns spilling off
+     * @param spillBytes how much of the file to use
+     */
+    public LevelCache(int capacity, Path spillFile, int spillBytes) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+        this.layouts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, LevelLayout> eldest) {
+                if (size() <= capacity) {
+                    return false;
+                }
+                spill(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+        this.spill = spillFile == null ? null : map(spillFile, spillBytes);
+    }
+
+    /**
+     * The cache GameMenu, HeadlessGame and SaveGame share.
+     */
+    public static LevelCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * The world of the given level for the player: a copy of the cached one if there
+     * is one, else a newly generated one.
+     */
+    public World createWorld(LevelParameters level, Player player) {
+        int difficulty = player == null ? 1 : player.calculateDifficulty();
+        return createWorld(player, level.getSeed(), difficulty, level.getNumConsumables(), level.getNumObstacles(),
+                level.getNumChasers(), World.DEFAULT_WIDTH, World.DEFAULT_HEIGHT);
+    }
+
+    /**
+     * Same as {@code new World(player, seed, difficulty, numConsumables, numObstacles,
+     * numChasers, width, height)}, but copied from the cache when possible.
+     */
+    public World createWorld(Player player, long seed, int difficulty, int numConsumables, int numObstacles,
+                             int numChasers, int width, int height) {
+        Key key = new Key(seed, difficulty, numConsumables, numObstacles, numChasers, width, height);
+        LevelLayout layout = get(key);
+        if (layout != null) {
+            return new World(player, layout);
+        }
+        World world = new World(player, seed, difficulty, numConsumables, numObstacles, numChasers, width, height);
+        put(key, world.toLayout());
+        return world;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return how many of the hits were read back from the spill file
+     */
+    public synchronized long getSpillHits() {
+        return spillHits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized int size() {
+        return layouts.size();
+    }
+
+    /**
+     * Forgets every level, including spilled ones.
+     */
+    public synchronized void clear() {
+        layouts.clear();
+        spilled.clear();
+        spillEnd = 0;
+    }
+
+    private synchronized LevelLayout get(Key key) {
+        LevelLayout layout = layouts.get(key);
+        if (layout == null) {
+            layout = unspill(key);
+            if (layout != null) {
+                spillHits++;
+                layouts.put(key, layout);
+            }
+        }
+        if (layout == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return layout;
+    }
+
+    private synchronized void put(Key key, LevelLayout layout) {
+        layouts.put(key, layout);
+    }
+
+    // Called with the lock held, from removeEldestEntry
+    private void spill(Key key, LevelLayout layout) {
+        if (spill == null || spilled.containsKey(key)) {
+            return;
+        }
+        int size = layout.encodedSize();
+        if (size > spill.capacity()) {
+            return;
+        }
+        if (spillEnd + size > spill.capacity()) {
+            // Full: start over, forgetting everything spilled so far
+            spilled.clear();
+            spillEnd = 0;
+        }
+        ByteBuffer out = spill.duplicate();
+        out.position(spillEnd);
+        if (layout.writeTo(out)) {
+            spilled.put(key, new int[] {spillEnd, out.position() - spillEnd});
+            spillEnd = out.position();
+        }
+    }
+
+    private LevelLayout unspill(Key key) {
+        int[] location = spilled.get(key);
+        if (location == null) {
+            return null;
+        }
+        ByteBuffer in = spill.duplicate();
+        in.position(location[0]);
+        in.limit(location[0] + location[1]);
+        return LevelLayout.readFrom(in);
+    }
+
+    private static MappedByteBuffer map(Path file, int bytes) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes); // Stays valid after closing
+        } catch (IOException e) {
+            System.err.println("Could not map level cache file " + file + ", not spilling: " + e.getMessage());
+            return null;
+        }
+    }
+}
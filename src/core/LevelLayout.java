@@ -0,0 +1,221 @@
+package core;
+
+import tileengine.AvatarTileset;
+import tileengine.TETile;
+import tileengine.TileGrid;
+import tileengine.Tileset;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+/**
+ * A freshly generated world, before anyone has played it, in compact form: tile ids,
+ * the rooms and hallways as plain ints, and the starting positions of the avatar,
+ * door, chasers, consumables and obstacles.
+ *
+ * A layout is never changed after it is captured, so {@link LevelCache} can hand the
+ * same one to any number of worlds ({@link World#World(Player, LevelLayout)} copies
+ * it). Layouts can also be written to and read from a byte buffer, for spilling the
+ * cache to disk.
+ */
+public class LevelLayout {
+    // Tiles a spilled layout may contain, stored by their index here
+    private static final TETile[] KNOWN_TILES = knownTiles();
+
+    final long seed;
+    final int difficulty;
+    final int width;
+    final int height;
+    final TileGrid tiles;
+    final BitSet usedSpaces;
+    final int[] rooms; // x, y, width, height of each room
+    final int[] hallways; // kind, start x, y, middle x, y, end x, y of each hallway
+    final int repairCorridors;
+    final int avatarX;
+    final int avatarY;
+    final int doorX;
+    final int doorY;
+    final boolean populated; // Whether consumables and obstacles were placed at all
+    final int[] chaserCells;
+    final TETile[] chaserTilesUnder;
+    final int[] consumableCells;
+    final ConsumableType[] consumableTypes;
+    final int[] obstacleCells;
+    final ObstacleType[] obstacleTypes;
+
+    static final int PLAIN_HALLWAY = 0;
+    static final int STRAIGHT_HALLWAY = 1;
+    static final int TURN_HALLWAY = 2;
+
+    LevelLayout(long seed, int difficulty, int width, int height, TileGrid tiles, BitSet usedSpaces,
+                int[] rooms, int[] hallways, int repairCorridors, int avatarX, int avatarY, int doorX, int doorY,
+                boolean populated, int[] chaserCells, TETile[] chaserTilesUnder, int[] consumableCells,
+                ConsumableType[] consumableTypes, int[] obstacleCells, ObstacleType[] obstacleTypes) {
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.width = width;
+        this.height = height;
+        this.tiles = tiles;
+        this.usedSpaces = usedSpaces;
+        this.rooms = rooms;
+        this.hallways = hallways;
+        this.repairCorridors = repairCorridors;
+        this.avatarX = avatarX;
+        this.avatarY = avatarY;
+        this.doorX = doorX;
+        this.doorY = doorY;
+        this.populated = populated;
+        this.chaserCells = chaserCells;
+        this.chaserTilesUnder = chaserTilesUnder;
+        this.consumableCells = consumableCells;
+        this.consumableTypes = consumableTypes;
+        this.obstacleCells = obstacleCells;
+        this.obstacleTypes = obstacleTypes;
+    }
+
+    /**
+     * @return an upper bound on the bytes {@link #writeTo} needs
+     */
+    int encodedSize() {
+        return 64 + KNOWN_TILES.length + width * height + usedSpaces.toLongArray().length * 8
+                + 4 * (rooms.length + hallways.length + 2 * chaserCells.length
+                + 2 * consumableCells.length + 2 * obstacleCells.length);
+    }
+
+    /**
+     * Writes the layout at the buffer's position.
+     *
+     * @return false, writing nothing, if it holds a tile that cannot be stored
+     */
+    boolean writeTo(ByteBuffer out) {
+        TETile[] palette = tiles.getPalette();
+        int[] paletteIndices = new int[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            paletteIndices[i] = indexOf(palette[i]);
+            if (paletteIndices[i] < 0) {
+                return false;
+            }
+        }
+        int[] chaserTileIndices = new int[chaserTilesUnder.length];
+        for (int i = 0; i < chaserTilesUnder.length; i++) {
+            chaserTileIndices[i] = indexOf(chaserTilesUnder[i]);
+            if (chaserTileIndices[i] < 0) {
+                return false;
+            }
+        }
+
+        out.putLong(seed);
+        out.putInt(difficulty);
+        out.putInt(width);
+        out.putInt(height);
+        out.put((byte) palette.length);
+        for (int index : paletteIndices) {
+            out.put((byte) index);
+        }
+        out.put(tiles.getIds());
+        long[] used = usedSpaces.toLongArray();
+        out.putInt(used.length);
+        for (long word : used) {
+            out.putLong(word);
+        }
+        putInts(out, rooms);
+        putInts(out, hallways);
+        out.putInt(repairCorridors);
+        out.putInt(avatarX);
+        out.putInt(avatarY);
+        out.putInt(doorX);
+        out.putInt(doorY);
+        out.put((byte) (populated ? 1 : 0));
+        putInts(out, chaserCells);
+        for (int index : chaserTileIndices) {
+            out.put((byte) index);
+        }
+        putInts(out, consumableCells);
+        for (ConsumableType type : consumableTypes) {
+            out.put((byte) type.ordinal());
+        }
+        putInts(out, obstacleCells);
+        for (ObstacleType type : obstacleTypes) {
+            out.put((byte) type.ordinal());
+        }
+        return true;
+    }
+
+    /**
+     * Reads a layout written by {@link #writeTo} at the buffer's position.
+     */
+    static LevelLayout readFrom(ByteBuffer in) {
+        long seed = in.getLong();
+        int difficulty = in.getInt();
+        int width = in.getInt();
+        int height = in.getInt();
+        TETile[] palette = new TETile[in.get() & 0xFF];
+        for (int i = 0; i < palette.length; i++) {
+            palette[i] = KNOWN_TILES[in.get() & 0xFF];
+        }
+        byte[] ids = new byte[width * height];
+        in.get(ids);
+        TileGrid tiles = new TileGrid(width, height, palette, ids, World::isWalkableTile);
+        long[] used = new long[in.getInt()];
+        for (int i = 0; i < used.length; i++) {
+            used[i] = in.getLong();
+        }
+        int[] rooms = getInts(in);
+        int[] hallways = getInts(in);
+        int repairCorridors = in.getInt();
+        int avatarX = in.getInt();
+        int avatarY = in.getInt();
+        int doorX = in.getInt();
+        int doorY = in.getInt();
+        boolean populated = in.get() != 0;
+        int[] chaserCells = getInts(in);
+        TETile[] chaserTilesUnder = new TETile[chaserCells.length];
+        for (int i = 0; i < chaserTilesUnder.length; i++) {
+            chaserTilesUnder[i] = KNOWN_TILES[in.get() & 0xFF];
+        }
+        int[] consumableCells = getInts(in);
+        ConsumableType[] consumableTypes = new ConsumableType[consumableCells.length];
+        for (int i = 0; i < consumableTypes.length; i++) {
+            consumableTypes[i] = ConsumableType.values()[in.get()];
+        }
+        int[] obstacleCells = getInts(in);
+        ObstacleType[] obstacleTypes = new ObstacleType[obstacleCells.length];
+        for (int i = 0; i < obstacleTypes.length; i++) {
+            obstacleTypes[i] = ObstacleType.values()[in.get()];
+        }
+        return new LevelLayout(seed, difficulty, width, height, tiles, BitSet.valueOf(used), rooms, hallways,
+                repairCorridors, avatarX, avatarY, doorX, doorY, populated, chaserCells, chaserTilesUnder,
+                consumableCells, consumableTypes, obstacleCells, obstacleTypes);
+    }
+
+    private static void putInts(ByteBuffer out, int[] values) {
+        out.putInt(values.length);
+        for (int value : values) {
+            out.putInt(value);
+        }
+    }
+
+    private static int[] getInts(ByteBuffer in) {
+        int[] values = new int[in.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.getInt();
+        }
+        return values;
+    }
+
+    private static int indexOf(TETile tile) {
+        for (int i = 0; i < KNOWN_TILES.length; i++) {
+            if (KNOWN_TILES[i] == tile) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static TETile[] knownTiles() {
+        TETile[] known = new TETile[Tileset.ALL.length + AvatarTileset.ALL.length];
+        System.arraycopy(Tileset.ALL, 0, known, 0, Tileset.ALL.length);
+        System.arraycopy(AvatarTileset.ALL, 0, known, Tileset.ALL.length, AvatarTileset.ALL.length);
+        return known;
+    }
+}
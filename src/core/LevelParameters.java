@@ -0,0 +1,121 @@
+package core;
+
+/**
+ * Everything needed to generate one level: its seed and how many consumables,
+ * obstacles and chasers it holds. GameMenu and HeadlessGame both build their
+ * levels from here, so the same seed gives the same level in either.
+ */
+public class LevelParameters {
+    public static final int POINTS_PER_LEVEL = 100;
+    // Seeds tried for a level before settling for one the avatar cannot finish
+    private static final int MAX_SEED_ATTEMPTS = 8;
+
+    private final long seed;
+    private final int level;
+    private final int numConsumables;
+    private final int numObstacles;
+    private final int numChasers;
+
+    public LevelParameters(long seed, int level, int numConsumables, int numObstacles, int numChasers) {
+        this.seed = seed;
+        this.level = level;
+        this.numConsumables = numConsumables;
+        this.numObstacles = numObstacles;
+        this.numChasers = numChasers;
+    }
+
+    /**
+     * The level a new game starts on.
+     */
+    public static LevelParameters firstLevel(long seed) {
+        return new LevelParameters(seed, 1, 10, 10, chasersForLevel(1));
+    }
+
+    /**
+     * The level reached by leaving the previous one through its door.
+     */
+    public static LevelParameters nextLevel(long previousSeed, int level) {
+        int numConsumables = 3 + level; // More consumables in higher levels
+        int numObstacles = 10 + (level * 9); // More obstacles in higher levels
+        return new LevelParameters(previousSeed + level, level, numConsumables, numObstacles,
+                chasersForLevel(level));
+    }
+
+    /**
+     * A fresh attempt at the given level after being caught.
+     */
+    public static LevelParameters retry(long seed, int level) {
+        int numConsumables = 10 + (level - 1) * 2; // Scale consumables with level
+        int numObstacles = 5 + (level - 1); // Scale obstacles with level
+        return new LevelParameters(seed, level, numConsumables, numObstacles, chasersForLevel(level));
+    }
+
+    /**
+     * The next attempt at a level after being caught on the given seed. The new seed
+     * is derived from the failed one, so a run of retries replays exactly.
+     */
+    public static LevelParameters retryAfter(long failedSeed, int level) {
+        return retry(RandomStream.RETRY.seedFor(failedSeed), level);
+    }
+
+    /**
+     * Milliseconds between chaser steps on the given level: every 500 ms on the first
+     * level, then every 1000 ms.
+     */
+    public static long chaserMoveInterval(int level) {
+        return level <= 1 ? 500 : 1000;
+    }
+
+    // One chaser on the first two levels, then another one every second level
+    public static int chasersForLevel(int level) {
+        return 1 + (level - 1) / 2;
+    }
+
+    /**
+     * The level's world for the player, copied from {@link LevelCache#shared()} if it
+     * was generated recently. If the avatar could never reach the door, the seed is
+     * skipped for the next one in its retry chain (see {@link #retryAfter}), so the
+     * same parameters still always give the same world. How many seeds were skipped
+     * is kept in {@link World#getSkippedSeeds()}, for the caller to log if it wants.
+     */
+    public World createWorld(Player player) {
+        LevelParameters parameters = this;
+        World world = LevelCache.shared().createWorld(parameters, player);
+        int skipped = 0;
+        while (skipped + 1 < MAX_SEED_ATTEMPTS && !world.checkReachability().isWinnable()) {
+            parameters = new LevelParameters(RandomStream.RETRY.seedFor(parameters.seed), level, numConsumables,
+                    numObstacles, numChasers);
+            world = LevelCache.shared().createWorld(parameters, player);
+            skipped++;
+        }
+        world.setSkippedSeeds(skipped);
+        return world;
+    }
+
+    /**
+     * Generates the level's world from scratch, bypassing the cache.
+     */
+    public World generateWorld(Player player) {
+        return new World(player, seed, numConsumables, numObstacles, numChasers);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public int getNumConsumables() {
+        return numConsumables;
+    }
+
+    public int getNumObstacles() {
+        return numObstacles;
+    }
+
+    public int getNumChasers() {
+        return numChasers;
+    }
+}
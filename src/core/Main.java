@@ -11,6 +11,7 @@ public class Main {
 
         // build your own world!
         // main menu with options. navigate via keyboard
+        AudioManager.getInstance(); // Sounds load in the background while the menu comes up
         GameMenu gameMenu = new GameMenu();
         gameMenu.createGameMenu();
     }
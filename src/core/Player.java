@@ -32,6 +32,11 @@ public class Player {
     }
 
     public int calculateDifficulty() {
+        return difficultyForPoints(points);
+    }
+
+    // The difficulty a player with the given points has
+    public static int difficultyForPoints(int points) {
         if (points < 50) {
             return 1; // Easy
         } else if (points < 150) {
@@ -0,0 +1,31 @@
+package core;
+
+import utils.RandomUtils;
+
+import java.util.Random;
+
+/**
+ * The independent random streams a level's seed is split into. Each part of
+ * generation, and the randomness of play, draws from its own stream, so a seed
+ * always gives the same world no matter how many numbers the other parts used.
+ *
+ * LAYOUT uses the seed unchanged, so rooms and hallways are the same as in worlds
+ * generated before the seed was split.
+ */
+public enum RandomStream {
+    LAYOUT,
+    AVATAR,
+    DOOR,
+    CONSUMABLES,
+    OBSTACLES,
+    RUNTIME, // Chaser wandering and teleport destinations during play
+    RETRY; // The seed of the next attempt at a level
+
+    public long seedFor(long seed) {
+        return this == LAYOUT ? seed : RandomUtils.splitSeed(seed, ordinal());
+    }
+
+    public Random create(long seed) {
+        return new Random(seedFor(seed));
+    }
+}
@@ -0,0 +1,80 @@
+package core;
+
+import java.awt.Point;
+import java.util.List;
+
+/**
+ * What the avatar can reach in a world, from {@link World#checkReachability()}: how
+ * many open cells lie outside its region, whether it can get to the door, and which
+ * consumables and obstacles it can never walk to.
+ */
+public class ReachabilityReport {
+    private final int regions;
+    private final int reachableCells;
+    private final int unreachableCells;
+    private final boolean doorReachable;
+    private final List<Point> unreachableConsumables;
+    private final List<Point> unreachableObstacles;
+    private final int repairCorridors;
+
+    public ReachabilityReport(int regions, int reachableCells, int unreachableCells, boolean doorReachable,
+                              List<Point> unreachableConsumables, List<Point> unreachableObstacles,
+                              int repairCorridors) {
+        this.regions = regions;
+        this.reachableCells = reachableCells;
+        this.unreachableCells = unreachableCells;
+        this.doorReachable = doorReachable;
+        this.unreachableConsumables = unreachableConsumables;
+        this.unreachableObstacles = unreachableObstacles;
+        this.repairCorridors = repairCorridors;
+    }
+
+    /**
+     * @return the number of separate open regions; 1 for a fully connected world
+     */
+    public int getRegions() {
+        return regions;
+    }
+
+    public int getReachableCells() {
+        return reachableCells;
+    }
+
+    public int getUnreachableCells() {
+        return unreachableCells;
+    }
+
+    public boolean isDoorReachable() {
+        return doorReachable;
+    }
+
+    public List<Point> getUnreachableConsumables() {
+        return unreachableConsumables;
+    }
+
+    public List<Point> getUnreachableObstacles() {
+        return unreachableObstacles;
+    }
+
+    /**
+     * @return how many corridors generation had to add to join cut-off regions
+     */
+    public int getRepairCorridors() {
+        return repairCorridors;
+    }
+
+    /**
+     * A level can be finished only if the avatar can walk to the door.
+     */
+    public boolean isWinnable() {
+        return doorReachable;
+    }
+
+    @Override
+    public String toString() {
+        return regions + " regions, " + reachableCells + " cells reachable, " + unreachableCells
+                + " unreachable, door " + (doorReachable ? "reachable" : "unreachable") + ", "
+                + unreachableConsumables.size() + " consumables and " + unreachableObstacles.size()
+                + " obstacles unreachable, " + repairCorridors + " corridors added";
+    }
+}
@@ -0,0 +1,189 @@
+package core;
+
+import java.util.Arrays;
+
+/**
+ * The connected regions of a grid: every passable cell gets the number of the
+ * 4-connected region it belongs to, found by one flood fill per region.
+ *
+ * Labelling visits each cell once, so checking a whole level costs O(width * height)
+ * with two int arrays and no per-cell objects. {@link #bridgeFrom} then finds the
+ * shortest run of impassable cells that would join a region to another, which is
+ * what the world carves to reconnect a cut-off part of the map.
+ */
+public class RegionMap {
+    public static final int NONE = -1;
+    private static final int UNLABELLED = -2; // Passable, region not known yet
+
+    private static final int[] DX = { 0, 1, 0, -1 }; // Up, Right, Down, Left
+    private static final int[] DY = { 1, 0, -1, 0 };
+
+    private final int width;
+    private final int height;
+    private final GridPathfinder.Passability passability;
+
+    private final int[] labels; // Region per cell id, or NONE if impassable
+    private final int[] queue;
+    private int[] parent; // For bridgeFrom, allocated on first use
+    private int[] sizes = new int[8];
+    private int regionCount = 0;
+
+    public RegionMap(int width, int height, GridPathfinder.Passability passability) {
+        this.width = width;
+        this.height = height;
+        this.passability = passability;
+        labels = new int[width * height];
+        queue = new int[width * height];
+    }
+
+    /**
+     * Labels every cell from scratch; call again after the grid changes.
+     */
+    public void label() {
+        // Ask about each cell once; the fills below only read the answers
+        for (int x = 0, cell = 0; x < width; x++) {
+            for (int y = 0; y < height; y++, cell++) {
+                labels[cell] = passability.isPassable(x, y) ? UNLABELLED : NONE;
+            }
+        }
+        regionCount = 0;
+        for (int start = 0; start < labels.length; start++) {
+            if (labels[start] != UNLABELLED) {
+                continue;
+            }
+            if (regionCount == sizes.length) {
+                sizes = Arrays.copyOf(sizes, regionCount * 2);
+            }
+            sizes[regionCount] = fill(start, regionCount);
+            regionCount++;
+        }
+    }
+
+    // Flood fills the region around start, returning its size
+    private int fill(int start, int region) {
+        int head = 0;
+        int tail = 0;
+        labels[start] = region;
+        queue[tail++] = start;
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell / height;
+            int y = cell % height;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (nx < 0 || nx >= width || ny < 0 || ny >= height) {
+                    continue;
+                }
+                int next = nx * height + ny;
+                if (labels[next] == UNLABELLED) {
+                    labels[next] = region;
+                    queue[tail++] = next;
+                }
+            }
+        }
+        return tail;
+    }
+
+    public int regionCount() {
+        return regionCount;
+    }
+
+    /**
+     * @return the region of (x, y), or {@link #NONE} if it is impassable or off the grid
+     */
+    public int regionAt(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            return NONE;
+        }
+        return labels[x * height + y];
+    }
+
+    public int regionSize(int region) {
+        return sizes[region];
+    }
+
+    /**
+     * @return the number of passable cells in all regions
+     */
+    public int passableCells() {
+        int total = 0;
+        for (int i = 0; i < regionCount; i++) {
+            total += sizes[i];
+        }
+        return total;
+    }
+
+    /**
+     * @return the region with the most cells, or {@link #NONE} if there are none
+     */
+    public int largestRegion() {
+        int largest = NONE;
+        for (int i = 0; i < regionCount; i++) {
+            if (largest == NONE || sizes[i] > sizes[largest]) {
+                largest = i;
+            }
+        }
+        return largest;
+    }
+
+    /**
+     * Finds the fewest impassable cells that, made passable, would join the region to
+     * another one. The path never uses the outermost row or column of the grid, so
+     * whatever is carved along it can still be walled in.
+     *
+     * @return the cell ids of the path, from the region outwards, or null if no other
+     * region can be reached
+     */
+    public int[] bridgeFrom(int region) {
+        if (parent == null) {
+            parent = new int[labels.length];
+        }
+        Arrays.fill(parent, NONE);
+
+        // Breadth-first search out of every cell of the region at once
+        int head = 0;
+        int tail = 0;
+        for (int cell = 0; cell < labels.length; cell++) {
+            if (labels[cell] == region) {
+                parent[cell] = cell;
+                queue[tail++] = cell;
+            }
+        }
+        while (head < tail) {
+            int cell = queue[head++];
+            int x = cell / height;
+            int y = cell % height;
+            for (int d = 0; d < 4; d++) {
+                int nx = x + DX[d];
+                int ny = y + DY[d];
+                if (nx < 1 || nx >= width - 1 || ny < 1 || ny >= height - 1) {
+                    continue;
+                }
+                int next = nx * height + ny;
+                if (parent[next] != NONE) {
+                    continue;
+                }
+                parent[next] = cell;
+                if (labels[next] >= 0) {
+                    // Reached another region; the path is the impassable cells behind it
+                    return pathTo(cell);
+                }
+                queue[tail++] = next;
+            }
+        }
+        return null;
+    }
+
+    private int[] pathTo(int last) {
+        int length = 0;
+        for (int cell = last; labels[cell] == NONE; cell = parent[cell]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int cell = last, i = length - 1; labels[cell] == NONE; cell = parent[cell], i--) {
+            path[i] = cell;
+        }
+        return path;
+    }
+}
@@ -0,0 +1,700 @@
+package core;
+
+
+import utils.FileUtils;
+
+import java.awt.Point;
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Snapshot of everything a save file holds, independent of any UI.
+ *
+ * GameMenu and HeadlessGame both save by capturing a snapshot and encoding it,
+ * and load by reading a snapshot and restoring a World from it.
+ *
+ * Saves are written in a compact binary format ({@link #encode()}):
+ *
+ * <pre>
+ * magic "MZSV" | version byte | fields | CRC32 of everything before it
+ * </pre>
+ *
+ * Coordinates and counts are unsigned varints (one byte each on this map), signed
+ * numbers are zigzag varints, and obstacle and consumable types are enum ordinals.
+ * The world's difficulty and size are stored, so a restored layout does not depend
+ * on the points the player had when saving. The cells explored in dark mode are
+ * stored as alternating run lengths of unexplored and explored cells (a few bytes
+ * even on large maps). The older line-based text format ({@link #serialize()}) is still read, so existing
+ * saves carry over and are rewritten in binary on the next save.
+ */
+public class SaveGame {
+    public static final String DEFAULT_DIR = "saves";
+    public static final String FILE_SUFFIX = "_save.dat";
+    public static final String LEGACY_FILE_SUFFIX = "_save.txt";
+    public static final String AUTO_SAVE_PREFIX = "auto_";
+    public static final int MAX_AUTO_SAVES = 3;
+
+    private static final byte[] MAGIC = {'M', 'Z', 'S', 'V'};
+    private static final int FORMAT_VERSION = 1;
+    private static final int FLAG_DARK_MODE = 1;
+    private static final int FLAG_INVISIBLE = 2;
+
+    String username;
+    int points;
+    int avatarChoice;
+    long seed;
+    int difficulty;
+    int width = World.DEFAULT_WIDTH;
+    int height = World.DEFAULT_HEIGHT;
+    int avatarX;
+    int avatarY;
+    int level;
+    int doorX;
+    int doorY;
+    boolean darkMode;
+    int visionRadius;
+    boolean invisible;
+    long remainingInvisibility;
+    final List<Point> torches = new ArrayList<>();
+    final List<Point> consumablePositions = new ArrayList<>();
+    final List<ConsumableType> consumableTypes = new ArrayList<>();
+    final List<Point> obstaclePositions = new ArrayList<>();
+    final List<ObstacleType> obstacleTypes = new ArrayList<>();
+    final List<Point> chasers = new ArrayList<>(); // The first one is always present
+    BitSet explored = new BitSet(); // Cells seen in dark mode, by cell id
+    final List<String> skippedSaves = new ArrayList<>(); // Corrupt files read() passed over
+
+    /**
+     * @return the save file of the given user inside dir
+     */
+    public static String fileName(String dir, String username) {
+        return dir + "/" + username + FILE_SUFFIX;
+    }
+
+    /**
+     * @return the text save file the given user had before the binary format
+     */
+    public static String legacyFileName(String dir, String username) {
+        return dir + "/" + username + LEGACY_FILE_SUFFIX;
+    }
+
+    /**
+     * @return one of the MAX_AUTO_SAVES rotating auto-save files of the given user
+     */
+    public static String autoSaveFileName(String dir, String username, int generation) {
+        return dir + "/" + AUTO_SAVE_PREFIX + username + "_" + generation + FILE_SUFFIX;
+    }
+
+    /**
+     * @return whether the given user has a manual save, an auto-save or an old text save
+     */
+    public static boolean exists(String dir, String username) {
+        for (File file : binaryFiles(dir, username)) {
+            if (file.exists()) {
+                return true;
+            }
+        }
+        return FileUtils.fileExists(legacyFileName(dir, username));
+    }
+
+    /**
+     * Reads the most recent save of the given user: the newest of the manual save and
+     * the auto-saves, skipping any that are corrupt, or else the old text file. The
+     * files skipped are listed by {@link #getSkippedSaves()} of the returned save.
+     *
+     * @return the save, or null if the user has none
+     * @throws IllegalArgumentException if every save file of the user is corrupt
+     */
+    public static SaveGame read(String dir, String username) {
+        File[] files = binaryFiles(dir, username);
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified).reversed());
+        IllegalArgumentException firstError = null;
+        List<String> skipped = new ArrayList<>();
+        for (File file : files) {
+            if (!file.exists()) {
+                continue;
+            }
+            try {
+                SaveGame save = decode(FileUtils.readBytes(file.getPath()));
+                save.skippedSaves.addAll(skipped);
+                return save;
+            } catch (IllegalArgumentException e) {
+                skipped.add(file + ": " + e.getMessage());
+                if (firstError == null) {
+                    firstError = e;
+                }
+            }
+        }
+        String textFile = legacyFileName(dir, username);
+        if (FileUtils.fileExists(textFile)) {
+            SaveGame save = parse(FileUtils.readFile(textFile));
+            save.skippedSaves.addAll(skipped);
+            return save;
+        }
+        if (firstError != null) {
+            throw firstError;
+        }
+        return null;
+    }
+
+    // The manual save followed by every auto-save slot
+    private static File[] binaryFiles(String dir, String username) {
+        File[] files = new File[1 + MAX_AUTO_SAVES];
+        files[0] = new File(fileName(dir, username));
+        for (int i = 0; i < MAX_AUTO_SAVES; i++) {
+            files[1 + i] = new File(autoSaveFileName(dir, username, i));
+        }
+        return files;
+    }
+
+    /**
+     * Captures the current state of a game.
+     */
+    public static SaveGame capture(Player player, World world, int level) {
+        SaveGame save = new SaveGame();
+        save.username = player.getUsername();
+        save.points = player.getPoints();
+        save.avatarChoice = player.getAvatarChoice();
+        save.seed = world.getSeed();
+        save.difficulty = world.getDifficulty();
+        save.width = world.getWidth();
+        save.height = world.getHeight();
+        save.avatarX = world.getAvatarX();
+        save.avatarY = world.getAvatarY();
+        save.level = level;
+        save.doorX = world.getDoorX();
+        save.doorY = world.getDoorY();
+        save.darkMode = world.isDarkMode();
+        save.visionRadius = world.getVisionRadius();
+
+        // Use pauseInvisibility to determine remaining duration
+        player.pauseInvisibility();
+        save.invisible = player.isInvisible();
+        save.remainingInvisibility = player.getRemainingInvisibilityDuration();
+
+        save.torches.addAll(world.getTorchPositions());
+
+        // Only consumables that have not been picked up yet, read from the world's
+        // records rather than the map so that ones under a chaser are kept too
+        for (Map.Entry<Point, ConsumableType> entry : world.getConsumableMap().entrySet()) {
+            save.consumablePositions.add(entry.getKey());
+            save.consumableTypes.add(entry.getValue());
+        }
+
+        for (Map.Entry<Point, ObstacleType> entry : world.getObstacleMap().entrySet()) {
+            save.obstaclePositions.add(entry.getKey());
+            save.obstacleTypes.add(entry.getValue());
+        }
+
+        for (Chaser chaser : world.getChasers()) {
+            save.chasers.add(new Point(chaser.getX(), chaser.getY()));
+        }
+        save.explored = world.getExploredCells();
+        return save;
+    }
+
+    /**
+     * Applies the saved points, avatar and invisibility to the player, then rebuilds
+     * the saved world around it.
+     */
+    public World restore(Player player) {
+        if (invisible) {
+            player.setInvisibilityState(true, remainingInvisibility);
+            player.resumeInvisibility();
+        }
+        player.setPoints(points);
+        player.setAvatarChoice(avatarChoice);
+
+        // Create new world with seed but don't populate items yet
+        World world = LevelCache.shared().createWorld(player, seed, difficulty, 0, 0, 1, width, height);
+
+        // Set positions
+        world.setAvatarToNewPosition(avatarX, avatarY);
+        world.setDoorPosition(doorX, doorY);
+        world.setDarkMode(darkMode, visionRadius);
+
+        for (Point p : torches) {
+            world.addTorch(p.x, p.y);
+        }
+        for (int i = 0; i < consumablePositions.size(); i++) {
+            Point p = consumablePositions.get(i);
+            world.addConsumable(p.x, p.y, consumableTypes.get(i));
+        }
+        for (int i = 0; i < obstaclePositions.size(); i++) {
+            Point p = obstaclePositions.get(i);
+            world.addObstacle(p.x, p.y, obstacleTypes.get(i));
+        }
+
+        // Chasers go last, so each one keeps whatever was restored under it
+        if (!chasers.isEmpty()) {
+            world.setChaserToNewPosition(chasers.get(0).x, chasers.get(0).y);
+        }
+        for (int i = 1; i < chasers.size(); i++) {
+            world.addChaser(chasers.get(i).x, chasers.get(i).y);
+        }
+        world.setExploredCells(explored);
+        return world;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public int getPoints() {
+        return points;
+    }
+
+    public int getAvatarChoice() {
+        return avatarChoice;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public boolean isInvisible() {
+        return invisible;
+    }
+
+    /**
+     * @return the corrupt save files, newest first, that {@link #read} passed over
+     *         before finding this one, each with the reason it was rejected
+     */
+    public List<String> getSkippedSaves() {
+        return skippedSaves;
+    }
+
+    /**
+     * Writes the snapshot in the binary save file format.
+     */
+    public byte[] encode() {
+        Writer out = new Writer(64 + username.length() * 3
+                + 6 * (torches.size() + consumablePositions.size() + obstaclePositions.size() + chasers.size()));
+        out.bytes(MAGIC);
+        out.u8(FORMAT_VERSION);
+
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        out.varint(name.length);
+        out.bytes(name);
+        out.zigzag(points);
+        out.varint(avatarChoice);
+        out.zigzag(seed);
+        out.varint(difficulty);
+        out.varint(width);
+        out.varint(height);
+        out.varint(level);
+        out.varint(avatarX);
+        out.varint(avatarY);
+        out.varint(doorX);
+        out.varint(doorY);
+        out.u8((darkMode ? FLAG_DARK_MODE : 0) | (invisible ? FLAG_INVISIBLE : 0));
+        out.varint(visionRadius);
+        out.zigzag(remainingInvisibility);
+
+        out.points(torches);
+        out.varint(consumablePositions.size());
+        for (int i = 0; i < consumablePositions.size(); i++) {
+            out.varint(consumablePositions.get(i).x);
+            out.varint(consumablePositions.get(i).y);
+            out.varint(consumableTypes.get(i).ordinal());
+        }
+        out.varint(obstaclePositions.size());
+        for (int i = 0; i < obstaclePositions.size(); i++) {
+            out.varint(obstaclePositions.get(i).x);
+            out.varint(obstaclePositions.get(i).y);
+            out.varint(obstacleTypes.get(i).ordinal());
+        }
+        out.points(chasers);
+        out.runs(explored, width * height);
+
+        CRC32 crc = new CRC32();
+        crc.update(out.buffer, 0, out.size);
+        out.u32((int) crc.getValue());
+        return out.toByteArray();
+    }
+
+    /**
+     * Reads a save written by {@link #encode()}.
+     *
+     * @throws IllegalArgumentException if the data is not a valid save, fails its
+     *         checksum, comes from another version of the game, or places anything
+     *         off the saved map
+     */
+    public static SaveGame decode(byte[] data) {
+        if (data.length < MAGIC.length + 5 || !Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length)) {
+            throw new IllegalArgumentException("Not a save file");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, data.length - 4);
+        Reader in = new Reader(data, data.length - 4);
+        if ((int) crc.getValue() != in.u32At(data.length - 4)) {
+            throw new IllegalArgumentException("Save file is corrupt (checksum mismatch)");
+        }
+
+        in.pos = MAGIC.length;
+        int version = in.u8();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Unsupported save file version " + version);
+        }
+
+        SaveGame save = new SaveGame();
+        int nameLength = in.varint();
+        save.username = new String(data, in.skip(nameLength), nameLength, StandardCharsets.UTF_8);
+        save.points = (int) in.zigzag();
+        save.avatarChoice = in.varint();
+        save.seed = in.zigzag();
+        save.difficulty = in.varint();
+        save.width = in.varint();
+        save.height = in.varint();
+        save.level = in.varint();
+        save.avatarX = in.varint();
+        save.avatarY = in.varint();
+        save.doorX = in.varint();
+        save.doorY = in.varint();
+        int flags = in.u8();
+        save.darkMode = (flags & FLAG_DARK_MODE) != 0;
+        save.invisible = (flags & FLAG_INVISIBLE) != 0;
+        save.visionRadius = in.varint();
+        save.remainingInvisibility = in.zigzag();
+
+        in.points(save.torches);
+        ConsumableType[] consumableTypes = ConsumableType.values();
+        int numConsumables = in.varint();
+        for (int i = 0; i < numConsumables; i++) {
+            save.consumablePositions.add(new Point(in.varint(), in.varint()));
+            save.consumableTypes.add(consumableTypes[in.ordinal(consumableTypes.length)]);
+        }
+        ObstacleType[] obstacleTypes = ObstacleType.values();
+        int numObstacles = in.varint();
+        for (int i = 0; i < numObstacles; i++) {
+            save.obstaclePositions.add(new Point(in.varint(), in.varint()));
+            save.obstacleTypes.add(obstacleTypes[in.ordinal(obstacleTypes.length)]);
+        }
+        in.points(save.chasers);
+        save.explored = in.runs(save.width * save.height);
+        save.checkBounds();
+        return save;
+    }
+
+    /**
+     * Writes the snapshot in the line-based save file format used before the binary
+     * one. Kept for migrating and inspecting saves.
+     */
+    public String serialize() {
+        StringBuilder data = new StringBuilder();
+
+        // Basic game state
+        Point firstChaser = chasers.isEmpty() ? new Point(0, 0) : chasers.get(0);
+        data.append(username).append("\n")
+                .append(points).append("\n")
+                .append(avatarChoice).append("\n")
+                .append(seed).append("\n")
+                .append(avatarX).append("\n")
+                .append(avatarY).append("\n")
+                .append(firstChaser.x).append("\n")
+                .append(firstChaser.y).append("\n")
+                .append(level).append("\n");
+
+        data.append(doorX).append(",").append(doorY).append("\n");
+        data.append(darkMode).append(",").append(visionRadius).append("\n");
+        data.append(invisible).append(",").append(remainingInvisibility).append("\n");
+
+        data.append(torches.size()).append("\n");
+        for (Point p : torches) {
+            data.append(p.x).append(",").append(p.y).append("\n");
+        }
+
+        data.append(consumablePositions.size()).append("\n");
+        for (int i = 0; i < consumablePositions.size(); i++) {
+            Point p = consumablePositions.get(i);
+            data.append(p.x).append(",").append(p.y).append(",").append(consumableTypes.get(i).getName())
+                    .append("\n");
+        }
+
+        data.append(obstaclePositions.size()).append("\n");
+        for (int i = 0; i < obstaclePositions.size(); i++) {
+            Point p = obstaclePositions.get(i);
+            data.append(p.x).append(",").append(p.y).append(",").append(obstacleTypes.get(i).name()).append("\n");
+        }
+
+        // Chasers beyond the first, whose position is stored above
+        data.append(Math.max(0, chasers.size() - 1)).append("\n");
+        for (int i = 1; i < chasers.size(); i++) {
+            data.append(chasers.get(i).x).append(",").append(chasers.get(i).y).append("\n");
+        }
+        return data.toString();
+    }
+
+    /**
+     * Parses a text save file written by {@link #serialize()}.
+     *
+     * @throws IllegalArgumentException if the contents are not a valid save or place
+     *         anything off the map
+     */
+    public static SaveGame parse(String contents) {
+        try {
+            String[] lines = contents.split("\n");
+            int currentLine = 0;
+            SaveGame save = new SaveGame();
+
+            save.username = lines[currentLine++];
+            save.points = Integer.parseInt(lines[currentLine++]);
+            save.avatarChoice = Integer.parseInt(lines[currentLine++]);
+            save.seed = Long.parseLong(lines[currentLine++]);
+            save.difficulty = Player.difficultyForPoints(save.points);
+            save.avatarX = Integer.parseInt(lines[currentLine++]);
+            save.avatarY = Integer.parseInt(lines[currentLine++]);
+            int chaserX = Integer.parseInt(lines[currentLine++]);
+            int chaserY = Integer.parseInt(lines[currentLine++]);
+            save.chasers.add(new Point(chaserX, chaserY));
+            save.level = Integer.parseInt(lines[currentLine++]);
+
+            String[] doorPos = lines[currentLine++].split(",");
+            save.doorX = Integer.parseInt(doorPos[0]);
+            save.doorY = Integer.parseInt(doorPos[1]);
+
+            String[] darkModeData = lines[currentLine++].split(",");
+            save.darkMode = Boolean.parseBoolean(darkModeData[0]);
+            save.visionRadius = Integer.parseInt(darkModeData[1]);
+
+            String[] invisibilityData = lines[currentLine++].split(",");
+            save.invisible = Boolean.parseBoolean(invisibilityData[0]);
+            save.remainingInvisibility = Long.parseLong(invisibilityData[1]);
+
+            int numTorches = Integer.parseInt(lines[currentLine++]);
+            for (int i = 0; i < numTorches; i++) {
+                String[] torchPos = lines[currentLine++].split(",");
+                save.torches.add(new Point(Integer.parseInt(torchPos[0]), Integer.parseInt(torchPos[1])));
+            }
+
+            int numConsumables = Integer.parseInt(lines[currentLine++]);
+            for (int i = 0; i < numConsumables; i++) {
+                String[] consumableData = lines[currentLine++].split(",");
+                save.consumablePositions.add(new Point(Integer.parseInt(consumableData[0]),
+                        Integer.parseInt(consumableData[1])));
+                save.consumableTypes.add(ConsumableType.fromName(consumableData[2]));
+            }
+
+            int numObstacles = Integer.parseInt(lines[currentLine++]);
+            for (int i = 0; i < numObstacles; i++) {
+                String[] obstacleData = lines[currentLine++].split(",");
+                save.obstaclePositions.add(new Point(Integer.parseInt(obstacleData[0]),
+                        Integer.parseInt(obstacleData[1])));
+                save.obstacleTypes.add(ObstacleType.valueOf(obstacleData[2]));
+            }
+
+            // Saves from before multi-chaser levels stop here
+            if (currentLine < lines.length) {
+                int numExtraChasers = Integer.parseInt(lines[currentLine++]);
+                for (int i = 0; i < numExtraChasers; i++) {
+                    String[] chaserPos = lines[currentLine++].split(",");
+                    save.chasers.add(new Point(Integer.parseInt(chaserPos[0]), Integer.parseInt(chaserPos[1])));
+                }
+            }
+            save.checkBounds();
+            return save;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed save file: " + e.getMessage(), e);
+        }
+    }
+
+    // Rejects a world size restore() cannot build, or a position off that world
+    private void checkBounds() {
+        if (width < World.MIN_WIDTH || height < World.MIN_HEIGHT
+                || width > World.MAX_SIZE || height > World.MAX_SIZE) {
+            throw new IllegalArgumentException("Saved world size " + width + "x" + height + " is out of range");
+        }
+        checkOnMap("avatar", avatarX, avatarY);
+        checkOnMap("door", doorX, doorY);
+        checkOnMap("torch", torches);
+        checkOnMap("consumable", consumablePositions);
+        checkOnMap("obstacle", obstaclePositions);
+        checkOnMap("chaser", chasers);
+    }
+
+    private void checkOnMap(String what, List<Point> points) {
+        for (Point p : points) {
+            checkOnMap(what, p.x, p.y);
+        }
+    }
+
+    private void checkOnMap(String what, int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IllegalArgumentException("Saved " + what + " at (" + x + ", " + y + ") is off the "
+                    + width + "x" + height + " map");
+        }
+    }
+
+    // Growable byte buffer for encode()
+    private static class Writer {
+        byte[] buffer;
+        int size;
+
+        Writer(int capacity) {
+            buffer = new byte[capacity];
+        }
+
+        void u8(int value) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void u32(int value) {
+            u8(value >>> 24);
+            u8(value >>> 16);
+            u8(value >>> 8);
+            u8(value);
+        }
+
+        void bytes(byte[] values) {
+            for (byte value : values) {
+                u8(value);
+            }
+        }
+
+        // Seven bits per byte, low bits first; the high bit marks that more follow
+        void varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                u8((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            u8((int) value);
+        }
+
+        // Maps small negative numbers to small varints: 0, -1, 1, -2, ... become 0, 1, 2, 3, ...
+        void zigzag(long value) {
+            varint((value << 1) ^ (value >> 63));
+        }
+
+        void points(List<Point> points) {
+            varint(points.size());
+            for (Point p : points) {
+                varint(p.x);
+                varint(p.y);
+            }
+        }
+
+        // Bits 0 to length - 1 as alternating run lengths, starting with a run of clear bits
+        void runs(BitSet bits, int length) {
+            int count = 0;
+            for (int i = 0; i < length; count++) {
+                i = runEnd(bits, i, count % 2 == 1, length);
+            }
+            varint(count);
+            for (int i = 0, run = 0; i < length; run++) {
+                int end = runEnd(bits, i, run % 2 == 1, length);
+                varint(end - i);
+                i = end;
+            }
+        }
+
+        private static int runEnd(BitSet bits, int from, boolean set, int length) {
+            int end = set ? bits.nextClearBit(from) : bits.nextSetBit(from);
+            return end < 0 || end > length ? length : end;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    // Bounds-checked reader for decode(); running past the end means a malformed save
+    private static class Reader {
+        final byte[] data;
+        final int end;
+        int pos;
+
+        Reader(byte[] data, int end) {
+            this.data = data;
+            this.end = end;
+        }
+
+        int u8() {
+            if (pos >= end) {
+                throw new IllegalArgumentException("Save file is truncated");
+            }
+            return data[pos++] & 0xFF;
+        }
+
+        int u32At(int offset) {
+            return (data[offset] & 0xFF) << 24 | (data[offset + 1] & 0xFF) << 16
+                    | (data[offset + 2] & 0xFF) << 8 | (data[offset + 3] & 0xFF);
+        }
+
+        // Returns the current position and moves past count bytes
+        int skip(int count) {
+            if (count > end - pos) {
+                throw new IllegalArgumentException("Save file is truncated");
+            }
+            int start = pos;
+            pos += count;
+            return start;
+        }
+
+        long varlong() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                int b = u8();
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed number in save file");
+        }
+
+        int varint() {
+            long value = varlong();
+            if (value < 0 || value > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Malformed number in save file");
+            }
+            return (int) value;
+        }
+
+        long zigzag() {
+            long value = varlong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int ordinal(int count) {
+            int ordinal = varint();
+            if (ordinal >= count) {
+                throw new IllegalArgumentException("Unknown type " + ordinal + " in save file");
+            }
+            return ordinal;
+        }
+
+        BitSet runs(int length) {
+            BitSet bits = new BitSet(length);
+            int count = varint();
+            int position = 0;
+            for (int run = 0; run < count; run++) {
+                int runLength = varint();
+                if (runLength > length - position) {
+                    throw new IllegalArgumentException("Explored cells run past the end of the map");
+                }
+                if (run % 2 == 1) {
+                    bits.set(position, position + runLength);
+                }
+                position += runLength;
+            }
+            return bits;
+        }
+
+        void points(List<Point> points) {
+            int count = varint();
+            for (int i = 0; i < count; i++) {
+                points.add(new Point(varint(), varint()));
+            }
+        }
+    }
+}
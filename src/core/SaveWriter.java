@@ -0,0 +1,82 @@
+package core;
+
+import utils.FileUtils;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes auto-saves on a background thread, so the game loop never waits on the disk.
+ *
+ * The game thread captures a {@link SaveGame} snapshot and hands it over; encoding and
+ * writing happen on the writer thread. Each save goes to the next of a ring of
+ * auto-save files ({@link SaveGame#autoSaveFileName}) and replaces it atomically, so
+ * a crash mid-write leaves the previous generations intact.
+ */
+public class SaveWriter {
+    private final String dir;
+    private final int generations;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "save-writer");
+        thread.setDaemon(true); // Never keeps the game from exiting
+        return thread;
+    });
+
+    // Next slot per user, only touched on the writer thread
+    private final Map<String, Integer> nextGeneration = new HashMap<>();
+
+    public SaveWriter(String dir, int generations) {
+        this.dir = dir;
+        this.generations = generations;
+    }
+
+    /**
+     * Queues the snapshot to be written to the user's next auto-save slot. The snapshot
+     * must not be changed afterwards.
+     */
+    public void submit(SaveGame snapshot) {
+        executor.execute(() -> {
+            try {
+                new File(dir).mkdirs();
+                String username = snapshot.getUsername();
+                int generation = nextGeneration.computeIfAbsent(username, this::slotAfterNewest);
+                nextGeneration.put(username, (generation + 1) % generations);
+                FileUtils.writeBytesAtomically(SaveGame.autoSaveFileName(dir, username, generation),
+                        snapshot.encode());
+            } catch (RuntimeException e) {
+                System.err.println("Error during auto-save: " + e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Blocks until every queued save is on disk.
+     */
+    public void flush() {
+        try {
+            executor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error waiting for auto-save: " + e.getMessage());
+        }
+    }
+
+    // Continues the rotation of a previous session by overwriting its oldest slot
+    private int slotAfterNewest(String username) {
+        int newest = -1;
+        long newestTime = Long.MIN_VALUE;
+        for (int i = 0; i < generations; i++) {
+            File file = new File(SaveGame.autoSaveFileName(dir, username, i));
+            if (file.exists() && file.lastModified() > newestTime) {
+                newest = i;
+                newestTime = file.lastModified();
+            }
+        }
+        return (newest + 1) % generations;
+    }
+}
@@ -0,0 +1,40 @@
+package core;
+
+/**
+ * The fixed-step game logic shared by GameMenu and HeadlessGame, so both play a
+ * level out tick for tick the same way.
+ *
+ * Each {@link #step} advances the world's timed effects by one tick of
+ * {@link World#TICK_MS} and moves the chasers once the level's chaser interval has
+ * passed. The tick count carries over from one level to the next.
+ */
+public class Simulation {
+    private long tick = 0;
+    private long lastChaserMoveTick = 0; // Tick of the last chaser move
+
+    /**
+     * Runs one tick of the world.
+     *
+     * @param chaserMoveInterval milliseconds between chaser steps on this level, from
+     *        {@link LevelParameters#chaserMoveInterval(int)}
+     * @return true if anything visible changed
+     */
+    public boolean step(World world, long chaserMoveInterval) {
+        tick++;
+        boolean changed = world.tick();
+        long chaserMoveTicks = Math.max(1, chaserMoveInterval / World.TICK_MS);
+        if (tick - lastChaserMoveTick >= chaserMoveTicks) {
+            world.moveChasers();
+            lastChaserMoveTick = tick;
+            changed = true;
+        }
+        return changed;
+    }
+
+    /**
+     * @return the number of ticks run so far
+     */
+    public long getTicks() {
+        return tick;
+    }
+}
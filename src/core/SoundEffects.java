@@ -0,0 +1,15 @@
+package core;
+
+/**
+ * Plays the sound effect that goes with each gameplay event. Registered as an async
+ * listener, so loading and starting clips happens off the game thread.
+ */
+public class SoundEffects implements EventListener {
+    @Override
+    public void onEvent(Event event) {
+        Event.Cause cause = event.getCause();
+        if (cause != null && cause.getSound() != null) {
+            AudioManager.getInstance().playSound(cause.getSound());
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package core;
+
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+/**
+ * Loads sounds in the background, one future per sound id.
+ *
+ * Sounds are decoded on a small pool of daemon threads, so nothing waits for audio at
+ * startup; a sound that is not ready yet simply does not play. Decoded samples can be
+ * kept in a cache directory as 16-bit PCM, keyed by the length and CRC of the source
+ * file, so later runs read them back instead of decoding again. How long each sound
+ * took, and whether it came from the cache, is available from {@link #report()} once
+ * {@link #loaded()} completes; nothing is printed unless the caller asks for it.
+ */
+public class SoundLoader {
+    public static final String DEFAULT_CACHE_DIR = "audio_cache";
+    private static final int CACHE_MAGIC = 0x50434D31; // "PCM1"
+
+    private final ExecutorService executor;
+    private final Path cacheDir; // Null when caching is off
+    private final Map<String, CompletableFuture<AudioMixer.Sound>> sounds = new LinkedHashMap<>();
+    private final Map<String, Long> loadNanos = new ConcurrentHashMap<>();
+    private final Map<String, Boolean> fromCache = new ConcurrentHashMap<>();
+    private final long startNanos = System.nanoTime();
+
+    /**
+     * @param cacheDir where to keep decoded sounds, or null to always decode
+     */
+    public SoundLoader(String cacheDir) {
+        this.cacheDir = cacheDir == null ? null : Paths.get(cacheDir);
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "sound-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues a sound to be loaded. Call for every sound, then {@link #finish}.
+     *
+     * @param maxSeconds how much of the sound to keep, or 0 for all of it
+     */
+    public void load(String soundId, String resourcePath, double maxSeconds) {
+        sounds.put(soundId, CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            AudioMixer.Sound sound = loadNow(soundId, resourcePath, maxSeconds);
+            if (sound != null) {
+                loadNanos.put(soundId, System.nanoTime() - start);
+            }
+            return sound;
+        }, executor));
+    }
+
+    /**
+     * Stops taking new sounds; the pool threads exit once the queued ones are done.
+     */
+    public void finish() {
+        executor.shutdown();
+    }
+
+    /**
+     * @return the sound if it has loaded, or null if it is still loading or failed
+     */
+    public AudioMixer.Sound get(String soundId) {
+        CompletableFuture<AudioMixer.Sound> future = sounds.get(soundId);
+        return future == null ? null : future.getNow(null);
+    }
+
+    /**
+     * @return the future for one sound, or null if it was never queued
+     */
+    public CompletableFuture<AudioMixer.Sound> future(String soundId) {
+        return sounds.get(soundId);
+    }
+
+    /**
+     * @return a future completed when every queued sound has loaded or failed
+     */
+    public CompletableFuture<Void> loaded() {
+        return CompletableFuture.allOf(sounds.values().toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * @return milliseconds each loaded sound took, in load order
+     */
+    public Map<String, Long> getLoadTimesMillis() {
+        Map<String, Long> times = new LinkedHashMap<>();
+        for (String soundId : sounds.keySet()) {
+            Long nanos = loadNanos.get(soundId);
+            if (nanos != null) {
+                times.put(soundId, nanos / 1_000_000);
+            }
+        }
+        return times;
+    }
+
+    /**
+     * @return a one-line summary of the load times, marking sounds read from the cache
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Loaded ").append(loadNanos.size()).append(" sounds in ")
+                .append((System.nanoTime() - startNanos) / 1_000_000).append(" ms:");
+        for (Map.Entry<String, Long> entry : getLoadTimesMillis().entrySet()) {
+            report.append(' ').append(entry.getKey()).append(' ').append(entry.getValue()).append(" ms");
+            if (fromCache.getOrDefault(entry.getKey(), false)) {
+                report.append(" (cached)");
+            }
+            report.append(',');
+        }
+        report.setLength(report.length() - 1);
+        return report.toString();
+    }
+
+    private AudioMixer.Sound loadNow(String soundId, String resourcePath, double maxSeconds) {
+        URL resource = SoundLoader.class.getResource(resourcePath);
+        if (resource == null) {
+            System.err.println("Could not find sound resource: " + resourcePath);
+            return null;
+        }
+        try {
+            byte[] source;
+            try (InputStream in = resource.openStream()) {
+                source = in.readAllBytes();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(source);
+            long key = crc.getValue() ^ ((long) source.length << 32) ^ Double.doubleToLongBits(maxSeconds);
+
+            AudioMixer.Sound sound = readCached(soundId, key);
+            if (sound != null) {
+                fromCache.put(soundId, true);
+                return sound;
+            }
+            try (AudioInputStream audio = AudioSystem.getAudioInputStream(
+                    new BufferedInputStream(new ByteArrayInputStream(source)))) {
+                sound = AudioMixer.decode(audio, maxSeconds);
+            }
+            writeCached(soundId, key, sound);
+            return sound;
+        } catch (Exception e) {
+            System.err.println("Error loading sound " + soundId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Returns null if there is no usable cached copy
+    private AudioMixer.Sound readCached(String soundId, long key) {
+        if (cacheDir == null) {
+            return null;
+        }
+        Path file = cacheDir.resolve(soundId + ".pcm");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (in.getInt() != CACHE_MAGIC || in.getLong() != key) {
+                return null;
+            }
+            float[] samples = new float[in.getInt()];
+            for (int i = 0; i < samples.length; i++) {
+                samples[i] = in.getShort() / 32767f;
+            }
+            return new AudioMixer.Sound(samples);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring cached sound " + soundId + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCached(String soundId, long key, AudioMixer.Sound sound) {
+        if (cacheDir == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(cacheDir);
+            // Written next to the real file and moved over it, so a reader never sees half
+            Path temp = Files.createTempFile(cacheDir, soundId, ".tmp");
+            ByteBuffer buffer = ByteBuffer.allocate(16 + sound.samples.length * 2);
+            buffer.putInt(CACHE_MAGIC).putLong(key).putInt(sound.samples.length);
+            for (float sample : sound.samples) {
+                buffer.putShort((short) Math.round(Math.max(-1f, Math.min(1f, sample)) * 32767f));
+            }
+            Files.write(temp, buffer.array());
+            Files.move(temp, cacheDir.resolve(soundId + ".pcm"), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not cache sound " + soundId + ": " + e.getMessage());
+        }
+    }
+}
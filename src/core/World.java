@@ -3,6 +3,12 @@ package core;
 import tileengine.TETile;
 import tileengine.Tileset;
 import tileengine.AvatarTileset;
+import tileengine.TileChangeListener;
+import tileengine.TileGrid;
+import utils.IntObjectMap;
+import utils.SpatialGrid;
+import utils.UnionFind;
+import utils.WeightedSampler;
 
 import java.awt.*;
 import java.util.*;
@@ -11,8 +17,14 @@ import java.util.List;
 public class World {
 
     // build your own world!
-    static int WIDTH = 80;
-    static int HEIGHT = 45;
+    public static final int DEFAULT_WIDTH = 80;
+    public static final int DEFAULT_HEIGHT = 45;
+    // Room generation needs space for the largest room plus a border
+    public static final int MIN_WIDTH = 20;
+    public static final int MIN_HEIGHT = 15;
+    public static final int MAX_SIZE = 4096;
+    private final int WIDTH;
+    private final int HEIGHT;
     final private static TETile UNUSED = Tileset.NOTHING;
     final static TETile FLOOR = Tileset.FLOOR;
     final static TETile WALL = Tileset.WALL;
@@ -21,34 +33,50 @@ public class World {
     private int NUMBER_OF_CONSUMABLES = 10;
 
     private int avatarX, avatarY;
-    private int chaserX, chaserY;
+    private final List<Chaser> chasers = new ArrayList<>();
+    private final int[] chasersOnCell; // Chaser count per cell id, for O(1) occupancy checks
+    private final int[] chaserMoveOptions = new int[4]; // Scratch buffer for random walks
     private boolean chaserIsDead = false;
     private boolean isShowPath;
-    private List<Point> pathToAvatar;
+    private int[] pathToAvatar; // Cell ids of the chaser's current route, first step first (lazy)
+    private int pathToAvatarLength = 0;
 
     private long seed;
-    private Random random;
-    private TETile[][] map;
+    private final int difficulty; // Decides the number of rooms
+    // Each part of generation draws from its own stream of the seed; see RandomStream
+    private final Random layoutRandom;
+    private final Random runtimeRandom;
+    private final TileGrid tiles; // Tile ids and walkability; the TETile[][] view is built for rendering only
     private ArrayList<Room> rooms;
+    private final Map<Room, Integer> roomIndices = new IdentityHashMap<>(); // Position in rooms
     private ArrayList<Hallway> hallways;
-    private Set<Point> usedSpaces;
+    private final BitSet usedSpaces; // Cells covered by rooms, by cell id (x * HEIGHT + y)
+    private int repairCorridors = 0; // Added by connectRegions to join cut-off regions
+    private int skippedSeeds = 0; // Unwinnable seeds passed over before this one
     private Player player;
 
     private int doorX, doorY;
 
     private List<Consumable> consumables; // Class-level variable
 
-    private Set<Point> consumablePositions; // To store positions of consumables
+    // Consumables and obstacles still on the map, keyed by cell id (x * HEIGHT + y)
+    private final IntObjectMap<ConsumableType> consumablePositions = new IntObjectMap<>();
 
     private EventDispatcher eventDispatcher;
 
-    private Map<Point, ObstacleType> obstacles = new HashMap<>();
+    private final IntObjectMap<ObstacleType> obstacles = new IntObjectMap<>();
+    private final SpatialGrid darkRooms; // Dark room obstacles still on the map
 
     private char lastDirection;
 
     private boolean isDarkMode = false;
     private int visionRadius = 5; // Default vision radius
     private TETile[][] visibleMap; // For storing what player can actually see
+    private FieldOfView fieldOfView; // Created with visibleMap
+    private int[] markedCells = new int[16]; // Cells drawn into visibleMap regardless of sight
+    private int markedCount = 0;
+    private BitSet explored; // Cells seen in dark mode, by cell id; shown dimmed once out of sight
+    private boolean visibleMapShown = false; // Whether the last frame drew visibleMap
 
     private static final long FLASH_INTERVAL = 1000; // 4 seconds in milliseconds
 
@@ -57,22 +85,44 @@ public class World {
     // Field to track if the chaser sound is currently playing
     private boolean isChaserSoundPlaying = false;
 
-    private long lastProximityCheck = 0;
+    // How many steps away dark rooms and chasers can be heard
+    private static final int EERIE_RANGE = 6;
+    private static final int CHASER_RANGE = 8;
 
-    // Optimize path finding by caching results
-    private Map<String, ArrayList<Point>> pathCache = new HashMap<>();
-    private static final long PATH_CACHE_DURATION = 500; // 500ms cache duration
-    private long lastPathCalculation = 0;
+    // Length of one simulation tick; timed effects are counted in ticks
+    public static final long TICK_MS = 50;
+    private long tickCount = 0;
 
-    // Add a map to store tiles that are underneath the chaser
-    private TETile tileUnderChaser = FLOOR; // Initialize to FLOOR
+    private long lastProximityCheckTick = -PROXIMITY_CHECK_TICKS;
+    private static final long PROXIMITY_CHECK_TICKS = 2;
 
-    private long lastPathFlashTime = 0;
-    private static final long PATH_FLASH_INTERVAL = 500; // 0.5 seconds
+    // Ice slide in progress: the avatar advances one tile per tick until blocked
+    private boolean isSliding = false;
+    private int slideDx = 0;
+    private int slideDy = 0;
+
+    // Shared A* engine, allocated on first use
+    private GridPathfinder pathfinder;
+    // Distances from every cell to the avatar, kept current as the avatar moves (lazy)
+    private DistanceField avatarField;
+    // Told about cells changed by avatar and chaser moves, e.g. to redraw just those
+    private TileChangeListener tileChangeListener;
+
+    private long lastPathFlashTick = 0;
+    private static final long PATH_FLASH_TICKS = 500 / TICK_MS; // 0.5 seconds
     private boolean showPathThisFrame = false;
 
     private Set<Point> torchPositions = new HashSet<>();
 
+    // Consecutive room placements that may fail before the map counts as full
+    private static final int MAX_FAILED_ROOM_ATTEMPTS = 1000;
+    // Rooms per candidate list when building the hallway tree of a large world
+    private static final int MST_NEIGHBOURS = 8;
+    private static final int COMPLETE_GRAPH_MAX_ROOMS = 64;
+    private static final int ZONE_SIZE = 10;
+    // Random cells tried before a teleport falls back to scanning the whole map
+    private static final int TELEPORT_PROBES = 64;
+
     public World() {
         this(null, SEEDDefault);
     }
@@ -82,20 +132,64 @@ public class World {
     }
 
     public World(Player player, long seed, int numConsumables, int numObstacles) {
+        this(player, seed, numConsumables, numObstacles, 1);
+    }
+
+    public World(Player player, long seed, int numConsumables, int numObstacles, int numChasers) {
+        this(player, seed, numConsumables, numObstacles, numChasers, DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    /**
+     * Generates a world of the given size in tiles, with the difficulty of the
+     * player's current points.
+     */
+    public World(Player player, long seed, int numConsumables, int numObstacles, int numChasers,
+                 int width, int height) {
+        this(player, seed, player == null ? 1 : player.calculateDifficulty(), numConsumables, numObstacles,
+                numChasers, width, height);
+    }
+
+    /**
+     * Generates a world of the given size in tiles. Larger worlds get proportionally
+     * more rooms, so they are about as dense as the default 80x45 one. The same
+     * arguments always give the same world, whatever the player's state.
+     *
+     * Generation time grows linearly with the area. Weighing floor cells for item
+     * placement, labelling regions for the connectivity check and scanning for door
+     * and chaser cells each touch every cell. The default size takes about 0.5 ms,
+     * but 1024x1024 takes about 90 ms and 4096x4096 about 2 s, so sizes that large
+     * are for batch generation rather than for starting a level mid-game.
+     *
+     * @param difficulty 1 to 3, see {@link Player#calculateDifficulty()}; higher
+     *                   difficulties get more rooms
+     */
+    public World(Player player, long seed, int difficulty, int numConsumables, int numObstacles, int numChasers,
+                 int width, int height) {
+        if (width < MIN_WIDTH || height < MIN_HEIGHT || width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("World size must be between " + MIN_WIDTH + "x" + MIN_HEIGHT
+                    + " and " + MAX_SIZE + "x" + MAX_SIZE + ", got " + width + "x" + height);
+        }
+        this.WIDTH = width;
+        this.HEIGHT = height;
         this.player = player;
         this.seed = seed;
         this.lastDirection = 's';
         rooms = new ArrayList<>();
         hallways = new ArrayList<>();
-        random = new Random(seed);
-        usedSpaces = new HashSet<>();
+        this.difficulty = difficulty;
+        layoutRandom = RandomStream.LAYOUT.create(seed);
+        runtimeRandom = RandomStream.RUNTIME.create(seed);
+        usedSpaces = new BitSet(WIDTH * HEIGHT);
+        explored = new BitSet(WIDTH * HEIGHT);
         this.consumables = new ArrayList<>();
-        this.consumablePositions = new HashSet<>();
         this.eventDispatcher = new EventDispatcher();
-        map = new TETile[WIDTH][HEIGHT];
+        tiles = new TileGrid(WIDTH, HEIGHT, UNUSED, World::isWalkableTile);
+        chasersOnCell = new int[WIDTH * HEIGHT];
+        placedItems = new SpatialGrid(WIDTH, HEIGHT, ZONE_SIZE);
+        darkRooms = new SpatialGrid(WIDTH, HEIGHT, ZONE_SIZE);
         initializeWorldWithTiles();
         placeAvatar();
-        placeChaser();
+        placeChasers(numChasers);
         // Only place door during initial world creation, not when loading
         if (numConsumables > 0 || numObstacles > 0) { // If these are 0, we're loading a saved game
             placeDoor();
@@ -104,10 +198,159 @@ public class World {
         }
     }
 
+    /**
+     * Builds a world from a layout captured by {@link #toLayout()}, exactly as it was
+     * when first generated, without generating it again. The layout is copied, so any
+     * number of worlds can share it.
+     */
+    World(Player player, LevelLayout layout) {
+        this.WIDTH = layout.width;
+        this.HEIGHT = layout.height;
+        this.player = player;
+        this.seed = layout.seed;
+        this.lastDirection = 's';
+        this.difficulty = layout.difficulty;
+        layoutRandom = RandomStream.LAYOUT.create(seed);
+        runtimeRandom = RandomStream.RUNTIME.create(seed);
+        usedSpaces = (BitSet) layout.usedSpaces.clone();
+        explored = new BitSet(WIDTH * HEIGHT);
+        repairCorridors = layout.repairCorridors;
+        this.consumables = new ArrayList<>();
+        this.eventDispatcher = new EventDispatcher();
+        tiles = layout.tiles.copy();
+        chasersOnCell = new int[WIDTH * HEIGHT];
+        placedItems = new SpatialGrid(WIDTH, HEIGHT, ZONE_SIZE);
+        darkRooms = new SpatialGrid(WIDTH, HEIGHT, ZONE_SIZE);
+
+        rooms = new ArrayList<>(layout.rooms.length / 4);
+        for (int i = 0; i < layout.rooms.length; i += 4) {
+            Room room = new Room(layout.rooms[i + 2], layout.rooms[i + 3], layout.rooms[i], layout.rooms[i + 1]);
+            roomIndices.put(room, rooms.size());
+            rooms.add(room);
+        }
+        hallways = new ArrayList<>(layout.hallways.length / 7);
+        for (int i = 0; i < layout.hallways.length; i += 7) {
+            hallways.add(hallwayFrom(layout.hallways, i));
+        }
+
+        avatarX = layout.avatarX;
+        avatarY = layout.avatarY;
+        updateAvatarTile(); // The layout holds the avatar of whoever generated it
+        for (int i = 0; i < layout.chaserCells.length; i++) {
+            int x = layout.chaserCells[i] / HEIGHT;
+            int y = layout.chaserCells[i] % HEIGHT;
+            Chaser chaser = new Chaser(x, y);
+            chaser.moveTo(x, y, layout.chaserTilesUnder[i]);
+            chasers.add(chaser);
+            chasersOnCell[layout.chaserCells[i]]++;
+        }
+        doorX = layout.doorX;
+        doorY = layout.doorY;
+        if (layout.populated) {
+            consumables.add(ConsumableType.SMILEY_FACE.create());
+            consumables.add(ConsumableType.NORMAL_FACE.create());
+        }
+        for (int i = 0; i < layout.consumableCells.length; i++) {
+            int cell = layout.consumableCells[i];
+            consumablePositions.put(cell, layout.consumableTypes[i]);
+            placedItems.add(cell / HEIGHT, cell % HEIGHT);
+        }
+        for (int i = 0; i < layout.obstacleCells.length; i++) {
+            int cell = layout.obstacleCells[i];
+            obstacles.put(cell, layout.obstacleTypes[i]);
+            placedItems.add(cell / HEIGHT, cell % HEIGHT);
+            if (layout.obstacleTypes[i] == ObstacleType.DARK_MODE) {
+                darkRooms.add(cell / HEIGHT, cell % HEIGHT);
+            }
+        }
+    }
+
+    private static Hallway hallwayFrom(int[] hallways, int i) {
+        return switch (hallways[i]) {
+            case LevelLayout.STRAIGHT_HALLWAY -> new StraightHallway(hallways[i + 1], hallways[i + 2],
+                    hallways[i + 5], hallways[i + 6]);
+            case LevelLayout.TURN_HALLWAY -> new TurnHallway(hallways[i + 1], hallways[i + 2],
+                    hallways[i + 3], hallways[i + 4], hallways[i + 5], hallways[i + 6]);
+            default -> new Hallway(hallways[i + 1], hallways[i + 2], hallways[i + 5], hallways[i + 6]);
+        };
+    }
+
+    /**
+     * Captures the world as it is now, which should be straight after generation:
+     * a layout only records where things start, not how far a game has got.
+     */
+    LevelLayout toLayout() {
+        int[] roomData = new int[rooms.size() * 4];
+        for (int i = 0; i < rooms.size(); i++) {
+            Room room = rooms.get(i);
+            roomData[i * 4] = room.getPositionX();
+            roomData[i * 4 + 1] = room.getPositionY();
+            roomData[i * 4 + 2] = room.getWidth();
+            roomData[i * 4 + 3] = room.getHeight();
+        }
+        int[] hallwayData = new int[hallways.size() * 7];
+        for (int i = 0; i < hallways.size(); i++) {
+            Hallway hallway = hallways.get(i);
+            int kind = LevelLayout.PLAIN_HALLWAY;
+            if (hallway instanceof TurnHallway turn) {
+                kind = LevelLayout.TURN_HALLWAY;
+                hallwayData[i * 7 + 3] = turn.getMidX();
+                hallwayData[i * 7 + 4] = turn.getMidY();
+            } else if (hallway instanceof StraightHallway) {
+                kind = LevelLayout.STRAIGHT_HALLWAY;
+            }
+            hallwayData[i * 7] = kind;
+            hallwayData[i * 7 + 1] = hallway.getStartX();
+            hallwayData[i * 7 + 2] = hallway.getStartY();
+            hallwayData[i * 7 + 5] = hallway.getEndX();
+            hallwayData[i * 7 + 6] = hallway.getEndY();
+        }
+
+        int[] chaserCells = new int[chasers.size()];
+        TETile[] chaserTilesUnder = new TETile[chasers.size()];
+        for (int i = 0; i < chasers.size(); i++) {
+            Chaser chaser = chasers.get(i);
+            chaserCells[i] = cell(chaser.getX(), chaser.getY());
+            chaserTilesUnder[i] = chaser.getTileUnder();
+        }
+
+        int[] consumableCells = new int[consumablePositions.size()];
+        ConsumableType[] consumableTypes = new ConsumableType[consumablePositions.size()];
+        int[] count = {0};
+        consumablePositions.forEach((cell, type) -> {
+            consumableCells[count[0]] = cell;
+            consumableTypes[count[0]++] = type;
+        });
+        int[] obstacleCells = new int[obstacles.size()];
+        ObstacleType[] obstacleTypes = new ObstacleType[obstacles.size()];
+        count[0] = 0;
+        obstacles.forEach((cell, type) -> {
+            obstacleCells[count[0]] = cell;
+            obstacleTypes[count[0]++] = type;
+        });
+
+        TileGrid layoutTiles = tiles.copy();
+        if (player != null) {
+            layoutTiles.set(avatarX, avatarY, FLOOR); // Each world draws its own player's avatar here
+        }
+        return new LevelLayout(seed, difficulty, WIDTH, HEIGHT, layoutTiles, (BitSet) usedSpaces.clone(),
+                roomData, hallwayData, repairCorridors, avatarX, avatarY, doorX, doorY, !consumables.isEmpty(),
+                chaserCells, chaserTilesUnder, consumableCells, consumableTypes, obstacleCells, obstacleTypes);
+    }
+
+    // Walls are the only tiles nothing can walk through
+    static boolean isWalkableTile(TETile tile) {
+        return tile != WALL;
+    }
+
+    // Every consumable and obstacle placed during generation, for spacing checks
+    private final SpatialGrid placedItems;
+    private double darkRoomScore; // Accumulated by selectPositionForDarkRoom's visitor
+
     private void populateConsumables(int numConsumables) {
         NUMBER_OF_CONSUMABLES = numConsumables;
-        consumables.add(new Consumable("Smiley Face", 10, Tileset.SMILEY_FACE_green_body_circle));
-        consumables.add(new Consumable("Normal Face", 5, Tileset.SMILEY_FACE_green_body_rhombus));
+        consumables.add(ConsumableType.SMILEY_FACE.create());
+        consumables.add(ConsumableType.NORMAL_FACE.create());
 
         // Create zones for better distribution
         List<Zone> zones = createZones();
@@ -116,32 +359,35 @@ public class World {
         int itemsPerZone = Math.max(1, numConsumables / zones.size());
         int remainingItems = numConsumables % zones.size();
 
-        Random rand = new Random(seed);
+        Random random = RandomStream.CONSUMABLES.create(seed);
 
         // Distribute items across zones
+        ZonePositions zonePositions = new ZonePositions();
         for (Zone zone : zones) {
             int zoneItems = itemsPerZone + (remainingItems > 0 ? 1 : 0);
             remainingItems--;
 
-            List<Point> zonePositions = getAvailablePositionsInZone(zone);
+            zonePositions.reset(zone);
+            zonePositions.weighAll();
 
             // Apply weighted distribution within zone
             for (int i = 0; i < zoneItems && !zonePositions.isEmpty(); i++) {
-                Point position = selectPositionWithWeights(zonePositions, zone);
-                if (position != null) {
-                    // Select consumable type based on position value
-                    Consumable consumable = selectConsumableByValue(position, zone);
-                    map[position.x][position.y] = consumable.getTile();
-                    consumablePositions.add(position);
-                    zonePositions.remove(position);
-                }
+                Point position = zonePositions.sample(random);
+                // Select consumable type based on position value
+                Consumable consumable = selectConsumableByValue(position, zone, random);
+                tiles.set(position.x, position.y, consumable.getTile());
+                consumablePositions.put(cell(position.x, position.y),
+                        ConsumableType.fromTile(consumable.getTile()));
+                placedItems.add(position.x, position.y);
+                zonePositions.removeWithin(position, 0);
+                zonePositions.reweighAround(position);
             }
         }
     }
 
     private void populateObstacles(int numObstacles) {
         List<Zone> zones = createZones();
-        Random rand = new Random(seed);
+        Random random = RandomStream.OBSTACLES.create(seed);
 
         // Calculate base obstacles per zone
         int obstaclesPerZone = Math.max(1, numObstacles / zones.size());
@@ -151,32 +397,34 @@ public class World {
         int totalDarkRooms = Math.max(1, numObstacles / 5);
         int darkRoomsPerZone = Math.max(1, totalDarkRooms / zones.size());
 
+        ZonePositions zonePositions = new ZonePositions();
         for (Zone zone : zones) {
             int zoneObstacles = obstaclesPerZone + (remainingObstacles > 0 ? 1 : 0);
             remainingObstacles--;
 
-            List<Point> zonePositions = getAvailablePositionsInZone(zone);
+            zonePositions.reset(zone);
 
             // Place dark rooms first with proper spacing
             for (int i = 0; i < darkRoomsPerZone && !zonePositions.isEmpty(); i++) {
                 Point position = selectPositionForDarkRoom(zonePositions, zone);
-                if (position != null) {
-                    obstacles.put(position, ObstacleType.DARK_MODE);
-                    map[position.x][position.y] = ObstacleType.DARK_MODE.getTile();
-                    removeNearbyPositions(zonePositions, position, 5); // Ensure spacing
-                }
+                obstacles.put(cell(position.x, position.y), ObstacleType.DARK_MODE);
+                placedItems.add(position.x, position.y);
+                darkRooms.add(position.x, position.y);
+                tiles.set(position.x, position.y, ObstacleType.DARK_MODE.getTile());
+                zonePositions.removeWithin(position, 5); // Ensure spacing
             }
 
             // Place other obstacles with weighted distribution
+            zonePositions.weighAll();
             int remainingZoneObstacles = zoneObstacles - darkRoomsPerZone;
             for (int i = 0; i < remainingZoneObstacles && !zonePositions.isEmpty(); i++) {
-                Point position = selectPositionWithWeights(zonePositions, zone);
-                if (position != null) {
-                    ObstacleType obstacle = selectObstacleByLocation(position, zone);
-                    obstacles.put(position, obstacle);
-                    map[position.x][position.y] = obstacle.getTile();
-                    removeNearbyPositions(zonePositions, position, 3); // Smaller spacing for regular obstacles
-                }
+                Point position = zonePositions.sample(random);
+                ObstacleType obstacle = selectObstacleByLocation(position, zone, random);
+                obstacles.put(cell(position.x, position.y), obstacle);
+                placedItems.add(position.x, position.y);
+                tiles.set(position.x, position.y, obstacle.getTile());
+                zonePositions.removeWithin(position, 3); // Smaller spacing for regular obstacles
+                zonePositions.reweighAround(position);
             }
         }
     }
@@ -211,7 +459,7 @@ public class World {
 
     private List<Zone> createZones() {
         List<Zone> zones = new ArrayList<>();
-        int zoneSize = 10; // Adjust based on world size
+        int zoneSize = ZONE_SIZE;
 
         for (int x = 0; x < WIDTH; x += zoneSize) {
             for (int y = 0; y < HEIGHT; y += zoneSize) {
@@ -224,79 +472,163 @@ public class World {
         return zones;
     }
 
-    private List<Point> getAvailablePositionsInZone(Zone zone) {
-        List<Point> positions = new ArrayList<>();
-
-        for (int x = zone.startX; x < zone.endX; x++) {
-            for (int y = zone.startY; y < zone.endY; y++) {
-                if (map[x][y] == FLOOR &&
-                        (x != avatarX || y != avatarY) &&
-                        (x != chaserX || y != chaserY) &&
-                        (x != doorX || y != doorY)) {
-                    positions.add(new Point(x, y));
+    // Free floor cells of one zone, in x-then-y order, with their placement weights.
+    // Each weight's factors are kept, so a placement only updates the factors it can
+    // change: item spacing within 4 cells and path accessibility of the 8 neighbours.
+    // One instance is reset for each zone in turn.
+    private final class ZonePositions {
+        private final boolean[] free = new boolean[ZONE_SIZE * ZONE_SIZE];
+        private final WeightedSampler weights = new WeightedSampler(ZONE_SIZE * ZONE_SIZE);
+        private final double[] wallFactor = new double[ZONE_SIZE * ZONE_SIZE];
+        private final double[] spacingFactor = new double[ZONE_SIZE * ZONE_SIZE];
+        private final double[] accessFactor = new double[ZONE_SIZE * ZONE_SIZE];
+        private Zone zone;
+        private int zoneHeight;
+        private int size;
+        private int freeCount;
+        private boolean weighed; // Set by weighAll
+
+        void reset(Zone zone) {
+            this.zone = zone;
+            this.zoneHeight = zone.endY - zone.startY;
+            this.size = (zone.endX - zone.startX) * zoneHeight;
+            this.freeCount = 0;
+            this.weighed = false;
+            Arrays.fill(free, false);
+            weights.clear();
+            for (int x = zone.startX; x < zone.endX; x++) {
+                for (int y = zone.startY; y < zone.endY; y++) {
+                    if (tiles.get(x, y) == FLOOR &&
+                            (x != avatarX || y != avatarY) &&
+                            !isChaserAt(x, y) &&
+                            (x != doorX || y != doorY)) {
+                        free[index(x, y)] = true;
+                        freeCount++;
+                    }
                 }
             }
         }
 
-        return positions;
-    }
+        boolean isEmpty() {
+            return freeCount == 0;
+        }
 
-    private Point selectPositionWithWeights(List<Point> positions, Zone zone) {
-        if (positions.isEmpty())
-            return null;
+        int size() {
+            return size;
+        }
 
-        // Calculate weights for each position
-        double[] weights = new double[positions.size()];
-        double totalWeight = 0;
+        boolean isFree(int i) {
+            return free[i];
+        }
 
-        for (int i = 0; i < positions.size(); i++) {
-            Point p = positions.get(i);
-            double weight = calculatePositionWeight(p, zone);
-            weights[i] = weight;
-            totalWeight += weight;
+        int x(int i) {
+            return zone.startX + i / zoneHeight;
         }
 
-        // Select position based on weights
-        double selection = random.nextDouble() * totalWeight;
-        double currentSum = 0;
+        int y(int i) {
+            return zone.startY + i % zoneHeight;
+        }
 
-        for (int i = 0; i < weights.length; i++) {
-            currentSum += weights[i];
-            if (currentSum >= selection) {
-                return positions.get(i);
+        // Weighs every free cell; later placements keep the weights up to date
+        void weighAll() {
+            weighed = true;
+            for (int i = 0; i < size; i++) {
+                if (free[i]) {
+                    wallFactor[i] = getWallDistanceFactor(x(i), y(i));
+                    spacingFactor[i] = getItemSpacingFactor(x(i), y(i));
+                    accessFactor[i] = getPathAccessibilityFactor(x(i), y(i));
+                    weights.set(i, weight(i));
+                }
             }
         }
 
-        return positions.get(0);
-    }
+        private double weight(int i) {
+            // Base weight
+            double weight = 1.0;
 
-    private double calculatePositionWeight(Point p, Zone zone) {
-        // Base weight
-        double weight = 1.0;
+            // Factor in distance from walls (prefer positions away from walls)
+            weight *= wallFactor[i];
 
-        // Factor in distance from walls (prefer positions away from walls)
-        weight *= getWallDistanceFactor(p);
+            // Factor in distance from other items
+            weight *= spacingFactor[i];
 
-        // Factor in distance from other items
-        weight *= getItemSpacingFactor(p);
+            // Factor in zone difficulty
+            weight *= (1.0 + zone.difficulty);
 
-        // Factor in zone difficulty
-        weight *= (1.0 + zone.difficulty);
+            // Factor in path accessibility
+            weight *= accessFactor[i];
 
-        // Factor in path accessibility
-        weight *= getPathAccessibilityFactor(p);
+            return weight;
+        }
 
-        return weight;
+        // Draws a free cell by weight, or the first free one if every weight is zero
+        Point sample(Random random) {
+            int i = weights.sample(random);
+            if (i < 0) {
+                i = 0;
+                while (!free[i]) {
+                    i++;
+                }
+            }
+            return new Point(x(i), y(i));
+        }
+
+        void removeWithin(Point center, int radius) {
+            for (int x = Math.max(zone.startX, center.x - radius); x < Math.min(zone.endX, center.x + radius + 1); x++) {
+                for (int y = Math.max(zone.startY, center.y - radius); y < Math.min(zone.endY, center.y + radius + 1); y++) {
+                    int i = index(x, y);
+                    if (free[i] && Math.sqrt(Math.pow(x - center.x, 2) + Math.pow(y - center.y, 2)) <= radius) {
+                        free[i] = false;
+                        freeCount--;
+                        if (weighed) {
+                            weights.set(i, 0.0);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Updates the weights an item placed at center can have changed
+        void reweighAround(Point center) {
+            for (int x = Math.max(zone.startX, center.x - 4); x < Math.min(zone.endX, center.x + 5); x++) {
+                for (int y = Math.max(zone.startY, center.y - 4); y < Math.min(zone.endY, center.y + 5); y++) {
+                    int i = index(x, y);
+                    if (!free[i]) {
+                        continue;
+                    }
+                    int dx = x - center.x;
+                    int dy = y - center.y;
+                    // Same value getItemSpacingFactor would now give, as the nearest
+                    // item is either the new one or the one it had before
+                    double spacing = Math.min(1.0, Math.sqrt(dx * dx + dy * dy) / 5.0);
+                    boolean changed = spacing < spacingFactor[i];
+                    if (changed) {
+                        spacingFactor[i] = spacing;
+                    }
+                    if (Math.abs(dx) <= 1 && Math.abs(dy) <= 1) {
+                        accessFactor[i] = getPathAccessibilityFactor(x, y);
+                        changed = true;
+                    }
+                    if (changed) {
+                        weights.set(i, weight(i));
+                    }
+                }
+            }
+        }
+
+        private int index(int x, int y) {
+            return (x - zone.startX) * zoneHeight + (y - zone.startY);
+        }
     }
 
-    private double getWallDistanceFactor(Point p) {
+    private double getWallDistanceFactor(int x, int y) {
         int wallCount = 0;
         for (int dx = -1; dx <= 1; dx++) {
             for (int dy = -1; dy <= 1; dy++) {
-                int newX = p.x + dx;
-                int newY = p.y + dy;
+                int newX = x + dx;
+                int newY = y + dy;
                 if (newX >= 0 && newX < WIDTH && newY >= 0 && newY < HEIGHT) {
-                    if (map[newX][newY] == WALL)
+                    if (tiles.get(newX, newY) == WALL)
                         wallCount++;
                 }
             }
@@ -304,35 +636,26 @@ public class World {
         return 1.0 - (wallCount / 8.0);
     }
 
-    private double getItemSpacingFactor(Point p) {
-        double minDistance = Double.MAX_VALUE;
-
-        // Check distance to consumables
-        for (Point other : consumablePositions) {
-            double dist = Math.sqrt(Math.pow(p.x - other.x, 2) + Math.pow(p.y - other.y, 2));
-            minDistance = Math.min(minDistance, dist);
-        }
-
-        // Check distance to obstacles
-        for (Point other : obstacles.keySet()) {
-            double dist = Math.sqrt(Math.pow(p.x - other.x, 2) + Math.pow(p.y - other.y, 2));
-            minDistance = Math.min(minDistance, dist);
+    private double getItemSpacingFactor(int x, int y) {
+        // Only items closer than 5 lower the factor, and those are within 4 on each axis
+        int nearest = placedItems.nearestDistanceSquared(x, y, 4);
+        if (nearest == Integer.MAX_VALUE) {
+            return 1.0;
         }
-
-        return Math.min(1.0, minDistance / 5.0);
+        return Math.min(1.0, Math.sqrt(nearest) / 5.0);
     }
 
-    private double getPathAccessibilityFactor(Point p) {
+    private double getPathAccessibilityFactor(int x, int y) {
         // Calculate accessibility based on number of accessible neighbors
         int accessibleNeighbors = 0;
         for (int dx = -1; dx <= 1; dx++) {
             for (int dy = -1; dy <= 1; dy++) {
                 if (dx == 0 && dy == 0)
                     continue;
-                int newX = p.x + dx;
-                int newY = p.y + dy;
+                int newX = x + dx;
+                int newY = y + dy;
                 if (newX >= 0 && newX < WIDTH && newY >= 0 && newY < HEIGHT) {
-                    if (map[newX][newY] == FLOOR)
+                    if (tiles.get(newX, newY) == FLOOR)
                         accessibleNeighbors++;
                 }
             }
@@ -340,7 +663,7 @@ public class World {
         return accessibleNeighbors / 8.0;
     }
 
-    private Consumable selectConsumableByValue(Point position, Zone zone) {
+    private Consumable selectConsumableByValue(Point position, Zone zone, Random random) {
         // Higher value consumables in more difficult zones
         if (random.nextDouble() < zone.difficulty) {
             return consumables.get(0); // Smiley Face (higher value)
@@ -349,7 +672,7 @@ public class World {
         }
     }
 
-    private ObstacleType selectObstacleByLocation(Point position, Zone zone) {
+    private ObstacleType selectObstacleByLocation(Point position, Zone zone, Random random) {
         double roll = random.nextDouble();
 
         // More dangerous obstacles in difficult zones
@@ -377,194 +700,344 @@ public class World {
         }
     }
 
-    private Point selectPositionForDarkRoom(List<Point> positions, Zone zone) {
+    private Point selectPositionForDarkRoom(ZonePositions positions, Zone zone) {
         // Find position with good spacing from other dark rooms
         Point bestPosition = null;
         double bestScore = -1;
 
-        for (Point p : positions) {
-            double score = 1.0;
-
-            // Check distance from other dark rooms
-            for (Map.Entry<Point, ObstacleType> entry : obstacles.entrySet()) {
-                if (entry.getValue() == ObstacleType.DARK_MODE) {
-                    double distance = Math.sqrt(
-                            Math.pow(p.x - entry.getKey().x, 2) +
-                                    Math.pow(p.y - entry.getKey().y, 2));
-                    score *= Math.min(1.0, distance / 10.0);
-                }
+        for (int i = 0; i < positions.size(); i++) {
+            if (!positions.isFree(i)) {
+                continue;
             }
+            int px = positions.x(i);
+            int py = positions.y(i);
+            // Check distance from other dark rooms; those 10 or more away multiply the
+            // score by 1, so only the ones within 9 on each axis are visited
+            darkRoomScore = 1.0;
+            darkRooms.visitWithin(px, py, 9, (x, y) -> {
+                double distance = Math.sqrt(Math.pow(px - x, 2) + Math.pow(py - y, 2));
+                darkRoomScore *= Math.min(1.0, distance / 10.0);
+                return false;
+            });
 
             // Factor in zone difficulty
-            score *= (1.0 + zone.difficulty);
+            double score = darkRoomScore * (1.0 + zone.difficulty);
 
             if (score > bestScore) {
                 bestScore = score;
-                bestPosition = p;
+                bestPosition = new Point(px, py);
             }
         }
 
         return bestPosition;
     }
 
-    private void removeNearbyPositions(List<Point> positions, Point center, int radius) {
-        positions.removeIf(p -> Math.sqrt(Math.pow(p.x - center.x, 2) + Math.pow(p.y - center.y, 2)) <= radius);
-    }
-
     public void placeAvatar() {
-        List<Point> availablePositions = new ArrayList<>(usedSpaces);
-        availablePositions.removeIf(point -> map[point.x][point.y] != FLOOR);
-
-        if (!availablePositions.isEmpty()) {
-            Random rand = new Random();
-            Point randomPosition = availablePositions.get(rand.nextInt(availablePositions.size()));
-            avatarX = randomPosition.x;
-            avatarY = randomPosition.y;
+        // Pick the n-th room floor cell, counting in cell id order
+        int available = 0;
+        for (int cell = usedSpaces.nextSetBit(0); cell >= 0; cell = usedSpaces.nextSetBit(cell + 1)) {
+            if (tiles.get(cell) == FLOOR) {
+                available++;
+            }
+        }
+
+        if (available > 0) {
+            int n = RandomStream.AVATAR.create(seed).nextInt(available);
+            for (int cell = usedSpaces.nextSetBit(0); cell >= 0; cell = usedSpaces.nextSetBit(cell + 1)) {
+                if (tiles.get(cell) == FLOOR && n-- == 0) {
+                    avatarX = cell / HEIGHT;
+                    avatarY = cell % HEIGHT;
+                    break;
+                }
+            }
+            if (avatarField != null) {
+                avatarField.moveRoot(avatarX, avatarY);
+            }
             updateAvatarTile(); // Use this instead of setting a static tile
         }
     }
 
-    private void placeChaser() {
-        // Create a list of available positions from usedSpaces
-        List<Point> availablePositions = new ArrayList<>(usedSpaces);
+    private void placeChasers(int numChasers) {
+        for (int i = 0; i < numChasers; i++) {
+            // Find the room floor cell that is furthest (Manhattan) from the avatar and
+            // the other chasers; a placed chaser's cell is no longer FLOOR
+            int furthestCell = -1;
+            int maxDistance = -1;
 
-        // Filter available positions to only include floor tiles and exclude the
-        // avatar's position
-        availablePositions
-                .removeIf(point -> map[point.x][point.y] != FLOOR || (point.x == avatarX && point.y == avatarY));
-
-        // Find the position that is furthest from the avatar
-        Point furthestPosition = null;
-        double maxDistance = -1;
+            for (int cell = usedSpaces.nextSetBit(0); cell >= 0; cell = usedSpaces.nextSetBit(cell + 1)) {
+                int x = cell / HEIGHT;
+                int y = cell % HEIGHT;
+                if (tiles.get(x, y) != FLOOR || (x == avatarX && y == avatarY)) {
+                    continue;
+                }
+                int distance = Math.abs(x - avatarX) + Math.abs(y - avatarY);
+                for (Chaser other : chasers) {
+                    distance = Math.min(distance, Math.abs(x - other.getX()) + Math.abs(y - other.getY()));
+                }
+                if (distance > maxDistance) {
+                    maxDistance = distance;
+                    furthestCell = cell;
+                }
+            }
 
-        for (Point point : availablePositions) {
-            double distance = calculateDistance(point, new Point(avatarX, avatarY));
-            if (distance > maxDistance) {
-                maxDistance = distance;
-                furthestPosition = point;
+            // Place the chaser at the furthest position if available
+            if (furthestCell < 0) {
+                break;
             }
+            addChaser(furthestCell / HEIGHT, furthestCell % HEIGHT);
         }
+    }
 
-        // Place the chaser at the furthest position if available
-        if (furthestPosition != null) {
-            chaserX = furthestPosition.x;
-            chaserY = furthestPosition.y;
-            map[chaserX][chaserY] = CHASER; // Place the chaser on the map
-        }
+    /**
+     * Adds a chaser standing on (x, y), e.g. when restoring a saved game.
+     */
+    public void addChaser(int x, int y) {
+        Chaser chaser = new Chaser(x, y);
+        chaser.moveTo(x, y, tiles.get(x, y));
+        chasers.add(chaser);
+        chasersOnCell[x * HEIGHT + y]++;
+        tiles.set(x, y, CHASER); // Place the chaser on the map
     }
 
-    private double calculateDistance(Point p1, Point p2) {
-        // Calculate Manhattan distance
-        return Math.abs(p1.x - p2.x) + Math.abs(p1.y - p2.y);
+    private boolean isChaserAt(int x, int y) {
+        return x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT && chasersOnCell[x * HEIGHT + y] > 0;
     }
 
     private void placeDoor() {
-        List<Point> availablePositions = new ArrayList<>(usedSpaces); // Create a list from usedSpaces
-
-        // Filter available positions to only include wall tiles
-        availablePositions.removeIf(point -> map[point.x][point.y] != WALL);
-
-        // Filter available positions to only include wall tiles that are adjacent to a
-        // floor or avatar
-        // and also adjacent to a nothing tile
-        availablePositions.removeIf(point -> {
-            boolean adjacentToFloorOrAvatar = false;
-            boolean adjacentToNothing = false;
+        // Candidates are room wall tiles next to a floor or avatar and also next to a
+        // nothing tile: count them, then pick one at random
+        int available = 0;
+        for (int cell = usedSpaces.nextSetBit(0); cell >= 0; cell = usedSpaces.nextSetBit(cell + 1)) {
+            if (isDoorCandidate(cell / HEIGHT, cell % HEIGHT)) {
+                available++;
+            }
+        }
 
-            for (Point neighbor : getAdjacentPoints(point.x, point.y)) {
-                if (map[neighbor.x][neighbor.y] == FLOOR || map[neighbor.x][neighbor.y] == map[avatarX][avatarY]) {
-                    adjacentToFloorOrAvatar = true;
-                }
-                if (map[neighbor.x][neighbor.y] == UNUSED) {
-                    adjacentToNothing = true;
+        if (available > 0) {
+            int n = RandomStream.DOOR.create(seed).nextInt(available);
+            for (int cell = usedSpaces.nextSetBit(0); cell >= 0; cell = usedSpaces.nextSetBit(cell + 1)) {
+                if (isDoorCandidate(cell / HEIGHT, cell % HEIGHT) && n-- == 0) {
+                    doorX = cell / HEIGHT;
+                    doorY = cell % HEIGHT;
+                    break;
                 }
             }
-            // Return true if it does not meet the criteria
-            return !(adjacentToFloorOrAvatar && adjacentToNothing);
-        });
-
-        // Randomly select one of the available positions for the door
-        if (!availablePositions.isEmpty()) {
-            Random rand = new Random();
-            Point randomPosition = availablePositions.get(rand.nextInt(availablePositions.size()));
-            doorX = randomPosition.x;
-            doorY = randomPosition.y;
-            map[doorX][doorY] = Tileset.LOCKED_DOOR; // Place the door on the map
+            tiles.set(doorX, doorY, Tileset.LOCKED_DOOR); // Place the door on the map
+            if (avatarField != null) {
+                avatarField.invalidate(); // The door opens a gap in the wall
+            }
         }
     }
 
-    private List<Point> getAdjacentPoints(int x, int y) {
-        List<Point> neighbors = new ArrayList<>();
-        neighbors.add(new Point(x - 1, y)); // Left
-        neighbors.add(new Point(x + 1, y)); // Right
-        neighbors.add(new Point(x, y - 1)); // Down
-        neighbors.add(new Point(x, y + 1)); // Up
-        return neighbors;
+    private boolean isDoorCandidate(int x, int y) {
+        if (tiles.get(x, y) != WALL) {
+            return false;
+        }
+        boolean adjacentToFloorOrAvatar = false;
+        boolean adjacentToNothing = false;
+        int[][] directions = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } }; // Left, Right, Down, Up
+        for (int[] d : directions) {
+            int nx = x + d[0];
+            int ny = y + d[1];
+            if (nx < 0 || nx >= WIDTH || ny < 0 || ny >= HEIGHT) {
+                continue;
+            }
+            if (tiles.get(nx, ny) == FLOOR || tiles.get(nx, ny) == tiles.get(avatarX, avatarY)) {
+                adjacentToFloorOrAvatar = true;
+            }
+            if (tiles.get(nx, ny) == UNUSED) {
+                adjacentToNothing = true;
+            }
+        }
+        return adjacentToFloorOrAvatar && adjacentToNothing;
     }
 
     // Centralized method to check for chaser-avatar collision and handle the
     // outcome
     boolean handleChaserCollision() {
-        if (chaserX == avatarX && chaserY == avatarY && !player.isInvisible()) {
+        if (isChaserAt(avatarX, avatarY) && !player.isInvisible()) {
             AudioManager.getInstance().stopSound("chaser");
-            eventDispatcher.dispatch(new Event(Event.EventType.GAME_OVER, "The chaser caught you!"));
+            eventDispatcher.dispatch(Event.Cause.CAUGHT);
             chaserIsDead = true;
             return true;
         }
         return false;
     }
 
-    public void moveChaser() {
+    /**
+     * Advances every chaser by one step. All of them read the same avatar distance
+     * field, so a tick costs one field update plus O(1) per chaser.
+     */
+    public void moveChasers() {
         if (player.isInvisible()) {
             // In search mode: perform a random walk using adjacent tiles.
-            List<Point> neighbors = new ArrayList<>();
             int[][] directions = { { 1, 0 }, { -1, 0 }, { 0, 1 }, { 0, -1 } };
-            for (int[] d : directions) {
-                int nx = chaserX + d[0];
-                int ny = chaserY + d[1];
-                if (isWalkable(nx, ny)) {
-                    neighbors.add(new Point(nx, ny));
+            for (Chaser chaser : chasers) {
+                int options = 0;
+                for (int[] d : directions) {
+                    int nx = chaser.getX() + d[0];
+                    int ny = chaser.getY() + d[1];
+                    if (isWalkable(nx, ny) && !isChaserAt(nx, ny)) {
+                        chaserMoveOptions[options++] = nx * HEIGHT + ny;
+                    }
+                }
+                if (options > 0) {
+                    int next = chaserMoveOptions[runtimeRandom.nextInt(options)];
+                    moveChaserTo(chaser, next / HEIGHT, next % HEIGHT);
                 }
             }
-            if (!neighbors.isEmpty()) {
-                Point next = neighbors.get(random.nextInt(neighbors.size()));
-                setChaserToNewPosition(next.x, next.y);
-            }
+            pathToAvatarLength = 0;
             checkChaserProximity();
         } else {
-            // Normal chasing mode.
-            pathToAvatar = findPath(new Point(chaserX, chaserY), new Point(avatarX, avatarY));
-            if (pathToAvatar != null && !pathToAvatar.isEmpty()) {
-                Point next = pathToAvatar.getFirst();
-                setChaserToNewPosition(next.x, next.y);
+            // Normal chasing mode: every chaser walks down the avatar's distance field.
+            boolean moved = false;
+            for (Chaser chaser : chasers) {
+                int next = nextChaserStep(chaser);
+                if (next >= 0) {
+                    moveChaserTo(chaser, next / HEIGHT, next % HEIGHT);
+                    moved = true;
+                }
+            }
+            Chaser nearest = getNearestChaser();
+            if (nearest != null) {
+                tracePathToAvatar(nearest);
+            }
+            if (moved) {
                 checkChaserProximity();
             }
         }
     }
 
+    // Neighbour one step closer to the avatar that no other chaser is standing on
+    private int nextChaserStep(Chaser chaser) {
+        int x = chaser.getX();
+        int y = chaser.getY();
+        int distance = avatarField().distanceTo(x, y);
+        if (distance <= 0) {
+            return -1;
+        }
+        int[][] directions = { { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 } }; // Up, Right, Down, Left
+        for (int[] d : directions) {
+            int nx = x + d[0];
+            int ny = y + d[1];
+            if (avatarField().distanceTo(nx, ny) == distance - 1 && !isChaserAt(nx, ny)) {
+                return nx * HEIGHT + ny;
+            }
+        }
+        return -1;
+    }
+
+    // The chaser with the shortest walk to the avatar, or null if none can reach it
+    private Chaser getNearestChaser() {
+        Chaser nearest = null;
+        int best = Integer.MAX_VALUE;
+        for (Chaser chaser : chasers) {
+            int distance = avatarField().distanceTo(chaser.getX(), chaser.getY());
+            if (distance >= 0 && distance < best) {
+                best = distance;
+                nearest = chaser;
+            }
+        }
+        return nearest;
+    }
+
+    // Fills pathToAvatar with a chaser's route by following the distance field
+    private void tracePathToAvatar(Chaser chaser) {
+        if (pathToAvatar == null) {
+            pathToAvatar = new int[WIDTH * HEIGHT];
+        }
+        pathToAvatarLength = 0;
+        int next = avatarField().nextStepFrom(chaser.getX(), chaser.getY());
+        while (next >= 0) {
+            pathToAvatar[pathToAvatarLength++] = next;
+            next = avatarField().nextStepFrom(next / HEIGHT, next % HEIGHT);
+        }
+    }
+
+    /**
+     * Moves the first chaser, e.g. when restoring a saved game.
+     */
     public void setChaserToNewPosition(int x, int y) {
+        if (!chasers.isEmpty()) {
+            Chaser chaser = chasers.getFirst();
+            if (chaser.getX() != x || chaser.getY() != y) { // Else it would record itself as the tile under it
+                moveChaserTo(chaser, x, y);
+            }
+            chaser.settle(); // A jump, not a step: nothing to interpolate
+        }
+    }
+
+    private void moveChaserTo(Chaser chaser, int x, int y) {
         // Store the tile at the new position before we move there
-        TETile newPosTile = map[x][y];
+        TETile newPosTile = tiles.get(x, y);
 
         // Restore the tile that was under the chaser at the old position
-        map[chaserX][chaserY] = tileUnderChaser;
+        int oldX = chaser.getX();
+        int oldY = chaser.getY();
+        tiles.set(oldX, oldY, chaser.getTileUnder());
+        chasersOnCell[oldX * HEIGHT + oldY]--;
 
-        // Update chaser position
-        chaserX = x;
-        chaserY = y;
-
-        // Remember what tile is at the new position
-        tileUnderChaser = newPosTile;
+        // Update chaser position and remember what tile is at the new position
+        chaser.moveTo(x, y, newPosTile);
+        chasersOnCell[x * HEIGHT + y]++;
 
         // Place chaser at new position
-        map[chaserX][chaserY] = CHASER;
+        tiles.set(x, y, CHASER);
+        notifyTileChanged(oldX, oldY);
+        notifyTileChanged(x, y);
     }
 
     public void togglePathDisplay() {
         isShowPath = !isShowPath;
     }
 
+    /**
+     * Advances timed effects by one simulation tick: the ice slide moves one tile
+     * and the path flash toggles on its own cadence. Chasers are stepped
+     * separately by the caller.
+     *
+     * @return true if anything visible changed
+     */
+    public boolean tick() {
+        tickCount++;
+        for (Chaser chaser : chasers) {
+            chaser.settle();
+        }
+
+        boolean changed = false;
+        if (isSliding) {
+            stepIceSlide();
+            changed = true;
+        }
+        if (tickCount - lastPathFlashTick >= PATH_FLASH_TICKS) {
+            lastPathFlashTick = tickCount;
+            showPathThisFrame = !showPathThisFrame; // Toggle path visibility
+            changed |= isDarkMode;
+        }
+        return changed;
+    }
+
+    /**
+     * @return true if any chaser stepped during the current tick
+     */
+    public boolean hasMovingChasers() {
+        for (Chaser chaser : chasers) {
+            if (chaser.isMoving()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isSliding() {
+        return isSliding;
+    }
+
     public boolean moveAvatar(char direction) {
+        // Input is ignored until the avatar comes to rest on the ice
+        if (isSliding) {
+            return false;
+        }
         lastDirection = direction;
         int newX = avatarX;
         int newY = avatarY;
@@ -578,25 +1051,28 @@ public class World {
         }
 
         // Early exit if movement is blocked
-        if (newX < 0 || newX >= WIDTH || newY < 0 || newY >= HEIGHT || map[newX][newY] == WALL) {
+        if (!tiles.isWalkable(newX, newY)) {
             return false;
         }
 
-        TETile tileAtNewPosition = map[newX][newY];
+        TETile tileAtNewPosition = tiles.get(newX, newY);
 
         // Cache obstacle at new position
-        Point newPos = new Point(newX, newY);
-        ObstacleType obstacle = obstacles.get(newPos);
+        int newCell = cell(newX, newY);
+        ObstacleType obstacle = obstacles.get(newCell);
 
         // Move avatar first for responsive feel
         setAvatarToNewPosition(newX, newY);
 
         // Handle special tiles after movement
         if (obstacle != null) {
-            handleObstacle(obstacle, newPos);
-            obstacles.remove(newPos);
-        } else if (consumablePositions.contains(newPos)) {
-            handleConsumable(newPos, tileAtNewPosition);
+            obstacles.remove(newCell);
+            if (obstacle == ObstacleType.DARK_MODE) {
+                darkRooms.remove(newX, newY);
+            }
+            handleObstacle(obstacle, new Point(newX, newY));
+        } else if (consumablePositions.containsKey(newCell)) {
+            handleConsumable(newCell, tileAtNewPosition);
         }
 
         if (tileAtNewPosition == Tileset.TORCH) {
@@ -605,14 +1081,14 @@ public class World {
 
         // Check if reached door
         if (newX == doorX && newY == doorY) {
-            map[doorX][doorY] = Tileset.UNLOCKED_DOOR;
+            tiles.set(doorX, doorY, Tileset.UNLOCKED_DOOR);
         }
 
         // Perform proximity checks less frequently
-        if (System.currentTimeMillis() - lastProximityCheck > 100) {
+        if (tickCount - lastProximityCheckTick >= PROXIMITY_CHECK_TICKS) {
             checkDarkModeProximity();
             checkChaserProximity();
-            lastProximityCheck = System.currentTimeMillis();
+            lastProximityCheckTick = tickCount;
         }
 
         return true;
@@ -626,175 +1102,334 @@ public class World {
         // Update position
         avatarX = newX;
         avatarY = newY;
+        if (avatarField != null) {
+            avatarField.moveRoot(newX, newY);
+        }
 
         // Reset old position to floor
-        map[oldX][oldY] = FLOOR;
+        tiles.set(oldX, oldY, FLOOR);
 
         // Update avatar tile at new position based on player's choice and direction
         updateAvatarTile();
+        notifyTileChanged(oldX, oldY);
+        notifyTileChanged(newX, newY);
     }
 
-    private void initializeWorldWithTiles() {
-        for (int i = 0; i < WIDTH; i++) {
-            for (int j = 0; j < HEIGHT; j++) {
-                map[i][j] = UNUSED;
-            }
+    /**
+     * Registers a listener told about cells changed by avatar and chaser moves, or
+     * null to stop notifying.
+     */
+    public void setTileChangeListener(TileChangeListener listener) {
+        this.tileChangeListener = listener;
+    }
+
+    private void notifyTileChanged(int x, int y) {
+        if (tileChangeListener != null) {
+            tileChangeListener.tileChanged(x, y);
         }
+    }
+
+    private void initializeWorldWithTiles() {
+        tiles.fill(UNUSED);
         this.buildWorld();
     }
 
     public void buildWorld() {
         generateRoom();
         Collections.sort(rooms);
+        for (int i = 0; i < rooms.size(); i++) {
+            roomIndices.put(rooms.get(i), i);
+        }
         connectRoomsWithMST();
-    }
-
-    private void connectRoomsWithMST() {
-        if (rooms.isEmpty()) {
-            return;
+        repairCorridors = connectRegions();
+    }
+
+    // Open cells are those anyone could stand on: not walls and not the void outside
+    private boolean isOpen(int x, int y) {
+        TETile tile = tiles.get(x, y);
+        return tile != WALL && tile != UNUSED;
+    }
+
+    /**
+     * Makes sure every open cell can be reached from every other. The hallways
+     * normally see to that; if they leave a region cut off, the shortest corridor to
+     * the largest region is carved through the walls and void between them and walled
+     * in like a hallway, until only one region is left. A region that cannot be
+     * bridged is left as it is; {@link #checkReachability()} then reports more than
+     * one region.
+     *
+     * @return the number of corridors added
+     */
+    private int connectRegions() {
+        RegionMap regions = new RegionMap(WIDTH, HEIGHT, this::isOpen);
+        regions.label();
+        int corridors = 0;
+        while (regions.regionCount() > 1) {
+            int[] bridge = regions.bridgeFrom(regions.largestRegion());
+            if (bridge == null) {
+                break;
+            }
+            for (int cell : bridge) {
+                carveCorridorCell(cell / HEIGHT, cell % HEIGHT);
+            }
+            corridors++;
+            regions.label();
         }
-        PriorityQueue<Edge> pq = new PriorityQueue<>(Comparator.comparingDouble(Edge::getDistance));
-        Set<Room> inMST = new HashSet<>();
-        Room startRoom = rooms.getFirst();
-        inMST.add(startRoom);
+        return corridors;
+    }
 
-        for (Room room : rooms) {
-            if (room != startRoom) {
-                pq.add(new Edge(startRoom, room, startRoom.calculateDistance(room)));
+    private void carveCorridorCell(int x, int y) {
+        tiles.set(x, y, FLOOR);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                if (tiles.inBounds(x + dx, y + dy) && tiles.get(x + dx, y + dy) == UNUSED) {
+                    tiles.set(x + dx, y + dy, WALL);
+                }
             }
         }
+    }
 
-        while ((inMST.size() < rooms.size())) {
-            Edge minEdge = pq.poll();
-            assert minEdge != null;
-            if (inMST.contains(minEdge.getRoom1()) && inMST.contains(minEdge.getRoom2())) {
-                continue;
-            }
-            Room newRoom = inMST.contains(minEdge.getRoom1()) ? minEdge.getRoom2() : minEdge.getRoom1();
-            inMST.add(newRoom);
+    /**
+     * Checks what the avatar can walk to from where it stands now. Costs one flood
+     * fill of the map.
+     */
+    public ReachabilityReport checkReachability() {
+        RegionMap regions = new RegionMap(WIDTH, HEIGHT, this::isOpen);
+        regions.label();
+        int avatarRegion = regions.regionAt(avatarX, avatarY);
+        int reachable = avatarRegion == RegionMap.NONE ? 0 : regions.regionSize(avatarRegion);
+        // The door sits in a wall, so its cell is only open once a door has been placed
+        boolean doorReachable = avatarRegion != RegionMap.NONE && regions.regionAt(doorX, doorY) == avatarRegion;
 
-            connectRooms(minEdge.getRoom1(), minEdge.getRoom2());
+        List<Point> unreachableConsumables = new ArrayList<>();
+        consumablePositions.forEach((cell, type) -> {
+            if (avatarRegion == RegionMap.NONE || regions.regionAt(cell / HEIGHT, cell % HEIGHT) != avatarRegion) {
+                unreachableConsumables.add(new Point(cell / HEIGHT, cell % HEIGHT));
+            }
+        });
+        List<Point> unreachableObstacles = new ArrayList<>();
+        obstacles.forEach((cell, type) -> {
+            if (avatarRegion == RegionMap.NONE || regions.regionAt(cell / HEIGHT, cell % HEIGHT) != avatarRegion) {
+                unreachableObstacles.add(new Point(cell / HEIGHT, cell % HEIGHT));
+            }
+        });
+        return new ReachabilityReport(regions.regionCount(), reachable, regions.passableCells() - reachable,
+                doorReachable, unreachableConsumables, unreachableObstacles, repairCorridors);
+    }
 
-            for (Room room : rooms) {
-                if (!inMST.contains(room)) {
-                    pq.add(new Edge(newRoom, room, newRoom.calculateDistance(room)));
+    /**
+     * Joins the rooms with hallways along a minimum spanning tree of their center
+     * distances (Kruskal's algorithm). Small worlds consider every pair of rooms. Large
+     * ones only consider each room's nearest neighbours, found through a grid of room
+     * centers, so the work grows with the number of rooms rather than its square; if
+     * that leaves the rooms disconnected, more neighbours are tried.
+     */
+    private void connectRoomsWithMST() {
+        if (rooms.isEmpty()) {
+            return;
+        }
+        int n = rooms.size();
+        List<Edge> tree = null;
+        for (int k = MST_NEIGHBOURS; tree == null; k *= 2) {
+            List<Edge> candidates = n <= COMPLETE_GRAPH_MAX_ROOMS || k >= n - 1
+                    ? allRoomPairs() : nearestRoomPairs(k);
+            tree = spanningTree(candidates);
+        }
+
+        // Hallways go from the room already connected to the new one, starting at the
+        // first room, in the order the tree reaches them
+        List<List<Edge>> edgesOf = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            edgesOf.add(new ArrayList<>());
+        }
+        for (Edge edge : tree) {
+            edgesOf.get(roomIndex(edge.getRoom1())).add(edge);
+            edgesOf.get(roomIndex(edge.getRoom2())).add(edge);
+        }
+        boolean[] reached = new boolean[n];
+        ArrayDeque<Room> queue = new ArrayDeque<>();
+        queue.add(rooms.getFirst());
+        reached[0] = true;
+        while (!queue.isEmpty()) {
+            Room room = queue.poll();
+            for (Edge edge : edgesOf.get(roomIndex(room))) {
+                Room other = edge.getRoom1() == room ? edge.getRoom2() : edge.getRoom1();
+                if (!reached[roomIndex(other)]) {
+                    reached[roomIndex(other)] = true;
+                    connectRooms(room, other);
+                    queue.add(other);
                 }
             }
         }
     }
 
-    public void generateRoom() {
-        int difficulty = player.calculateDifficulty(); // Get difficulty based on player points
-        int minRooms = 1 + difficulty;
-        int maxRooms = 5 + (difficulty * 3);
-        int roomNums = random.nextInt(maxRooms - minRooms + 1) + minRooms;
-        // int roomNums = 3;
-
-        // Generate rooms within the grid boundaries
-        while (rooms.size() < roomNums) {
-            int width = random.nextInt(10) + 5;
-            int height = random.nextInt(7) + 3;
-            int x = random.nextInt(WIDTH - width - 2) + 1;
-            int y = random.nextInt(HEIGHT - height - 2) + 1;
-            Room newRoom = new Room(width, height, x, y);
-            Iterable<Point> points = newRoom.roomPoints();
-            if (!isColliding(points)) {
-                rooms.add(newRoom);
-                markUsed(points);
-                placeRoom(newRoom);
+    // Kruskal over the candidate edges; null if they do not connect every room
+    private List<Edge> spanningTree(List<Edge> candidates) {
+        candidates.sort(Comparator.comparingDouble(Edge::getDistance));
+        UnionFind components = new UnionFind(rooms.size());
+        List<Edge> tree = new ArrayList<>(rooms.size() - 1);
+        for (Edge edge : candidates) {
+            if (components.union(roomIndex(edge.getRoom1()), roomIndex(edge.getRoom2()))) {
+                tree.add(edge);
             }
         }
+        return components.count() == 1 ? tree : null;
     }
 
-    private ArrayList<Point> findPath(Point start, Point goal) {
-        long currentTime = System.currentTimeMillis();
-
-        // Check cache first
-        String cacheKey = start.x + "," + start.y + ":" + goal.x + "," + goal.y;
-        if (pathCache.containsKey(cacheKey) && currentTime - lastPathCalculation < PATH_CACHE_DURATION) {
-            return new ArrayList<>(pathCache.get(cacheKey)); // Convert List to ArrayList
+    private List<Edge> allRoomPairs() {
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < rooms.size(); i++) {
+            for (int j = i + 1; j < rooms.size(); j++) {
+                edges.add(new Edge(rooms.get(i), rooms.get(j), rooms.get(i).calculateDistance(rooms.get(j))));
+            }
         }
+        return edges;
+    }
 
-        // Original path finding logic
-        Map<Point, Double> gScore = new HashMap<>();
-        PriorityQueue<Point> openSet = new PriorityQueue<>(
-                Comparator.comparingDouble(p -> gScore.getOrDefault(p, Double.POSITIVE_INFINITY)));
-        Set<Point> closedSet = new HashSet<>();
-        Map<Point, Point> comeFrom = new HashMap<>();
-        openSet.add(start);
-        gScore.put(start, 0.0);
+    // Edges from every room to its k nearest rooms, searching a grid of room centers
+    // ring by ring until no unseen room can be closer than the k-th best found
+    private List<Edge> nearestRoomPairs(int k) {
+        int n = rooms.size();
+        int cellSize = Math.max(1, (int) Math.sqrt((double) WIDTH * HEIGHT / n));
+        int columns = WIDTH / cellSize + 1;
+        int rows = HEIGHT / cellSize + 1;
+        List<List<Room>> grid = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            grid.add(new ArrayList<>(2));
+        }
+        for (Room room : rooms) {
+            grid.get(centerX(room) / cellSize * rows + centerY(room) / cellSize).add(room);
+        }
 
-        while (!openSet.isEmpty()) {
-            Point current = openSet.poll();
-            if (current.equals(goal)) {
-                ArrayList<Point> path = constructPath(comeFrom, current);
-                // Store in cache
-                pathCache.put(cacheKey, new ArrayList<>(path));
-                lastPathCalculation = currentTime;
-                return path;
+        List<Edge> edges = new ArrayList<>(n * k);
+        Room[] best = new Room[k];
+        double[] bestDistance = new double[k];
+        for (Room room : rooms) {
+            int cx = centerX(room) / cellSize;
+            int cy = centerY(room) / cellSize;
+            int found = 0;
+            for (int ring = 0; ring < Math.max(columns, rows); ring++) {
+                if (found == k && bestDistance[k - 1] <= (ring - 1) * (double) cellSize) {
+                    break;
+                }
+                for (int gx = cx - ring; gx <= cx + ring; gx++) {
+                    for (int gy = cy - ring; gy <= cy + ring; gy++) {
+                        boolean onRing = Math.abs(gx - cx) == ring || Math.abs(gy - cy) == ring;
+                        if (!onRing || gx < 0 || gx >= columns || gy < 0 || gy >= rows) {
+                            continue;
+                        }
+                        for (Room other : grid.get(gx * rows + gy)) {
+                            if (other == room) {
+                                continue;
+                            }
+                            // Insert into the k best, kept sorted by distance
+                            double distance = room.calculateDistance(other);
+                            if (found == k && distance >= bestDistance[k - 1]) {
+                                continue;
+                            }
+                            int i = found < k ? found++ : k - 1;
+                            while (i > 0 && bestDistance[i - 1] > distance) {
+                                best[i] = best[i - 1];
+                                bestDistance[i] = bestDistance[i - 1];
+                                i--;
+                            }
+                            best[i] = other;
+                            bestDistance[i] = distance;
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < found; i++) {
+                edges.add(new Edge(room, best[i], bestDistance[i]));
             }
+        }
+        return edges;
+    }
 
-            closedSet.add(current);
+    private static int centerX(Room room) {
+        return room.getPositionX() + room.getWidth() / 2;
+    }
 
-            for (Point neighbour : getNeighbour(current)) {
-                if (closedSet.contains(neighbour)) {
-                    continue;
-                }
+    private static int centerY(Room room) {
+        return room.getPositionY() + room.getHeight() / 2;
+    }
 
-                double tentativeGScore = gScore.get(current) + 1;
+    private int roomIndex(Room room) {
+        return roomIndices.get(room);
+    }
 
-                if (!openSet.contains(neighbour)) {
-                    openSet.add(neighbour);
-                } else if (tentativeGScore >= gScore.get(neighbour)) {
-                    continue;
-                }
+    public void generateRoom() {
+        // Larger worlds get proportionally more rooms
+        int scale = Math.max(1, (WIDTH * HEIGHT) / (DEFAULT_WIDTH * DEFAULT_HEIGHT));
+        int minRooms = (1 + difficulty) * scale;
+        int maxRooms = (5 + (difficulty * 3)) * scale;
+        int roomNums = layoutRandom.nextInt(maxRooms - minRooms + 1) + minRooms;
+        // int roomNums = 3;
 
-                gScore.put(neighbour, tentativeGScore);
-                comeFrom.put(neighbour, current);
+        // Generate rooms within the grid boundaries, giving up once the map is too
+        // full for another room to fit
+        int failedAttempts = 0;
+        while (rooms.size() < roomNums && failedAttempts < MAX_FAILED_ROOM_ATTEMPTS) {
+            int width = layoutRandom.nextInt(10) + 5;
+            int height = layoutRandom.nextInt(7) + 3;
+            int x = layoutRandom.nextInt(WIDTH - width - 2) + 1;
+            int y = layoutRandom.nextInt(HEIGHT - height - 2) + 1;
+            if (!isColliding(x, y, width, height)) {
+                Room newRoom = new Room(width, height, x, y);
+                rooms.add(newRoom);
+                markUsed(x, y, width, height);
+                placeRoom(newRoom);
+                failedAttempts = 0;
+            } else {
+                failedAttempts++;
             }
         }
-        return null;
     }
 
-    private List<Point> getNeighbour(Point p) {
-        List<Point> neighbours = new ArrayList<>();
-        int[][] directions = { { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 } }; // Up, Right, Down, Left
+    /**
+     * Finds a shortest path between two cells; the steps can be read back from
+     * the pathfinder until the next search.
+     *
+     * @return the number of steps (0 if start equals goal), or -1 if unreachable
+     */
+    int findPath(int startX, int startY, int goalX, int goalY) {
+        return pathfinder().findPath(startX, startY, goalX, goalY);
+    }
 
-        for (int[] d : directions) {
-            int newX = p.x + d[0];
-            int newY = p.y + d[1];
-            Point newPoint = new Point(newX, newY);
-            // Allow the neighbor if it's either walkable OR it's the avatar's position
-            if (isWalkable(newX, newY) ||
-                    (newX == avatarX && newY == avatarY)) {
-                neighbours.add(newPoint);
-            }
+    // The search structures take several ints per cell, so they are only allocated
+    // once gameplay needs them; generating a world does not
+    private GridPathfinder pathfinder() {
+        if (pathfinder == null) {
+            pathfinder = new GridPathfinder(WIDTH, HEIGHT, this::isPathable);
         }
-        return neighbours;
+        return pathfinder;
     }
 
-    private ArrayList<Point> constructPath(Map<Point, Point> comeFrom, Point current) {
-        ArrayList<Point> path = new ArrayList<>();
-        path.add(current);
-        while (comeFrom.containsKey(current)) {
-            current = comeFrom.get(current);
-            path.add(current);
+    private DistanceField avatarField() {
+        if (avatarField == null) {
+            avatarField = new DistanceField(WIDTH, HEIGHT, this::isWalkable);
+            avatarField.moveRoot(avatarX, avatarY);
         }
-        // Only remove the starting position (chaser's current position)
-        path.removeLast();
-        Collections.reverse(path);
-        return path;
+        return avatarField;
     }
 
-    private void markUsed(Iterable<Point> points) {
-        for (Point p : points) {
-            usedSpaces.add(p);
+    // A cell the chaser's path may cross: anything walkable, plus the avatar's own tile
+    private boolean isPathable(int x, int y) {
+        return isWalkable(x, y) || (x == avatarX && y == avatarY);
+    }
+
+    // Marks the room with its lower-left corner at (x, y), walls included, as used
+    private void markUsed(int x, int y, int width, int height) {
+        for (int i = x; i <= x + width; i++) {
+            usedSpaces.set(i * HEIGHT + y, i * HEIGHT + y + height + 1);
         }
     }
 
-    private boolean isColliding(Iterable<Point> points) {
-        for (Point p : points) {
-            if (usedSpaces.contains(p)) {
+    // Whether any cell of that room, walls included, is already used; one column at a time
+    private boolean isColliding(int x, int y, int width, int height) {
+        for (int i = x; i <= x + width; i++) {
+            int next = usedSpaces.nextSetBit(i * HEIGHT + y);
+            if (next >= 0 && next <= i * HEIGHT + y + height) {
                 return true;
             }
         }
@@ -808,16 +1443,16 @@ public class World {
         int height = room.getHeight();
         for (int i = x + 1; i < x + width; i++) {
             for (int j = y + 1; j < y + height; j++) {
-                map[i][j] = FLOOR;
+                tiles.set(i, j, FLOOR);
             }
         }
         for (int i = x; i <= x + width; i++) {
-            map[i][y] = WALL;
-            map[i][y + height] = WALL;
+            tiles.set(i, y, WALL);
+            tiles.set(i, y + height, WALL);
         }
         for (int j = y; j <= y + height; j++) {
-            map[x][j] = WALL;
-            map[x + width][j] = WALL;
+            tiles.set(x, j, WALL);
+            tiles.set(x + width, j, WALL);
         }
     }
 
@@ -838,7 +1473,7 @@ public class World {
     private Hallway createHallway(Room room1, Room room2) {
         int x1 = room1.getPositionX() + room1.getWidth() / 2;
         int y1 = room1.getPositionY() + room1.getHeight() / 2;
-        Hallway hallway = new Hallway();
+        Hallway hallway = null;
         // vertical straight hallway
         if (x1 >= room2.getPositionX() + 2 && x1 <= room2.getPositionX() + room2.getWidth() - 2) {
             // room2 is above room1
@@ -858,8 +1493,8 @@ public class World {
                 hallway = new StraightHallway(x1 + room1.getWidth() / 2, y1, room2.getPositionX(), y1);
             }
         }
-        // create turn hallway
-        else {
+        // create turn hallway, also when the rooms line up but touch (no straight one fits)
+        if (hallway == null) {
             int midX = room2.getPositionX();
             int midY = room1.getPositionY();
             if (room1.getPositionX() <= room2.getPositionX()) {
@@ -879,9 +1514,7 @@ public class World {
     private void placeHallway(Hallway hallway) {
         if (hallway instanceof StraightHallway) {
             placeStraightHallway(hallway);
-        } else {
-            // turn hallway
-            TurnHallway turnHallway = (TurnHallway) hallway;
+        } else if (hallway instanceof TurnHallway turnHallway) {
             placeTurnHallway(turnHallway);
         }
     }
@@ -916,9 +1549,9 @@ public class World {
         int i, j;
         for (i = smallX; i <= bigX; i++) {
             if (tileSet == FLOOR) {
-                map[i][smallY] = tileSet;
-            } else if (map[i][smallY] != FLOOR) {
-                map[i][smallY] = tileSet;
+                tiles.set(i, smallY, tileSet);
+            } else if (tiles.get(i, smallY) != FLOOR) {
+                tiles.set(i, smallY, tileSet);
             }
         }
         // then the vertical part
@@ -928,9 +1561,9 @@ public class World {
                 x = bigX;
             }
             if (tileSet == FLOOR) {
-                map[x][j] = tileSet;
-            } else if (map[x][j] != FLOOR) {
-                map[x][j] = tileSet;
+                tiles.set(x, j, tileSet);
+            } else if (tiles.get(x, j) != FLOOR) {
+                tiles.set(x, j, tileSet);
             }
         }
     }
@@ -939,13 +1572,13 @@ public class World {
         if (hallway.isVertical()) {
             for (int i = hallway.startX; i <= hallway.startX + 2; i += 2) {
                 for (int j = hallway.startY; j <= hallway.endY; j++) {
-                    if (map[i][j] != FLOOR) {
-                        map[i][j] = WALL;
+                    if (tiles.get(i, j) != FLOOR) {
+                        tiles.set(i, j, WALL);
                     }
                 }
             }
             for (int j = hallway.startY; j <= hallway.endY; j++) {
-                map[hallway.startX + 1][j] = FLOOR;
+                tiles.set(hallway.startX + 1, j, FLOOR);
             }
         } else {
             int startX = hallway.startX;
@@ -957,13 +1590,13 @@ public class World {
             }
             for (int i = startX; i <= endX; i++) {
                 for (int j = hallway.startY; j <= hallway.startY + 2; j += 2) {
-                    if (map[i][j] != FLOOR) {
-                        map[i][j] = WALL;
+                    if (tiles.get(i, j) != FLOOR) {
+                        tiles.set(i, j, WALL);
                     }
                 }
             }
             for (int i = startX; i <= endX; i++) {
-                map[i][hallway.startY + 1] = FLOOR;
+                tiles.set(i, hallway.startY + 1, FLOOR);
             }
         }
     }
@@ -972,8 +1605,16 @@ public class World {
 
     }
 
+    /**
+     * @return the world as a TETile[x][y] array for rendering. Built on first use and
+     * kept up to date afterwards; callers must not write to it.
+     */
     public TETile[][] getMap() {
-        return map;
+        return tiles.toArray();
+    }
+
+    public TETile getTile(int x, int y) {
+        return tiles.get(x, y);
     }
 
     public int getAvatarX() {
@@ -984,6 +1625,34 @@ public class World {
         return avatarY;
     }
 
+    public int getRoomCount() {
+        return rooms.size();
+    }
+
+    public int getHallwayCount() {
+        return hallways.size();
+    }
+
+    /**
+     * @return how many unwinnable seeds {@link LevelParameters#createWorld} skipped
+     *         before settling on this world's seed
+     */
+    public int getSkippedSeeds() {
+        return skippedSeeds;
+    }
+
+    void setSkippedSeeds(int skippedSeeds) {
+        this.skippedSeeds = skippedSeeds;
+    }
+
+    /**
+     * @return the number of steps from the avatar to (x, y), or
+     * {@link DistanceField#UNREACHABLE} if no path exists
+     */
+    public int distanceFromAvatar(int x, int y) {
+        return avatarField().distanceTo(x, y);
+    }
+
     public long getSeed() {
         return seed;
     }
@@ -993,15 +1662,23 @@ public class World {
     }
 
     public List<Point> getPathToAvatar() {
-        return pathToAvatar;
+        List<Point> path = new ArrayList<>(pathToAvatarLength);
+        for (int i = 0; i < pathToAvatarLength; i++) {
+            path.add(new Point(pathToAvatar[i] / HEIGHT, pathToAvatar[i] % HEIGHT));
+        }
+        return path;
     }
 
     public int getChaserX() {
-        return chaserX;
+        return chasers.isEmpty() ? 0 : chasers.getFirst().getX();
     }
 
     public int getChaserY() {
-        return chaserY;
+        return chasers.isEmpty() ? 0 : chasers.getFirst().getY();
+    }
+
+    public List<Chaser> getChasers() {
+        return Collections.unmodifiableList(chasers);
     }
 
     public int getDoorX() {
@@ -1012,10 +1689,6 @@ public class World {
         return doorY;
     }
 
-    public Set<Point> getConsumablePositions() {
-        return consumablePositions;
-    }
-
     public EventDispatcher getEventDispatcher() {
         return eventDispatcher;
     }
@@ -1030,31 +1703,23 @@ public class World {
         switch (obstacle) {
             case SPIKES:
                 player.addPoints(obstacle.getPointPenalty());
-                AudioManager.getInstance().playSound("damage");
-                eventDispatcher.dispatch(new Event(Event.EventType.OBSTACLE_HIT,
-                        "Ouch! Lost " + Math.abs(obstacle.getPointPenalty()) + " points!"));
+                eventDispatcher.dispatch(Event.Cause.SPIKES, obstacle.getPointPenalty());
                 break;
 
             case TELEPORTER:
-                List<Point> validSpots = getValidTeleportLocations();
-                if (!validSpots.isEmpty()) { // Add check for empty list
-                    Point newLocation = validSpots.get(random.nextInt(validSpots.size()));
-                    setAvatarToNewPosition(newLocation.x, newLocation.y);
-                    AudioManager.getInstance().playSound("teleport");
-                    eventDispatcher.dispatch(new Event(Event.EventType.OBSTACLE_HIT,
-                            "Teleported!"));
+                int newLocation = pickTeleportLocation();
+                if (newLocation >= 0) {
+                    setAvatarToNewPosition(newLocation / HEIGHT, newLocation % HEIGHT);
+                    eventDispatcher.dispatch(Event.Cause.TELEPORTED);
                 } else {
                     // Fallback if no valid spots found
-                    eventDispatcher.dispatch(new Event(Event.EventType.OBSTACLE_HIT,
-                            "Teleporter malfunctioned!"));
+                    eventDispatcher.dispatch(Event.Cause.TELEPORT_FAILED);
                 }
                 break;
 
             case ICE:
                 handleIceSlide(position);
-                AudioManager.getInstance().playSound("slide");
-                eventDispatcher.dispatch(new Event(Event.EventType.OBSTACLE_HIT,
-                        "Sliding on ice!"));
+                eventDispatcher.dispatch(Event.Cause.ICE);
                 break;
 
             case DARK_MODE:
@@ -1063,27 +1728,62 @@ public class World {
         }
     }
 
-    private List<Point> getValidTeleportLocations() {
-        List<Point> validSpots = new ArrayList<>();
+    /**
+     * Picks a valid teleport destination uniformly at random without building a list
+     * of every candidate: a few random cells are tried first, which nearly always
+     * finds one, and only if they all miss are the valid cells counted and one chosen.
+     *
+     * @return the cell id (x * HEIGHT + y), or -1 if there is no valid destination
+     */
+    private int pickTeleportLocation() {
+        for (int i = 0; i < TELEPORT_PROBES; i++) {
+            int x = runtimeRandom.nextInt(WIDTH);
+            int y = runtimeRandom.nextInt(HEIGHT);
+            if (isValidTeleportLocation(x, y)) {
+                return x * HEIGHT + y;
+            }
+        }
 
-        // Check all positions in the world
+        int count = 0;
         for (int x = 0; x < WIDTH; x++) {
             for (int y = 0; y < HEIGHT; y++) {
-                Point point = new Point(x, y);
-
-                // Check multiple conditions for a valid teleport location
-                if (map[x][y] == FLOOR && // Must be a floor tile
-                        !obstacles.containsKey(point) && // No obstacles
-                        !consumablePositions.contains(point) && // No consumables
-                        (Math.abs(x - chaserX) > 5 || Math.abs(y - chaserY) > 5) && // Not too close to chaser
-                        (Math.abs(x - doorX) > 3 || Math.abs(y - doorY) > 3) && // Not too close to door
-                        (x != avatarX || y != avatarY)) { // Not current position
-                    validSpots.add(point);
+                if (isValidTeleportLocation(x, y)) {
+                    count++;
                 }
             }
         }
+        if (count == 0) {
+            return -1;
+        }
+        int n = runtimeRandom.nextInt(count);
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                if (isValidTeleportLocation(x, y) && n-- == 0) {
+                    return x * HEIGHT + y;
+                }
+            }
+        }
+        return -1;
+    }
 
-        return validSpots;
+    private boolean isValidTeleportLocation(int x, int y) {
+        if (tiles.get(x, y) != FLOOR) { // Must be a floor tile
+            return false;
+        }
+        return !obstacles.containsKey(cell(x, y)) && // No obstacles
+                !consumablePositions.containsKey(cell(x, y)) && // No consumables
+                !isNearChaser(x, y, 5) && // Not too close to a chaser
+                (Math.abs(x - doorX) > 3 || Math.abs(y - doorY) > 3) && // Not too close to door
+                (x != avatarX || y != avatarY); // Not current position
+    }
+
+    private boolean isNearChaser(int x, int y, int range) {
+        for (Chaser chaser : chasers) {
+            if (Math.abs(x - chaser.getX()) <= range && Math.abs(y - chaser.getY()) <= range) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private void handleIceSlide(Point position) {
@@ -1101,36 +1801,23 @@ public class World {
             } // Exit if no valid direction
         }
 
-        int newX = position.x;
-        int newY = position.y;
-
-        // Slide until hitting a wall or non-ice tile
-        while (true) {
-            int nextX = newX + dx;
-            int nextY = newY + dy;
-
-            // Check bounds and walls first
-            if (nextX < 0 || nextX >= WIDTH || nextY < 0 || nextY >= HEIGHT ||
-                    map[nextX][nextY] == WALL) {
-                break;
-            }
+        // The slide itself plays out over the following ticks
+        slideDx = dx;
+        slideDy = dy;
+        isSliding = true;
+    }
 
-            // Move to next position if it's ice or floor
-            newX = nextX;
-            newY = nextY;
+    private void stepIceSlide() {
+        int nextX = avatarX + slideDx;
+        int nextY = avatarY + slideDy;
 
-            // Optional delay for sliding effect
-            try {
-                Thread.sleep(50);
-                setAvatarToNewPosition(newX, newY);
-            } catch (InterruptedException e) {
-                // Handle interruption
-            }
+        // Slide until hitting a wall or the edge of the map
+        if (!tiles.isWalkable(nextX, nextY)) {
+            isSliding = false;
+            checkDarkModeProximity(); // Check proximity once the slide finishes
+            return;
         }
-
-        // Final position update along with checking for obstacles
-        setAvatarToNewPosition(newX, newY);
-        checkDarkModeProximity(); // <-- New: check proximity after sliding finishes
+        setAvatarToNewPosition(nextX, nextY);
     }
 
     public TETile getFloorTile() {
@@ -1147,48 +1834,65 @@ public class World {
 
     public TETile[][] getVisibleMap() {
         if (!isDarkMode) {
-            return map;
+            visibleMapShown = false;
+            return tiles.toArray();
         }
 
-        long currentTime = System.currentTimeMillis();
-
-        // Update path flash state
-        if (currentTime - lastPathFlashTime >= PATH_FLASH_INTERVAL) {
-            lastPathFlashTime = currentTime;
-            showPathThisFrame = !showPathThisFrame; // Toggle path visibility
+        // Reuse one buffer so a renderer can keep diffing against the same array. Only
+        // cells that changed from seen to unseen, or showed a marker, are revisited
+        if (visibleMap == null) {
+            visibleMap = new TETile[WIDTH][HEIGHT];
+            fieldOfView = new FieldOfView(WIDTH, HEIGHT, this::isWalkable);
         }
-
-        // Create a new map filled with darkness
-        visibleMap = new TETile[WIDTH][HEIGHT];
-        for (int x = 0; x < WIDTH; x++) {
-            for (int y = 0; y < HEIGHT; y++) {
-                visibleMap[x][y] = Tileset.NOTHING; // Dark tiles
+        if (!visibleMapShown) {
+            // The map may have changed since the last dark frame, so redraw what is remembered
+            for (int cell = 0; cell < WIDTH * HEIGHT; cell++) {
+                visibleMap[cell / HEIGHT][cell % HEIGHT] = unseenTile(cell);
             }
+            markedCount = 0;
+            visibleMapShown = true;
+        }
+
+        // Take down last frame's chasers, door and path; visible ones are redrawn below
+        for (int i = 0; i < markedCount; i++) {
+            visibleMap[markedCells[i] / HEIGHT][markedCells[i] % HEIGHT] = unseenTile(markedCells[i]);
         }
+        markedCount = 0;
 
-        // Show tiles within vision radius of avatar
-        for (int x = Math.max(0, avatarX - visionRadius); x < Math.min(WIDTH, avatarX + visionRadius + 1); x++) {
-            for (int y = Math.max(0, avatarY - visionRadius); y < Math.min(HEIGHT, avatarY + visionRadius + 1); y++) {
-                double distance = Math.sqrt(Math.pow(x - avatarX, 2) + Math.pow(y - avatarY, 2));
-                if (distance <= visionRadius) {
-                    visibleMap[x][y] = map[x][y];
+        // Show tiles the avatar can see, dimming those that just went out of sight
+        if (fieldOfView.update(avatarX, avatarY, visionRadius)) {
+            for (int i = 0; i < fieldOfView.visibleCount(); i++) {
+                explored.set(fieldOfView.visibleCell(i));
+            }
+            for (int i = 0; i < fieldOfView.previousCount(); i++) {
+                int cell = fieldOfView.previousCell(i);
+                if (!fieldOfView.isVisibleCell(cell)) {
+                    visibleMap[cell / HEIGHT][cell % HEIGHT] = unseenTile(cell);
                 }
             }
         }
+        for (int i = 0; i < fieldOfView.visibleCount(); i++) {
+            int cell = fieldOfView.visibleCell(i);
+            visibleMap[cell / HEIGHT][cell % HEIGHT] = tiles.get(cell);
+        }
 
-        // During flash, show chaser and door regardless of distance
-        // Show chaser
-        visibleMap[chaserX][chaserY] = map[chaserX][chaserY];
+        // During flash, show chasers and door regardless of distance
+        // Show chasers
+        for (Chaser chaser : chasers) {
+            mark(chaser.getX(), chaser.getY(), tiles.get(chaser.getX(), chaser.getY()));
+        }
 
         // Show door
-        visibleMap[doorX][doorY] = map[doorX][doorY];
+        mark(doorX, doorY, tiles.get(doorX, doorY));
 
         // Only show path if player is not invisible and path exists
-        if (!player.isInvisible() && pathToAvatar != null && !pathToAvatar.isEmpty() && showPathThisFrame) {
-            for (Point p : pathToAvatar) {
+        if (!player.isInvisible() && pathToAvatarLength > 0 && showPathThisFrame) {
+            for (int i = 0; i < pathToAvatarLength; i++) {
+                int x = pathToAvatar[i] / HEIGHT;
+                int y = pathToAvatar[i] % HEIGHT;
                 // Only set the path tile if it's not the chaser's position or avatar position
-                if (!((p.x == chaserX && p.y == chaserY) || (p.x == avatarX && p.y == avatarY))) {
-                    visibleMap[p.x][p.y] = Tileset.PATH;
+                if (!(isChaserAt(x, y) || (x == avatarX && y == avatarY))) {
+                    mark(x, y, Tileset.PATH);
                 }
             }
         }
@@ -1196,12 +1900,57 @@ public class World {
         return visibleMap;
     }
 
+    // What a cell out of sight shows in dark mode: nothing if it was never seen, else a
+    // dimmed view of what is there now, leaving out chasers
+    private TETile unseenTile(int cell) {
+        if (!explored.get(cell)) {
+            return Tileset.NOTHING;
+        }
+        TETile tile = tiles.get(cell);
+        if (chasersOnCell[cell] > 0) {
+            for (Chaser chaser : chasers) {
+                if (cell(chaser.getX(), chaser.getY()) == cell) {
+                    tile = chaser.getTileUnder();
+                    break;
+                }
+            }
+        }
+        return Tileset.remembered(tile);
+    }
+
+    /**
+     * @return a copy of the cells seen so far in dark mode, by cell id (x * height + y)
+     */
+    public BitSet getExploredCells() {
+        return (BitSet) explored.clone();
+    }
+
+    /**
+     * Replaces the cells seen so far in dark mode, e.g. when loading a save.
+     */
+    public void setExploredCells(BitSet cells) {
+        explored = (BitSet) cells.clone();
+        explored.clear(WIDTH * HEIGHT, Math.max(WIDTH * HEIGHT, explored.length()));
+        visibleMapShown = false;
+    }
+
+    public boolean isExplored(int x, int y) {
+        return tiles.inBounds(x, y) && explored.get(x * HEIGHT + y);
+    }
+
+    // Draws a tile shown whether or not the avatar can see it, to take down next frame
+    private void mark(int x, int y, TETile tile) {
+        if (markedCount == markedCells.length) {
+            markedCells = Arrays.copyOf(markedCells, markedCount * 2);
+        }
+        markedCells[markedCount++] = x * HEIGHT + y;
+        visibleMap[x][y] = tile;
+    }
+
     private void handleDarkRoom(Point position) {
         isDarkMode = true;
         visionRadius = 3; // Severely reduced vision
-        AudioManager.getInstance().playSound("darkness");
-        eventDispatcher.dispatch(new Event(Event.EventType.OBSTACLE_HIT,
-                "Darkness engulfs you! Find a torch or exit to restore light!"));
+        eventDispatcher.dispatch(Event.Cause.DARKNESS);
 
         // Place torch near the dark room
         placeTorchNearDarkRoom(position);
@@ -1220,8 +1969,7 @@ public class World {
         for (Point p : adjacentPositions) {
             if (isValidTorchPosition(p)) {
                 addTorch(p.x, p.y);
-                eventDispatcher.dispatch(new Event(Event.EventType.OBSTACLE_HIT,
-                        "A torch glimmers nearby..."));
+                eventDispatcher.dispatch(Event.Cause.TORCH_NEARBY);
                 return;
             }
         }
@@ -1234,9 +1982,9 @@ public class World {
         }
 
         // Check if position is a floor tile and not occupied by anything else
-        return map[p.x][p.y] == FLOOR &&
-                !obstacles.containsKey(p) &&
-                !consumablePositions.contains(p);
+        return tiles.get(p.x, p.y) == FLOOR &&
+                !obstacles.containsKey(cell(p.x, p.y)) &&
+                !consumablePositions.containsKey(cell(p.x, p.y));
     }
 
     public void pickupTorch() {
@@ -1245,17 +1993,14 @@ public class World {
         torchPositions.remove(currentPos);
 
         visionRadius = 15; // Increased from 7 to 15 for better visibility
-        AudioManager.getInstance().playSound("torch");
-        eventDispatcher.dispatch(new Event(Event.EventType.ITEM_PICKUP,
-                "You found a torch! Your vision greatly improves!"));
+        eventDispatcher.dispatch(Event.Cause.TORCH_FOUND);
     }
 
     public void exitDarkMode() {
         if (isDarkMode) {
             isDarkMode = false;
             visionRadius = 5; // Reset to default
-            eventDispatcher.dispatch(new Event(Event.EventType.OBSTACLE_END,
-                    "Light returns to the room!"));
+            eventDispatcher.dispatch(Event.Cause.LIGHT_RETURNS);
         }
     }
 
@@ -1272,25 +2017,22 @@ public class World {
             return;
         }
 
-        boolean isNear = false;
-        Point avatarPos = new Point(avatarX, avatarY);
-
-        for (Map.Entry<Point, ObstacleType> entry : obstacles.entrySet()) {
-            if (entry.getValue() == ObstacleType.DARK_MODE) {
-                List<Point> path = findPath(avatarPos, entry.getKey());
-                // If path exists and is within threshold
-                if (path != null && path.size() <= 6) { // Adjusted threshold for path length
-                    isNear = true;
-                    break;
-                }
+        // A path of at most EERIE_RANGE steps can only reach dark rooms that close on
+        // each axis; the avatar's distance field gives the path length to each one
+        int[] nearest = { Integer.MAX_VALUE, 0 }; // Path length and x of the nearest dark room
+        darkRooms.visitWithin(avatarX, avatarY, EERIE_RANGE, (x, y) -> {
+            int distance = avatarField().distanceTo(x, y);
+            if (distance >= 0 && distance < nearest[0]) {
+                nearest[0] = distance;
+                nearest[1] = x;
             }
-        }
+            return false;
+        });
 
-        if (isNear) {
-            if (!isEerieSoundPlaying) {
-                audioManager.playSound("eerie");
-                isEerieSoundPlaying = true;
-            }
+        if (nearest[0] <= EERIE_RANGE) {
+            audioManager.playPositionalSound("eerie", proximityGain(nearest[0], EERIE_RANGE),
+                    proximityPan(nearest[1], EERIE_RANGE));
+            isEerieSoundPlaying = true;
         } else {
             if (isEerieSoundPlaying) {
                 audioManager.fadeOutSound("eerie", 2000);
@@ -1322,24 +2064,23 @@ public class World {
             return;
         }
 
-        // Original proximity check logic for visible players
-        List<Point> path = findPath(new Point(chaserX, chaserY), new Point(avatarX, avatarY));
-
-        if (path == null || path.isEmpty()) {
-            if (isChaserSoundPlaying) {
-                audioManager.fadeOutSound("chaser", 2000);
-                isChaserSoundPlaying = false;
+        // The nearest chaser by path, read from the same distance field the chasers
+        // follow
+        int nearestDistance = Integer.MAX_VALUE;
+        int nearestX = 0;
+        for (Chaser chaser : chasers) {
+            int distance = avatarField().distanceTo(chaser.getX(), chaser.getY());
+            if (distance >= 0 && distance < nearestDistance) {
+                nearestDistance = distance;
+                nearestX = chaser.getX();
             }
-            return;
         }
 
-        int pathDistance = path.size();
-
-        if (pathDistance <= 8) {
-            if (!isChaserSoundPlaying) {
-                audioManager.playSound("chaser");
-                isChaserSoundPlaying = true;
-            }
+        // A chaser on the avatar has caught it, so the sound fades out as it always did
+        if (nearestDistance > 0 && nearestDistance <= CHASER_RANGE) {
+            audioManager.playPositionalSound("chaser", proximityGain(nearestDistance, CHASER_RANGE),
+                    proximityPan(nearestX, CHASER_RANGE));
+            isChaserSoundPlaying = true;
         } else {
             if (isChaserSoundPlaying) {
                 audioManager.fadeOutSound("chaser", 2000);
@@ -1348,103 +2089,126 @@ public class World {
         }
     }
 
+    // Full volume next to the avatar, fading linearly to nothing just past range
+    private static float proximityGain(int distance, int range) {
+        return 1f - (float) distance / (range + 1);
+    }
+
+    // Sources to the left of the avatar play on the left speaker, and so on
+    private float proximityPan(int sourceX, int range) {
+        return Math.max(-1f, Math.min(1f, (float) (sourceX - avatarX) / range));
+    }
+
+    // Cell id of (x, y), the key of the consumable and obstacle maps
+    private int cell(int x, int y) {
+        return x * HEIGHT + y;
+    }
+
     // Helper method to determine if a tile is walkable for the chaser.
     private boolean isWalkable(int x, int y) {
-        if (x < 0 || x >= WIDTH || y < 0 || y >= HEIGHT) {
-            return false;
-        }
-        if (map[x][y] == WALL) {
-            return false;
-        }
-        return true;
+        return tiles.isWalkable(x, y);
     }
 
     public void updateAvatarTile() {
         if (player != null) {
             if (player.isInvisible()) {
-                map[avatarX][avatarY] = Tileset.INVISIBLE;
+                tiles.set(avatarX, avatarY, Tileset.INVISIBLE);
             } else {
                 TETile[] directionalSet = AvatarTileset.DIRECTIONAL_SETS[player.getAvatarChoice()];
 
                 // Update the avatar tile based on the last direction moved
                 switch (Character.toLowerCase(lastDirection)) {
-                    case 'w' -> map[avatarX][avatarY] = directionalSet[1]; // Up
-                    case 's' -> map[avatarX][avatarY] = directionalSet[0]; // Down
-                    case 'a' -> map[avatarX][avatarY] = directionalSet[2]; // Left
-                    case 'd' -> map[avatarX][avatarY] = directionalSet[3]; // Right
-                    default -> map[avatarX][avatarY] = directionalSet[0]; // Default to front
+                    case 'w' -> tiles.set(avatarX, avatarY, directionalSet[1]); // Up
+                    case 's' -> tiles.set(avatarX, avatarY, directionalSet[0]); // Down
+                    case 'a' -> tiles.set(avatarX, avatarY, directionalSet[2]); // Left
+                    case 'd' -> tiles.set(avatarX, avatarY, directionalSet[3]); // Right
+                    default -> tiles.set(avatarX, avatarY, directionalSet[0]); // Default to front
                 }
             }
         }
     }
 
-    public void addConsumable(int x, int y, String type) {
-        // Create consumable based on type
-        Consumable consumable;
-        if (type.equals("Smiley Face")) {
-            consumable = new Consumable("Smiley Face", 10, Tileset.SMILEY_FACE_green_body_circle);
-        } else {
-            consumable = new Consumable("Normal Face", 5, Tileset.SMILEY_FACE_green_body_rhombus);
-        }
+    public void addConsumable(int x, int y, ConsumableType type) {
+        Consumable consumable = type.create();
 
         // Add to lists and map
         consumables.add(consumable);
-        consumablePositions.add(new Point(x, y));
-        map[x][y] = consumable.getTile();
+        consumablePositions.put(cell(x, y), type);
+        setItemTile(x, y, consumable.getTile());
     }
 
     public void addObstacle(int x, int y, ObstacleType type) {
-        map[x][y] = type.getTile();
-        obstacles.put(new Point(x, y), type);
+        setItemTile(x, y, type.getTile());
+        if (obstacles.put(cell(x, y), type) == null && type == ObstacleType.DARK_MODE) {
+            darkRooms.add(x, y);
+        }
     }
 
     public List<Point> getConsumablesList() {
         List<Point> consumableList = new ArrayList<>();
-        for (Point p : consumablePositions) {
-            consumableList.add(p);
-        }
+        consumablePositions.forEach((cell, type) -> consumableList.add(new Point(cell / HEIGHT, cell % HEIGHT)));
         return consumableList;
     }
 
+    /**
+     * @return a copy of the consumables still on the map, by position, including any
+     *         a chaser is standing on
+     */
+    public Map<Point, ConsumableType> getConsumableMap() {
+        Map<Point, ConsumableType> consumableMap = new HashMap<>();
+        consumablePositions.forEach((cell, type) -> consumableMap.put(new Point(cell / HEIGHT, cell % HEIGHT), type));
+        return consumableMap;
+    }
+
+    /**
+     * @return a copy of the obstacles still on the map, by position
+     */
     public Map<Point, ObstacleType> getObstacleMap() {
-        return obstacles;
+        Map<Point, ObstacleType> obstacleMap = new HashMap<>();
+        obstacles.forEach((cell, type) -> obstacleMap.put(new Point(cell / HEIGHT, cell % HEIGHT), type));
+        return obstacleMap;
     }
 
     public void setDoorPosition(int x, int y) {
         doorX = x;
         doorY = y;
         // Also update the map tile to show the door
-        map[x][y] = Tileset.LOCKED_DOOR;
+        tiles.set(x, y, Tileset.LOCKED_DOOR);
+        if (avatarField != null) {
+            avatarField.invalidate();
+        }
     }
 
     public void resetDoorState() {
-        if (map[doorX][doorY] == Tileset.UNLOCKED_DOOR) {
-            map[doorX][doorY] = Tileset.LOCKED_DOOR;
+        if (tiles.get(doorX, doorY) == Tileset.UNLOCKED_DOOR) {
+            tiles.set(doorX, doorY, Tileset.LOCKED_DOOR);
         }
     }
 
     // Add this method to handle consumables
-    private void handleConsumable(Point pos, TETile tileAtPosition) {
+    private void handleConsumable(int cell, TETile tileAtPosition) {
         for (Consumable consumable : consumables) {
             if (tileAtPosition == consumable.getTile()) {
-                AudioManager.getInstance().playSound("consume");
                 player.addPoints(consumable.getPointValue());
-                eventDispatcher.dispatch(new Event(Event.EventType.CONSUMABLE_CONSUMED,
-                        "You got " + consumable.getPointValue() + " points!"));
-                consumablePositions.remove(pos);
+                eventDispatcher.dispatch(Event.Cause.CONSUMED, consumable.getPointValue());
+                consumablePositions.remove(cell);
                 break;
             }
         }
     }
 
-    public static int getHEIGHT() {
-        return HEIGHT;
+    public int getDifficulty() {
+        return difficulty;
     }
 
-    public static int getWIDTH() {
+    public int getWidth() {
         return WIDTH;
     }
 
+    public int getHeight() {
+        return HEIGHT;
+    }
+
     // Add method to handle sound state
     public void stopChaserSound() {
         AudioManager.getInstance().stopSound("chaser");
@@ -1466,7 +2230,20 @@ public class World {
 
     public void addTorch(int x, int y) {
         torchPositions.add(new Point(x, y));
-        map[x][y] = Tileset.TORCH;
+        setItemTile(x, y, Tileset.TORCH);
+    }
+
+    // Puts an item on the map, or under the chaser standing there so it shows once the chaser moves on
+    private void setItemTile(int x, int y, TETile tile) {
+        if (!isChaserAt(x, y)) {
+            tiles.set(x, y, tile);
+            return;
+        }
+        for (Chaser chaser : chasers) {
+            if (chaser.getX() == x && chaser.getY() == y) {
+                chaser.moveTo(x, y, tile);
+            }
+        }
     }
 
     public List<Point> getTorchPositions() {
@@ -32,6 +32,12 @@ public class AvatarTileset {
             { MALE_FRONT, MALE_BACK, MALE_LEFT, MALE_RIGHT }
     };
 
+    // Every world-sized avatar tile, e.g. for preloading the tile atlas
+    public static final TETile[] ALL = {
+            FEMALE_FRONT, FEMALE_BACK, FEMALE_LEFT, FEMALE_RIGHT,
+            MALE_FRONT, MALE_BACK, MALE_LEFT, MALE_RIGHT
+    };
+
     // Avatar options for selection menu
     public static final AvatarOption[] AVATAR_OPTIONS = {
             new AvatarOption("Female Adventurer", FEMALE_PREVIEW, 0),
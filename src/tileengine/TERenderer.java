@@ -4,6 +4,9 @@ import edu.princeton.cs.algs4.StdDraw;
 
 import java.awt.Color;
 import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 
 /**
  * Utility class for rendering tiles. You do not need to modify this file. You're welcome
@@ -18,6 +21,21 @@ public class TERenderer {
     private int xOffset;
     private int yOffset;
 
+    // State for renderFrameIncremental: what is currently on the canvas
+    private TETile[][] lastSource; // Array drawn last time, compared by identity
+    private TETile[][] lastFrame; // Copy of the tile references drawn last time
+    private boolean fullRedraw = true;
+    private boolean[][] dirty;
+    private boolean anyDirty = false;
+    private int lastDrawCount = 0;
+
+    // Optional overlay region (e.g. a HUD drawn over the tiles)
+    private int overlayX0 = 0;
+    private int overlayY0 = 0;
+    private int overlayX1 = -1;
+    private int overlayY1 = -1;
+    private boolean overlayRedrawn = false;
+
     /**
      * Same functionality as the other initialization method. The only difference is that the xOff
      * and yOff parameters will change where the renderFrame method starts drawing. For example,
@@ -97,5 +115,206 @@ public class TERenderer {
             }
         }
         StdDraw.show();
+        fullRedraw = true; // Incremental state no longer matches the canvas
+    }
+
+    /**
+     * Renders the world into an image instead of the screen, drawing every tile from
+     * {@link TileAtlas}. Each tile is a square of target.getWidth() / world.length
+     * pixels, with y = 0 at the bottom as on screen.
+     * Handy for screenshots, thumbnails and measuring render cost without a window.
+     * @param world the 2D TETile[][] array to render
+     * @param target the image to draw into
+     * @return target
+     */
+    public BufferedImage renderFrame(TETile[][] world, BufferedImage target) {
+        int numXTiles = world.length;
+        int numYTiles = world[0].length;
+        int cellWidth = target.getWidth() / numXTiles;
+        int cellHeight = cellWidth; // Tiles are square
+        TileAtlas atlas = TileAtlas.getInstance();
+
+        // Opaque tiles are copied straight into an RGB target's pixel array
+        int[] targetPixels = null;
+        if (target.getType() == BufferedImage.TYPE_INT_RGB) {
+            targetPixels = ((DataBufferInt) target.getRaster().getDataBuffer()).getData();
+        }
+
+        Graphics2D g = target.createGraphics();
+        g.setColor(Color.BLACK);
+        // Row by row in image order, so consecutive copies touch neighbouring memory
+        for (int y = numYTiles - 1; y >= 0; y -= 1) {
+            for (int x = 0; x < numXTiles; x += 1) {
+                if (world[x][y] == null) {
+                    throw new IllegalArgumentException("Tile at position x=" + x + ", y=" + y
+                            + " is null.");
+                }
+                BufferedImage image = atlas.image(world[x][y], cellWidth);
+                int left = x * cellWidth;
+                int top = (numYTiles - 1 - y) * cellHeight;
+                if (targetPixels != null && image.getType() == BufferedImage.TYPE_INT_RGB) {
+                    copyTile(image, targetPixels, target.getWidth(), left, top);
+                } else {
+                    // Only tiles with transparency need the black background under them
+                    g.fillRect(left, top, cellWidth, cellHeight);
+                    g.drawImage(image, left, top, null);
+                }
+            }
+        }
+        g.dispose();
+        return target;
+    }
+
+    private static void copyTile(BufferedImage tile, int[] targetPixels, int targetWidth,
+                                 int left, int top) {
+        int[] tilePixels = ((DataBufferInt) tile.getRaster().getDataBuffer()).getData();
+        int size = tile.getWidth();
+        for (int row = 0; row < size; row += 1) {
+            System.arraycopy(tilePixels, row * size, targetPixels, (top + row) * targetWidth + left,
+                    size);
+        }
+    }
+
+    /**
+     * Renders the world on top of what the previous call left on the canvas, redrawing
+     * only the cells whose tile reference changed since then or that were marked with
+     * {@link #markDirty}. Falls back to a full clear-and-redraw the first time, after
+     * {@link #invalidate()}, or when a different array or array size is passed in.
+     *
+     * Unlike {@link #renderFrame}, this does not call StdDraw.show(), so callers can draw
+     * overlays before showing the frame. Anything drawn over the tiles must either be
+     * redrawn every frame or have its cells marked dirty once it goes away.
+     * @param world the 2D TETile[][] array to render
+     * @return the number of tiles drawn
+     */
+    public int renderFrameIncremental(TETile[][] world) {
+        int numXTiles = world.length;
+        int numYTiles = world[0].length;
+        if (world != lastSource || lastFrame == null
+                || lastFrame.length != numXTiles || lastFrame[0].length != numYTiles) {
+            lastSource = world;
+            lastFrame = new TETile[numXTiles][numYTiles];
+            dirty = new boolean[numXTiles][numYTiles];
+            fullRedraw = true;
+        }
+
+        if (fullRedraw) {
+            StdDraw.clear(new Color(0, 0, 0));
+        } else if (overlayX1 >= overlayX0 && regionNeedsRedraw(world)) {
+            // Tiles inside the overlay are redrawn together so that the overlay is
+            // painted again over a clean background rather than over its old self
+            markRegionDirty(overlayX0, overlayY0, overlayX1, overlayY1);
+        }
+
+        int drawn = 0;
+        overlayRedrawn = fullRedraw;
+        for (int x = 0; x < numXTiles; x += 1) {
+            TETile[] column = world[x];
+            TETile[] lastColumn = lastFrame[x];
+            boolean[] dirtyColumn = dirty[x];
+            for (int y = 0; y < numYTiles; y += 1) {
+                TETile tile = column[y];
+                if (!fullRedraw && tile == lastColumn[y] && !dirtyColumn[y]) {
+                    continue;
+                }
+                if (tile == null) {
+                    throw new IllegalArgumentException("Tile at position x=" + x + ", y=" + y
+                            + " is null.");
+                }
+                if (!fullRedraw) {
+                    // Image tiles may be transparent, so wipe what was there before
+                    StdDraw.setPenColor(Color.BLACK);
+                    StdDraw.filledSquare(x + xOffset + 0.5, y + yOffset + 0.5, 0.5);
+                }
+                tile.draw(x + xOffset, y + yOffset);
+                lastColumn[y] = tile;
+                dirtyColumn[y] = false;
+                drawn += 1;
+                if (inOverlay(x, y)) {
+                    overlayRedrawn = true;
+                }
+            }
+        }
+        fullRedraw = false;
+        anyDirty = false;
+        lastDrawCount = drawn;
+        return drawn;
+    }
+
+    /**
+     * Forces the next incremental render to clear the canvas and draw every tile, e.g.
+     * after a menu or dialog has drawn over the game.
+     */
+    public void invalidate() {
+        fullRedraw = true;
+    }
+
+    /**
+     * Marks one cell (in world coordinates) to be redrawn by the next incremental render
+     * even if its tile reference did not change.
+     */
+    public void markDirty(int x, int y) {
+        if (dirty != null && x >= 0 && x < dirty.length && y >= 0 && y < dirty[0].length) {
+            dirty[x][y] = true;
+            anyDirty = true;
+        }
+    }
+
+    /**
+     * Marks every cell in the inclusive rectangle (x0, y0)-(x1, y1) as dirty.
+     */
+    public void markRegionDirty(int x0, int y0, int x1, int y1) {
+        if (dirty == null) {
+            return;
+        }
+        for (int x = Math.max(0, x0); x <= Math.min(dirty.length - 1, x1); x += 1) {
+            for (int y = Math.max(0, y0); y <= Math.min(dirty[0].length - 1, y1); y += 1) {
+                dirty[x][y] = true;
+            }
+        }
+        anyDirty = true;
+    }
+
+    /**
+     * Declares the inclusive rectangle (x0, y0)-(x1, y1) as covered by an overlay. When
+     * any cell inside it needs redrawing, the whole rectangle is redrawn, and
+     * {@link #wasOverlayRedrawn()} tells the caller to paint the overlay again.
+     */
+    public void setOverlayRegion(int x0, int y0, int x1, int y1) {
+        overlayX0 = x0;
+        overlayY0 = y0;
+        overlayX1 = x1;
+        overlayY1 = y1;
+    }
+
+    /**
+     * @return true if the last incremental render drew over the overlay region
+     */
+    public boolean wasOverlayRedrawn() {
+        return overlayRedrawn;
+    }
+
+    /**
+     * @return the number of tiles drawn by the last incremental render
+     */
+    public int getLastDrawCount() {
+        return lastDrawCount;
+    }
+
+    private boolean regionNeedsRedraw(TETile[][] world) {
+        int x1 = Math.min(world.length - 1, overlayX1);
+        int y1 = Math.min(world[0].length - 1, overlayY1);
+        for (int x = Math.max(0, overlayX0); x <= x1; x += 1) {
+            for (int y = Math.max(0, overlayY0); y <= y1; y += 1) {
+                if (world[x][y] != lastFrame[x][y] || (anyDirty && dirty[x][y])) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean inOverlay(int x, int y) {
+        return x >= overlayX0 && x <= overlayX1 && y >= overlayY0 && y <= overlayY1;
     }
 }
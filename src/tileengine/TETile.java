@@ -33,6 +33,7 @@ public class TETile {
     private final Color backgroundColor;
     private final String description;
     private final String filepath;
+    private final float brightness; // Below 1 for dimmed copies, see dimmed()
 
     /**
      * Full constructor for TETile objects.
@@ -47,11 +48,17 @@ public class TETile {
      */
     public TETile(char character, Color textColor, Color backgroundColor, String description,
             String filepath) {
+        this(character, textColor, backgroundColor, description, filepath, 1f);
+    }
+
+    private TETile(char character, Color textColor, Color backgroundColor, String description,
+            String filepath, float brightness) {
         this.character = character;
         this.textColor = textColor;
         this.backgroundColor = backgroundColor;
         this.description = description;
         this.filepath = filepath;
+        this.brightness = brightness;
     }
 
     /**
@@ -89,22 +96,21 @@ public class TETile {
      * Note that the image provided must be of the right size (16x16). It will not
      * be
      * automatically resized or truncated.
+     *
+     * The image or glyph is resolved once and cached by {@link TileAtlas}.
      * 
      * @param x x coordinate
      * @param y y coordinate
      */
     public void draw(double x, double y) {
-        if (filepath != null) {
-            try {
-                StdDraw.picture(x + 0.5, y + 0.5, filepath);
-                return;
-            } catch (IllegalArgumentException e) {
-                // Exception happens because the file can't be found. In this case, fail
-                // silently
-                // and just use the character and background color for the tile.
-            }
-        }
+        TileAtlas.getInstance().draw(this, x, y);
+    }
 
+    /**
+     * Draws the character and color representation of the tile, used when the
+     * atlas has no image for it.
+     */
+    void drawGlyph(double x, double y) {
         StdDraw.setPenColor(backgroundColor);
         StdDraw.filledSquare(x + 0.5, y + 0.5, 0.5);
         StdDraw.setPenColor(textColor);
@@ -153,6 +159,24 @@ public class TETile {
         return new TETile(t, c);
     }
 
+    /**
+     * Creates a darker copy of the given tile, e.g. for something seen before but not
+     * in view now. Its colors are scaled by brightness, and so is its image when the
+     * tile is drawn.
+     *
+     * @param t          the tile to copy
+     * @param brightness between 0 (black) and 1 (unchanged)
+     */
+    public static TETile dimmed(TETile t, float brightness) {
+        return new TETile(t.character, scale(t.textColor, brightness), scale(t.backgroundColor, brightness),
+                t.description, t.filepath, t.brightness * brightness);
+    }
+
+    private static Color scale(Color color, float brightness) {
+        return new Color(Math.round(color.getRed() * brightness), Math.round(color.getGreen() * brightness),
+                Math.round(color.getBlue() * brightness));
+    }
+
     private static int newColorValue(int v, int dv, Random r) {
         int rawNewValue = v + RandomUtils.uniform(r, -dv, dv + 1);
 
@@ -213,4 +237,19 @@ public class TETile {
     public Color getTextColor() {
         return this.textColor;
     }
+
+    public Color getBackgroundColor() {
+        return this.backgroundColor;
+    }
+
+    public String getFilepath() {
+        return this.filepath;
+    }
+
+    /**
+     * @return how much darker than its image this tile is drawn; 1 for most tiles
+     */
+    public float getBrightness() {
+        return this.brightness;
+    }
 }
@@ -0,0 +1,247 @@
+package tileengine;
+
+import edu.princeton.cs.algs4.StdDraw;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.awt.image.RescaleOp;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Cache of pre-rasterized tile images, keyed by tile identity.
+ *
+ * Every tile is resolved once: image tiles are loaded from their file, and tiles
+ * without a usable image have their glyph and colors rasterized into a
+ * {@link BufferedImage}. Drawing a tile afterwards is a single picture call instead of
+ * a failed image lookup (which throws) followed by a filled square and a text glyph.
+ *
+ * StdDraw can only draw pictures by file name, so rasterized glyphs are also written
+ * once to a temporary PNG that StdDraw loads (and caches) on first use. The PNGs are
+ * deleted on exit. A tile whose PNG cannot be written is drawn the way TETile always
+ * drew it, as a square and a glyph, and is counted in {@link #getWriteFailures()}.
+ * Offscreen rendering ({@link TERenderer#renderFrame(TETile[][], BufferedImage)})
+ * draws the cached images directly.
+ *
+ * An entry is rebuilt only if the tile's colors no longer match the ones it was
+ * rasterized with. Meant to be used from the rendering thread only.
+ */
+public class TileAtlas {
+    public static final int RASTER_SIZE = 32;
+
+    private static TileAtlas instance;
+
+    private final Map<TETile, Entry> entries = new IdentityHashMap<>();
+    private Path glyphDir; // Created on first use, removed on exit
+    private int glyphCount = 0;
+    private int writeFailures = 0;
+
+    private static class Entry {
+        final Color textColor;
+        final Color backgroundColor;
+        final BufferedImage image;
+        final String drawPath; // Passed to StdDraw.picture, or null to draw the glyph
+        final boolean rasterized; // drawPath is a generated glyph, scaled to one cell
+        BufferedImage sized; // Copy of image at the last requested cell size
+
+        Entry(Color textColor, Color backgroundColor, BufferedImage image, String drawPath,
+                boolean rasterized) {
+            this.textColor = textColor;
+            this.backgroundColor = backgroundColor;
+            this.image = image;
+            this.drawPath = drawPath;
+            this.rasterized = rasterized;
+        }
+    }
+
+    public static TileAtlas getInstance() {
+        if (instance == null) {
+            instance = new TileAtlas();
+        }
+        return instance;
+    }
+
+    /**
+     * Resolves the given tiles now, so the first frame does not pay for it.
+     */
+    public void preload(TETile... tiles) {
+        for (TETile tile : tiles) {
+            entry(tile);
+        }
+    }
+
+    /**
+     * Draws the tile with its lower-left corner at (x, y), in the same place
+     * {@link TETile#draw} would.
+     */
+    public void draw(TETile tile, double x, double y) {
+        Entry entry = entry(tile);
+        if (entry.drawPath == null) {
+            tile.drawGlyph(x, y);
+        } else if (entry.rasterized) {
+            StdDraw.picture(x + 0.5, y + 0.5, entry.drawPath, 1, 1);
+        } else {
+            StdDraw.picture(x + 0.5, y + 0.5, entry.drawPath);
+        }
+    }
+
+    /**
+     * @return the cached RASTER_SIZE x RASTER_SIZE image of the tile
+     */
+    public BufferedImage image(TETile tile) {
+        return entry(tile).image;
+    }
+
+    /**
+     * @return the cached image of the tile at size x size pixels, so that blitting it
+     *         needs no scaling
+     */
+    public BufferedImage image(TETile tile, int size) {
+        Entry entry = entry(tile);
+        if (size == RASTER_SIZE) {
+            return entry.image;
+        }
+        if (entry.sized == null || entry.sized.getWidth() != size) {
+            entry.sized = scale(entry.image, size);
+        }
+        return entry.sized;
+    }
+
+    /**
+     * Drops every cached entry; tiles are resolved again on next use.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return how many rasterized tiles could not be written for StdDraw and are drawn
+     *         with {@link TETile#drawGlyph} instead
+     */
+    public int getWriteFailures() {
+        return writeFailures;
+    }
+
+    private Entry entry(TETile tile) {
+        Entry entry = entries.get(tile);
+        if (entry == null || entry.textColor != tile.getTextColor()
+                || entry.backgroundColor != tile.getBackgroundColor()) {
+            entry = build(tile);
+            entries.put(tile, entry);
+        }
+        return entry;
+    }
+
+    private Entry build(TETile tile) {
+        BufferedImage loaded = loadImage(tile.getFilepath());
+        if (loaded != null && tile.getBrightness() < 1f) {
+            // StdDraw cannot darken a picture, so the darkened copy gets its own file
+            BufferedImage dimmed = darken(scale(loaded, RASTER_SIZE), tile.getBrightness());
+            return new Entry(tile.getTextColor(), tile.getBackgroundColor(), dimmed, writeGlyph(dimmed), true);
+        }
+        if (loaded != null) {
+            return new Entry(tile.getTextColor(), tile.getBackgroundColor(), scale(loaded, RASTER_SIZE),
+                    tile.getFilepath(), false);
+        }
+
+        BufferedImage glyph = rasterizeGlyph(tile);
+        return new Entry(tile.getTextColor(), tile.getBackgroundColor(), glyph, writeGlyph(glyph),
+                true);
+    }
+
+    // Same lookup order as StdDraw: a file on disk first, then a classpath resource
+    private static BufferedImage loadImage(String filepath) {
+        if (filepath == null) {
+            return null;
+        }
+        try {
+            File file = new File(filepath);
+            if (file.isFile()) {
+                return ImageIO.read(file);
+            }
+            try (InputStream in = TileAtlas.class.getResourceAsStream("/" + filepath)) {
+                return in == null ? null : ImageIO.read(in);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage source, int size) {
+        // Opaque images stay opaque so they blit without alpha blending
+        int type = source.getTransparency() == Transparency.OPAQUE
+                ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage image = new BufferedImage(size, size, type);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, size, size, null);
+        g.dispose();
+        return image;
+    }
+
+    private static BufferedImage darken(BufferedImage image, float brightness) {
+        float[] factors = new float[image.getColorModel().getNumComponents()];
+        Arrays.fill(factors, brightness);
+        if (image.getColorModel().hasAlpha()) {
+            factors[factors.length - 1] = 1f; // Keep transparency as it is
+        }
+        return new RescaleOp(factors, new float[factors.length], null).filter(image, null);
+    }
+
+    private static BufferedImage rasterizeGlyph(TETile tile) {
+        BufferedImage image = new BufferedImage(RASTER_SIZE, RASTER_SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(tile.getBackgroundColor());
+        g.fillRect(0, 0, RASTER_SIZE, RASTER_SIZE);
+
+        // Same font TERenderer uses for glyphs, scaled to the raster size
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        g.setFont(new Font("Monaco", Font.BOLD, RASTER_SIZE - 4));
+        g.setColor(tile.getTextColor());
+        String text = Character.toString(tile.character());
+        FontMetrics metrics = g.getFontMetrics();
+        int textX = (RASTER_SIZE - metrics.stringWidth(text)) / 2;
+        int textY = (RASTER_SIZE - metrics.getHeight()) / 2 + metrics.getAscent();
+        g.drawString(text, textX, textY);
+        g.dispose();
+        return image;
+    }
+
+    // Returns the file StdDraw should load, or null to draw the glyph directly
+    private String writeGlyph(BufferedImage glyph) {
+        File file = null;
+        try {
+            if (glyphDir == null) {
+                glyphDir = Files.createTempDirectory("tile-atlas");
+                glyphDir.toFile().deleteOnExit(); // Runs after the files' own, so the directory is empty
+            }
+            // A fresh name per raster, since StdDraw caches pictures by file name
+            file = glyphDir.resolve("glyph-" + glyphCount++ + ".png").toFile();
+            file.deleteOnExit();
+            ImageIO.write(glyph, "png", file);
+            return file.getAbsolutePath();
+        } catch (IOException e) {
+            if (file != null) {
+                file.delete(); // Don't leave half a PNG behind
+            }
+            writeFailures++;
+            return null;
+        }
+    }
+}
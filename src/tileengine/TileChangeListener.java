@@ -0,0 +1,9 @@
+package tileengine;
+
+/**
+ * Notified when a single tile of a world changes, so a renderer can redraw just
+ * that cell instead of the whole frame.
+ */
+public interface TileChangeListener {
+    void tileChanged(int x, int y);
+}
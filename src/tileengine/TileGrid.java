@@ -0,0 +1,185 @@
+package tileengine;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Compact storage for a world's tiles: one byte per cell plus a walkability bitset.
+ *
+ * Cells are numbered x * height + y, the same layout as {@code TETile[x][y]}. Each
+ * grid keeps a small palette that maps byte ids to tiles, so a cell costs one byte
+ * instead of an object reference, and walkability is decided once per tile and then
+ * answered by a single bit test.
+ *
+ * A {@code TETile[][]} copy is only built when something asks for one (normally the
+ * renderer). After that it is kept in sync with every {@link #set}.
+ */
+public final class TileGrid {
+    private static final int MAX_TILES = 256;
+
+    private final int width;
+    private final int height;
+    private final byte[] ids;
+    private final long[] walkable;
+    private final Predicate<TETile> isWalkable;
+
+    private final TETile[] palette = new TETile[MAX_TILES];
+    private final boolean[] paletteWalkable = new boolean[MAX_TILES];
+    private final Map<TETile, Integer> paletteIds = new IdentityHashMap<>();
+
+    private TETile[][] view; // Built on first call to toArray
+
+    /**
+     * Creates a grid with every cell set to fill.
+     *
+     * @param isWalkable decides once per distinct tile whether it can be walked on
+     */
+    public TileGrid(int width, int height, TETile fill, Predicate<TETile> isWalkable) {
+        this.width = width;
+        this.height = height;
+        this.ids = new byte[width * height];
+        this.walkable = new long[(width * height + 63) >>> 6];
+        this.isWalkable = isWalkable;
+        fill(fill);
+    }
+
+    /**
+     * Rebuilds a grid from the palette and ids of {@link #getPalette()} and {@link #getIds()}.
+     */
+    public TileGrid(int width, int height, TETile[] palette, byte[] ids, Predicate<TETile> isWalkable) {
+        this(width, height, palette[0], isWalkable);
+        for (TETile tile : palette) {
+            idOf(tile);
+        }
+        for (int cell = 0; cell < ids.length; cell++) {
+            set(cell / height, cell % height, palette[ids[cell] & 0xFF]);
+        }
+    }
+
+    // Copy of another grid, sharing nothing with it
+    private TileGrid(TileGrid other) {
+        this.width = other.width;
+        this.height = other.height;
+        this.ids = other.ids.clone();
+        this.walkable = other.walkable.clone();
+        this.isWalkable = other.isWalkable;
+        System.arraycopy(other.palette, 0, palette, 0, MAX_TILES);
+        System.arraycopy(other.paletteWalkable, 0, paletteWalkable, 0, MAX_TILES);
+        paletteIds.putAll(other.paletteIds);
+    }
+
+    /**
+     * @return an independent copy of this grid (without the TETile[][] view)
+     */
+    public TileGrid copy() {
+        return new TileGrid(this);
+    }
+
+    /**
+     * @return the distinct tiles used so far, indexed by their id in {@link #getIds()}
+     */
+    public TETile[] getPalette() {
+        return Arrays.copyOf(palette, paletteIds.size());
+    }
+
+    /**
+     * @return a copy of the tile id of every cell, by cell id
+     */
+    public byte[] getIds() {
+        return ids.clone();
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean inBounds(int x, int y) {
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    public TETile get(int x, int y) {
+        return palette[ids[x * height + y] & 0xFF];
+    }
+
+    /**
+     * @return the tile at the given cell id (x * height + y)
+     */
+    public TETile get(int cell) {
+        return palette[ids[cell] & 0xFF];
+    }
+
+    public void set(int x, int y, TETile tile) {
+        int id = idOf(tile);
+        int cell = x * height + y;
+        ids[cell] = (byte) id;
+        if (paletteWalkable[id]) {
+            walkable[cell >>> 6] |= 1L << cell;
+        } else {
+            walkable[cell >>> 6] &= ~(1L << cell);
+        }
+        if (view != null) {
+            view[x][y] = tile;
+        }
+    }
+
+    /**
+     * @return true if the cell is on the grid and its tile is walkable
+     */
+    public boolean isWalkable(int x, int y) {
+        if (!inBounds(x, y)) {
+            return false;
+        }
+        int cell = x * height + y;
+        return (walkable[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    public void fill(TETile tile) {
+        int id = idOf(tile);
+        Arrays.fill(ids, (byte) id);
+        Arrays.fill(walkable, paletteWalkable[id] ? -1L : 0L);
+        if (view != null) {
+            for (TETile[] column : view) {
+                Arrays.fill(column, tile);
+            }
+        }
+    }
+
+    /**
+     * Returns the grid as a {@code TETile[x][y]} array. The array is built on the first
+     * call and then updated in place, so callers can keep the reference but must not
+     * write to it.
+     */
+    public TETile[][] toArray() {
+        if (view == null) {
+            view = new TETile[width][height];
+            for (int x = 0; x < width; x++) {
+                for (int y = 0; y < height; y++) {
+                    view[x][y] = get(x, y);
+                }
+            }
+        }
+        return view;
+    }
+
+    // Palette id for the tile, registering it on first use
+    private int idOf(TETile tile) {
+        Integer id = paletteIds.get(tile);
+        if (id != null) {
+            return id;
+        }
+        int next = paletteIds.size();
+        if (next == MAX_TILES) {
+            throw new IllegalStateException("A tile grid holds at most " + MAX_TILES + " distinct tiles");
+        }
+        palette[next] = tile;
+        paletteWalkable[next] = isWalkable.test(tile);
+        paletteIds.put(tile, next);
+        return next;
+    }
+}
@@ -1,6 +1,8 @@
 package tileengine;
 
 import java.awt.Color;
+import java.util.IdentityHashMap;
+import java.util.Map;
 
 /**
  * Contains constant tile objects, to avoid having to remake the same tiles in
@@ -58,4 +60,21 @@ public class Tileset {
         public static final TETile SMILEY_FACE_green_body_rhombus = new TETile('*', Color.yellow, Color.orange,
                         "torch", "assets/images/SMILEY_FACE_green_body_rhombus.png");
 
+        // Every tile above, e.g. for preloading the tile atlas
+        public static final TETile[] ALL = {
+                        WALL, FLOOR, NOTHING, LOCKED_DOOR, UNLOCKED_DOOR, CHASER, INVISIBLE, PATH,
+                        SPIKES, ICE, TELEPORTER, DARK_MODE, TORCH, SMILEY_FACE_green_body_circle,
+                        SMILEY_FACE_green_body_rhombus
+        };
+
+        // Dimmed copies of tiles, so each tile gets one copy however often it is dimmed
+        private static final Map<TETile, TETile> REMEMBERED = new IdentityHashMap<>();
+
+        /**
+         * @return how the given tile looks when remembered rather than seen: one shared,
+         *         dimmed copy of it
+         */
+        public static synchronized TETile remembered(TETile tile) {
+                return REMEMBERED.computeIfAbsent(tile, t -> TETile.dimmed(t, 0.4f));
+        }
 }
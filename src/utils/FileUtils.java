@@ -2,7 +2,13 @@ package utils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 
 /**
  * A library of simple file operations. Feel free to modify this file.
@@ -38,6 +44,71 @@ public class FileUtils {
         }
     }
 
+    /**
+     * Writes the specified bytes to a file with the given filename.
+     *
+     * @param filename The name of the file to write to.
+     * @param contents The bytes to write to the file.
+     * @throws RuntimeException if an IOException occurs during the write operation.
+     */
+    public static void writeBytes(String filename, byte[] contents) {
+        try {
+            Files.write(new File(filename).toPath(), contents);
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Writes the specified bytes to a temporary file next to the given one, forces them
+     * to disk, then renames it into place, so the file always holds either its old or its
+     * new contents even if the program or the machine dies halfway through.
+     *
+     * @param filename The name of the file to write to.
+     * @param contents The bytes to write to the file.
+     * @throws RuntimeException if an IOException occurs during the write operation.
+     */
+    public static void writeBytesAtomically(String filename, byte[] contents) {
+        Path target = new File(filename).getAbsoluteFile().toPath();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(contents);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true); // Otherwise the rename can reach the disk before the data
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        } finally {
+            if (temp != null) {
+                temp.toFile().delete(); // Only still there if the move failed
+            }
+        }
+    }
+
+    /**
+     * Reads the contents of a file with the given filename as bytes.
+     *
+     * @param filename The name of the file to read from.
+     * @return The contents of the file.
+     * @throws RuntimeException if an IOException occurs during the read operation.
+     */
+    public static byte[] readBytes(String filename) {
+        try {
+            return Files.readAllBytes(new File(filename).toPath());
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     /**
      * Checks if a file with the given filename exists.
      *
@@ -527,6 +527,23 @@ public class RandomUtils {
         return perm;
     }
 
+    /**
+     * Derives the seed of an independent random stream from a base seed. Different
+     * streams of the same seed, and the same stream of different seeds, give
+     * unrelated seeds, so each consumer can have its own generator and drawing more
+     * numbers from one never shifts the numbers another one sees.
+     *
+     * @param seed the base seed
+     * @param stream which stream of that seed
+     * @return the seed of the stream (the SplitMix64 mix of the two)
+     */
+    public static long splitSeed(long seed, int stream) {
+        long z = seed + (stream + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
     // throw an IllegalArgumentException if x is null
     // (x can be of type Object[], double[], int[], ...)
     private static void validateNotNull(Object x) {
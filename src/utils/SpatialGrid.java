@@ -0,0 +1,143 @@
+package utils;
+
+import java.util.Arrays;
+
+/**
+ * Points on a grid, bucketed into square cells of a fixed size, for "what is near
+ * here" queries that only look at the buckets around the query point instead of at
+ * every point.
+ *
+ * Each bucket is a growing int array of packed coordinates. Points in a bucket keep
+ * the order they were added in, until one is removed.
+ */
+public class SpatialGrid {
+    private final int bucketSize;
+    private final int columns;
+    private final int rows;
+    private final int[][] buckets;
+    private final int[] counts;
+    private int size = 0;
+
+    /**
+     * Visits one point; see {@link #visitWithin}.
+     */
+    public interface PointVisitor {
+        /**
+         * @return true to stop visiting
+         */
+        boolean visit(int x, int y);
+    }
+
+    public SpatialGrid(int width, int height, int bucketSize) {
+        this.bucketSize = bucketSize;
+        this.columns = (width + bucketSize - 1) / bucketSize;
+        this.rows = (height + bucketSize - 1) / bucketSize;
+        this.buckets = new int[columns * rows][];
+        this.counts = new int[columns * rows];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void add(int x, int y) {
+        int bucket = bucketOf(x, y);
+        int[] points = buckets[bucket];
+        if (points == null) {
+            points = buckets[bucket] = new int[2];
+        } else if (counts[bucket] == points.length) {
+            points = buckets[bucket] = Arrays.copyOf(points, points.length * 2);
+        }
+        points[counts[bucket]++] = pack(x, y);
+        size++;
+    }
+
+    /**
+     * Removes one copy of the point.
+     *
+     * @return true if it was there
+     */
+    public boolean remove(int x, int y) {
+        int bucket = bucketOf(x, y);
+        int[] points = buckets[bucket];
+        int packed = pack(x, y);
+        for (int i = 0; i < counts[bucket]; i++) {
+            if (points[i] == packed) {
+                // Shift rather than swap, so the remaining points keep their order
+                System.arraycopy(points, i + 1, points, i, counts[bucket] - i - 1);
+                counts[bucket]--;
+                size--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    /**
+     * Visits the points at most radius away from (x, y) on each axis, bucket by bucket,
+     * until the visitor asks to stop.
+     *
+     * @return true if the visitor stopped early
+     */
+    public boolean visitWithin(int x, int y, int radius, PointVisitor visitor) {
+        int minColumn = Math.max(0, Math.floorDiv(x - radius, bucketSize));
+        int maxColumn = Math.min(columns - 1, (x + radius) / bucketSize);
+        int minRow = Math.max(0, Math.floorDiv(y - radius, bucketSize));
+        int maxRow = Math.min(rows - 1, (y + radius) / bucketSize);
+        for (int column = minColumn; column <= maxColumn; column++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                int bucket = column * rows + row;
+                int[] points = buckets[bucket];
+                for (int i = 0; i < counts[bucket]; i++) {
+                    int px = points[i] >>> 16;
+                    int py = points[i] & 0xFFFF;
+                    if (Math.abs(px - x) <= radius && Math.abs(py - y) <= radius
+                            && visitor.visit(px, py)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the squared distance from (x, y) to the nearest point at most radius away
+     * on each axis, or Integer.MAX_VALUE if there is none
+     */
+    public int nearestDistanceSquared(int x, int y, int radius) {
+        int best = Integer.MAX_VALUE;
+        int minColumn = Math.max(0, Math.floorDiv(x - radius, bucketSize));
+        int maxColumn = Math.min(columns - 1, (x + radius) / bucketSize);
+        int minRow = Math.max(0, Math.floorDiv(y - radius, bucketSize));
+        int maxRow = Math.min(rows - 1, (y + radius) / bucketSize);
+        for (int column = minColumn; column <= maxColumn; column++) {
+            for (int row = minRow; row <= maxRow; row++) {
+                int bucket = column * rows + row;
+                int[] points = buckets[bucket];
+                for (int i = 0; i < counts[bucket]; i++) {
+                    int dx = (points[i] >>> 16) - x;
+                    int dy = (points[i] & 0xFFFF) - y;
+                    if (Math.abs(dx) <= radius && Math.abs(dy) <= radius) {
+                        best = Math.min(best, dx * dx + dy * dy);
+                    }
+                }
+            }
+        }
+        return best;
+    }
+
+    private int bucketOf(int x, int y) {
+        return x / bucketSize * rows + y / bucketSize;
+    }
+
+    // Coordinates are below 65536 (worlds are at most 4096 wide)
+    private static int pack(int x, int y) {
+        return x << 16 | y;
+    }
+}
@@ -0,0 +1,68 @@
+package utils;
+
+/**
+ * Disjoint sets over the integers 0 to n - 1, with path halving and union by size,
+ * so both operations take nearly constant time.
+ */
+public class UnionFind {
+    private final int[] parent;
+    private final int[] size;
+    private int count;
+
+    /**
+     * Starts with n sets of one element each.
+     */
+    public UnionFind(int n) {
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        count = n;
+    }
+
+    /**
+     * @return the representative of the set containing i
+     */
+    public int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    /**
+     * Merges the sets containing a and b.
+     *
+     * @return true if they were different sets
+     */
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return false;
+        }
+        if (size[rootA] < size[rootB]) {
+            int temp = rootA;
+            rootA = rootB;
+            rootB = temp;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        count--;
+        return true;
+    }
+
+    public boolean connected(int a, int b) {
+        return find(a) == find(b);
+    }
+
+    /**
+     * @return the number of disjoint sets
+     */
+    public int count() {
+        return count;
+    }
+}
@@ -0,0 +1,110 @@
+package utils;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Draws indices 0 to n - 1 with probability proportional to their weights, where the
+ * weights change between draws.
+ *
+ * Weights are kept in a Fenwick tree, so changing one weight and drawing an index
+ * both take O(log n) time instead of the O(n) of recomputing a cumulative sum (as
+ * {@link RandomUtils#discrete} does for a fixed distribution).
+ */
+public class WeightedSampler {
+    private final double[] weights;
+    private final double[] tree; // tree[i] sums the weights of the lowbit(i) indices ending at i - 1
+    private final int highestStep;
+    private int positiveCount = 0;
+
+    /**
+     * Starts with every weight at zero.
+     */
+    public WeightedSampler(int n) {
+        weights = new double[n];
+        tree = new double[n + 1];
+        highestStep = n == 0 ? 0 : Integer.highestOneBit(n);
+    }
+
+    public int size() {
+        return weights.length;
+    }
+
+    public double get(int index) {
+        return weights[index];
+    }
+
+    /**
+     * @throws IllegalArgumentException if weight is negative or not a number
+     */
+    public void set(int index, double weight) {
+        if (!(weight >= 0.0)) {
+            throw new IllegalArgumentException("weight " + index + " must be nonnegative: " + weight);
+        }
+        double old = weights[index];
+        if (old > 0) {
+            positiveCount--;
+        }
+        if (weight > 0) {
+            positiveCount++;
+        }
+        weights[index] = weight;
+        double delta = weight - old;
+        for (int i = index + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Sets every weight back to zero.
+     */
+    public void clear() {
+        Arrays.fill(weights, 0.0);
+        Arrays.fill(tree, 0.0);
+        positiveCount = 0;
+    }
+
+    /**
+     * @return the sum of all weights
+     */
+    public double total() {
+        if (positiveCount == 0) {
+            return 0.0; // Not the tree's sum, which may hold rounding residue
+        }
+        double sum = 0.0;
+        for (int i = weights.length; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Draws an index with probability weight / total.
+     *
+     * @return the index, or -1 if every weight is zero
+     */
+    public int sample(Random random) {
+        double remaining = random.nextDouble() * total(); // One draw per call, even if it misses
+        if (positiveCount == 0) {
+            return -1;
+        }
+
+        // Walk down the tree to the first index whose prefix sum exceeds the draw
+        int position = 0;
+        for (int step = highestStep; step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < tree.length && tree[next] <= remaining) {
+                position = next;
+                remaining -= tree[next];
+            }
+        }
+
+        // Rounding can land past the last weight or on a zero one; step back to a
+        // weight that can actually be drawn
+        int index = Math.min(position, weights.length - 1);
+        while (weights[index] == 0.0) {
+            index = index > 0 ? index - 1 : weights.length - 1;
+        }
+        return index;
+    }
+}
@@ -1,28 +1,121 @@
-//import core.AutograderBuddy;
-//import edu.princeton.cs.algs4.StdDraw;
-//import org.junit.jupiter.api.Test;
-//import tileengine.TERenderer;
-//import tileengine.TETile;
-//
-//public class WorldGenTests {
-//    @Test
-//    public void basicTest() {
-//        // put different seeds here to test different worlds
-//        TETile[][] tiles = AutograderBuddy.getWorldFromInput("n1234567890123456789s");
-//
-//        TERenderer ter = new TERenderer();
-//        ter.initialize(tiles.length, tiles[0].length);
-//        ter.renderFrame(tiles);
-//        StdDraw.pause(5000); // pause for 5 seconds so you can see the output
-//    }
-//
-//    @Test
-//    public void basicInteractivityTest() {
-        // TODO: write a test that uses an input like "n123swasdwasd"
-//    }
-//
-//    @Test
-//    public void basicSaveTest() {
-        // TODO: write a test that calls getWorldFromInput twice, with "n123swasd:q" and with "lwasd"
-//    }
-//}
+import core.GridPathfinder;
+import core.HeadlessGame;
+import core.LevelParameters;
+import core.World;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tileengine.TETile;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorldGenTests {
+    @TempDir
+    Path saveDir;
+
+    @BeforeAll
+    public static void silence() {
+        HeadlessGame.silenceAudio();
+    }
+
+    private HeadlessGame newGame() {
+        return new HeadlessGame("tester", saveDir.toString(), HeadlessGame.DEFAULT_TICKS_PER_KEY);
+    }
+
+    // Tiles by description, so maps from different games can be compared
+    private static String describe(TETile[][] tiles) {
+        StringBuilder map = new StringBuilder();
+        for (TETile[] column : tiles) {
+            for (TETile tile : column) {
+                map.append(tile.description()).append('|');
+            }
+            map.append('\n');
+        }
+        return map.toString();
+    }
+
+    @Test
+    public void basicTest() {
+        String first = describe(newGame().run("n1234567890123456789s").getMap());
+        String second = describe(newGame().run("n1234567890123456789s").getMap());
+        assertEquals(first, second);
+        assertNotEquals(first, describe(newGame().run("n987654321s").getMap()));
+    }
+
+    @Test
+    public void basicInteractivityTest() {
+        String input = "n123swasdwasdddsssaaww";
+        HeadlessGame first = newGame().run(input);
+        HeadlessGame second = newGame().run(input);
+        assertEquals(describe(first.getMap()), describe(second.getMap()));
+        assertEquals(first.getTicks(), second.getTicks());
+        assertEquals(first.getWorld().getAvatarX(), second.getWorld().getAvatarX());
+        assertEquals(first.getWorld().getAvatarY(), second.getWorld().getAvatarY());
+    }
+
+    @Test
+    public void basicSaveTest() {
+        HeadlessGame saved = newGame().run("n123swasd:q");
+        assertTrue(saved.hasQuit());
+
+        HeadlessGame loaded = newGame().run("l");
+        assertEquals(describe(saved.getMap()), describe(loaded.getMap()));
+        assertEquals(saved.getLevel(), loaded.getLevel());
+        assertEquals(saved.getPlayer().getPoints(), loaded.getPlayer().getPoints());
+        assertEquals(saved.getWorld().getAvatarX(), loaded.getWorld().getAvatarX());
+        assertEquals(saved.getWorld().getAvatarY(), loaded.getWorld().getAvatarY());
+
+        // The loaded game carries on from there
+        loaded.run("wasd");
+        assertFalse(loaded.hasQuit());
+        assertTrue(loaded.getTicks() > 0);
+    }
+
+    @Test
+    public void standingStillGetsCaught() {
+        HeadlessGame game = newGame().run("n42s");
+        assertFalse(game.isGameOver());
+        game.advance(2000);
+        assertTrue(game.isGameOver());
+
+        // Keys do nothing once the game is over
+        String map = describe(game.getMap());
+        game.run("wasd");
+        assertEquals(map, describe(game.getMap()));
+    }
+
+    @Test
+    public void walkingToTheDoorWinsTheLevel() {
+        // One tick per key keeps the chasers slow enough to outrun on this seed
+        HeadlessGame game = new HeadlessGame("tester", saveDir.toString(), 1).run("n7s");
+        for (int step = 0; step < 500 && game.getLevel() == 1 && !game.isGameOver(); step++) {
+            char key = stepTowardsDoor(game.getWorld());
+            if (key == 0) {
+                game.advance(1); // Wait for an ice slide to end
+            } else {
+                game.press(key);
+            }
+        }
+        assertFalse(game.isGameOver());
+        assertEquals(2, game.getLevel());
+        assertTrue(game.getPlayer().getPoints() >= LevelParameters.POINTS_PER_LEVEL);
+    }
+
+    // The key of the first step on a shortest path to the door, or 0 if there is none
+    private static char stepTowardsDoor(World world) {
+        GridPathfinder pathfinder = new GridPathfinder(world.getWidth(), world.getHeight(),
+                (x, y) -> world.getTile(x, y) != world.getWallTile()
+                        || (x == world.getDoorX() && y == world.getDoorY()));
+        if (pathfinder.findPath(world.getAvatarX(), world.getAvatarY(), world.getDoorX(), world.getDoorY()) <= 0) {
+            return 0;
+        }
+        int dx = pathfinder.pathX(0) - world.getAvatarX();
+        int dy = pathfinder.pathY(0) - world.getAvatarY();
+        return dx > 0 ? 'd' : dx < 0 ? 'a' : dy > 0 ? 'w' : 's';
+    }
+}
@@ -0,0 +1,77 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DistanceFieldTests {
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 25;
+    private static final int[][] MOVES = { { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 } };
+
+    @Test
+    public void stepsAndJumpsMatchBreadthFirstSearch() {
+        Random random = new Random(3);
+        for (int grid = 0; grid < 20; grid++) {
+            boolean[][] open = Grids.random(random, WIDTH, HEIGHT, 0.3);
+            DistanceField field = new DistanceField(WIDTH, HEIGHT, (x, y) -> open[x][y]);
+            int[] root = Grids.openCell(random, open);
+            field.moveRoot(root[0], root[1]);
+            for (int move = 0; move < 100; move++) {
+                if (random.nextInt(10) == 0) {
+                    root = Grids.openCell(random, open); // A teleport
+                } else {
+                    int[] step = MOVES[random.nextInt(4)];
+                    int x = root[0] + step[0];
+                    int y = root[1] + step[1];
+                    if (x >= 0 && x < WIDTH && y >= 0 && y < HEIGHT && open[x][y]) {
+                        root = new int[] { x, y };
+                    }
+                }
+                field.moveRoot(root[0], root[1]);
+                checkField(field, open, root);
+            }
+        }
+    }
+
+    @Test
+    public void invalidateSeesChangedWalls() {
+        Random random = new Random(4);
+        boolean[][] open = Grids.random(random, WIDTH, HEIGHT, 0.2);
+        DistanceField field = new DistanceField(WIDTH, HEIGHT, (x, y) -> open[x][y]);
+        int[] root = Grids.openCell(random, open);
+        field.moveRoot(root[0], root[1]);
+        checkField(field, open, root);
+
+        for (int change = 0; change < 100; change++) {
+            int x = random.nextInt(WIDTH);
+            int y = random.nextInt(HEIGHT);
+            if (x != root[0] || y != root[1]) {
+                open[x][y] = !open[x][y];
+            }
+        }
+        field.invalidate();
+        checkField(field, open, root);
+    }
+
+    // Every distance agrees with BFS, and every next step is one closer
+    private static void checkField(DistanceField field, boolean[][] open, int[] root) {
+        int[] expected = Grids.bfs(open, root[0], root[1]);
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                int distance = expected[x * HEIGHT + y];
+                assertEquals(distance, field.distanceTo(x, y), "distance of " + x + ", " + y);
+
+                int next = field.nextStepFrom(x, y);
+                if (distance <= 0) {
+                    assertEquals(-1, next);
+                } else {
+                    assertEquals(1, Math.abs(next / HEIGHT - x) + Math.abs(next % HEIGHT - y));
+                    assertEquals(distance - 1, expected[next]);
+                }
+            }
+        }
+    }
+}
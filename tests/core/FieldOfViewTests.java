@@ -0,0 +1,140 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FieldOfViewTests {
+    private static final int SIZE = 31;
+
+    private static boolean[][] openGrid() {
+        boolean[][] open = new boolean[SIZE][SIZE];
+        for (boolean[] column : open) {
+            Arrays.fill(column, true);
+        }
+        return open;
+    }
+
+    @Test
+    public void openFieldSeesTheWholeCircle() {
+        FieldOfView view = new FieldOfView(SIZE, SIZE, (x, y) -> true);
+        int radius = 7;
+        view.update(15, 15, radius);
+        int visible = 0;
+        for (int x = 0; x < SIZE; x++) {
+            for (int y = 0; y < SIZE; y++) {
+                boolean inCircle = (x - 15) * (x - 15) + (y - 15) * (y - 15) <= radius * radius;
+                assertEquals(inCircle, view.isVisible(x, y), x + ", " + y);
+                if (inCircle) {
+                    visible++;
+                }
+            }
+        }
+        assertEquals(visible, view.visibleCount());
+    }
+
+    @Test
+    public void wallHidesWhatIsBehindIt() {
+        boolean[][] open = openGrid();
+        for (int x = 0; x < SIZE; x++) {
+            open[x][18] = false; // A wall right across, three rows above the viewer
+        }
+        FieldOfView view = new FieldOfView(SIZE, SIZE, (x, y) -> open[x][y]);
+        view.update(15, 15, 10);
+
+        for (int x = 10; x <= 20; x++) {
+            assertTrue(view.isVisible(x, 18), "wall at " + x); // The wall itself shows
+            for (int y = 19; y < SIZE; y++) {
+                assertFalse(view.isVisible(x, y), "behind the wall at " + x + ", " + y);
+            }
+        }
+        assertTrue(view.isVisible(15, 5)); // The other way is open
+    }
+
+    @Test
+    public void pillarCastsAShadow() {
+        boolean[][] open = openGrid();
+        open[18][15] = false;
+        FieldOfView view = new FieldOfView(SIZE, SIZE, (x, y) -> open[x][y]);
+        view.update(15, 15, 10);
+
+        assertTrue(view.isVisible(18, 15));
+        for (int x = 19; x <= 25; x++) {
+            assertFalse(view.isVisible(x, 15), "shadow at " + x);
+        }
+        assertTrue(view.isVisible(20, 17)); // Off to the side of the shadow
+    }
+
+    @Test
+    public void corridorOnlySeesAlongItself() {
+        boolean[][] open = new boolean[SIZE][SIZE];
+        for (int x = 0; x < SIZE; x++) {
+            open[x][15] = true;
+        }
+        FieldOfView view = new FieldOfView(SIZE, SIZE, (x, y) -> open[x][y]);
+        view.update(15, 15, 12);
+
+        for (int x = 3; x <= 27; x++) {
+            assertTrue(view.isVisible(x, 15), "corridor at " + x);
+            assertTrue(view.isVisible(x, 14) || Math.abs(x - 15) > 1, "wall beside " + x);
+            assertFalse(view.isVisible(x, 13), "past the wall at " + x);
+            assertFalse(view.isVisible(x, 17), "past the wall at " + x);
+        }
+    }
+
+    /**
+     * Recursive shadowcasting does not promise that A sees B exactly when B sees A,
+     * but the eight octants must agree: mirroring or transposing the grid mirrors or
+     * transposes what is seen.
+     */
+    @Test
+    public void mirroredGridsSeeMirroredCells() {
+        Random random = new Random(8);
+        for (int grid = 0; grid < 30; grid++) {
+            boolean[][] open = Grids.random(random, SIZE, SIZE, 0.25);
+            FieldOfView view = new FieldOfView(SIZE, SIZE, (x, y) -> open[x][y]);
+            FieldOfView mirrored = new FieldOfView(SIZE, SIZE, (x, y) -> open[SIZE - 1 - x][y]);
+            FieldOfView flipped = new FieldOfView(SIZE, SIZE, (x, y) -> open[x][SIZE - 1 - y]);
+            FieldOfView transposed = new FieldOfView(SIZE, SIZE, (x, y) -> open[y][x]);
+            for (int query = 0; query < 20; query++) {
+                int[] origin = Grids.openCell(random, open);
+                int x0 = origin[0];
+                int y0 = origin[1];
+                int radius = 1 + random.nextInt(12);
+                view.update(x0, y0, radius);
+                mirrored.update(SIZE - 1 - x0, y0, radius);
+                flipped.update(x0, SIZE - 1 - y0, radius);
+                transposed.update(y0, x0, radius);
+                for (int x = 0; x < SIZE; x++) {
+                    for (int y = 0; y < SIZE; y++) {
+                        boolean seen = view.isVisible(x, y);
+                        assertEquals(seen, mirrored.isVisible(SIZE - 1 - x, y));
+                        assertEquals(seen, flipped.isVisible(x, SIZE - 1 - y));
+                        assertEquals(seen, transposed.isVisible(y, x));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void previousCellsAreTheOnesSeenBefore() {
+        FieldOfView view = new FieldOfView(SIZE, SIZE, (x, y) -> true);
+        view.update(10, 10, 3);
+        int seen = view.visibleCount();
+        assertFalse(view.update(10, 10, 3)); // Nothing moved
+        assertTrue(view.update(11, 10, 3));
+        assertEquals(seen, view.previousCount());
+        for (int i = 0; i < view.previousCount(); i++) {
+            int cell = view.previousCell(i);
+            int x = cell / SIZE;
+            int y = cell % SIZE;
+            assertTrue((x - 10) * (x - 10) + (y - 10) * (y - 10) <= 9);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package core;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GridPathfinderTests {
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 25;
+
+    @Test
+    public void pathLengthsMatchBreadthFirstSearch() {
+        Random random = new Random(1);
+        for (int grid = 0; grid < 50; grid++) {
+            boolean[][] open = Grids.random(random, WIDTH, HEIGHT, 0.3);
+            GridPathfinder pathfinder = new GridPathfinder(WIDTH, HEIGHT, (x, y) -> open[x][y]);
+            for (int query = 0; query < 40; query++) {
+                int[] start = Grids.openCell(random, open);
+                int[] goal = Grids.openCell(random, open);
+                int expected = Grids.bfs(open, start[0], start[1])[goal[0] * HEIGHT + goal[1]];
+
+                int length = pathfinder.findPath(start[0], start[1], goal[0], goal[1]);
+                assertEquals(expected, length);
+                if (length >= 0) {
+                    checkPath(pathfinder, open, start, goal);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void maxLengthCutsOffOnlyLongerPaths() {
+        Random random = new Random(2);
+        for (int grid = 0; grid < 20; grid++) {
+            boolean[][] open = Grids.random(random, WIDTH, HEIGHT, 0.3);
+            GridPathfinder pathfinder = new GridPathfinder(WIDTH, HEIGHT, (x, y) -> open[x][y]);
+            for (int query = 0; query < 40; query++) {
+                int[] start = Grids.openCell(random, open);
+                int[] goal = Grids.openCell(random, open);
+                int expected = Grids.bfs(open, start[0], start[1])[goal[0] * HEIGHT + goal[1]];
+                int limit = random.nextInt(30);
+
+                int length = pathfinder.findPath(start[0], start[1], goal[0], goal[1], limit);
+                assertEquals(expected >= 0 && expected <= limit ? expected : -1, length);
+            }
+        }
+    }
+
+    @Test
+    public void startingOnTheGoalIsAnEmptyPath() {
+        GridPathfinder pathfinder = new GridPathfinder(3, 3, (x, y) -> true);
+        assertEquals(0, pathfinder.findPath(1, 1, 1, 1));
+        assertEquals(-1, pathfinder.findPath(1, 1, 5, 1));
+    }
+
+    // Every step moves to an open neighbour and the last one is the goal
+    private static void checkPath(GridPathfinder pathfinder, boolean[][] open, int[] start, int[] goal) {
+        int x = start[0];
+        int y = start[1];
+        for (int step = 0; step < pathfinder.pathLength(); step++) {
+            int nx = pathfinder.pathX(step);
+            int ny = pathfinder.pathY(step);
+            assertEquals(1, Math.abs(nx - x) + Math.abs(ny - y));
+            assertTrue(open[nx][ny]);
+            x = nx;
+            y = ny;
+        }
+        assertEquals(goal[0], x);
+        assertEquals(goal[1], y);
+    }
+}
@@ -0,0 +1,71 @@
+package core;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Random open/blocked grids and a plain breadth-first search to check the grid
+ * algorithms against.
+ */
+class Grids {
+    private Grids() {
+    }
+
+    /**
+     * @return open[x][y], each cell blocked with the given probability
+     */
+    static boolean[][] random(Random random, int width, int height, double blocked) {
+        boolean[][] open = new boolean[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                open[x][y] = random.nextDouble() >= blocked;
+            }
+        }
+        return open;
+    }
+
+    /**
+     * @return {x, y} of a random open cell; the grid must have one
+     */
+    static int[] openCell(Random random, boolean[][] open) {
+        while (true) {
+            int x = random.nextInt(open.length);
+            int y = random.nextInt(open[0].length);
+            if (open[x][y]) {
+                return new int[] { x, y };
+            }
+        }
+    }
+
+    /**
+     * @return the number of 4-connected steps from (x, y) to every cell, by cell id
+     *         (x * height + y), or -1 where it cannot be reached
+     */
+    static int[] bfs(boolean[][] open, int x, int y) {
+        int width = open.length;
+        int height = open[0].length;
+        int[] distance = new int[width * height];
+        Arrays.fill(distance, -1);
+        if (!open[x][y]) {
+            return distance;
+        }
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        distance[x * height + y] = 0;
+        queue.add(x * height + y);
+        int[][] moves = { { 0, 1 }, { 1, 0 }, { 0, -1 }, { -1, 0 } };
+        while (!queue.isEmpty()) {
+            int cell = queue.poll();
+            for (int[] move : moves) {
+                int nx = cell / height + move[0];
+                int ny = cell % height + move[1];
+                if (nx >= 0 && nx < width && ny >= 0 && ny < height && open[nx][ny]
+                        && distance[nx * height + ny] < 0) {
+                    distance[nx * height + ny] = distance[cell] + 1;
+                    queue.add(nx * height + ny);
+                }
+            }
+        }
+        return distance;
+    }
+}
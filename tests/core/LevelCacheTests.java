@@ -0,0 +1,103 @@
+package core;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tileengine.TETile;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class LevelCacheTests {
+    @TempDir
+    Path spillDir;
+
+    @BeforeAll
+    public static void silence() {
+        AudioManager.useSilentAudio();
+    }
+
+    private static World fromCache(LevelCache cache, long seed) {
+        return cache.createWorld(new Player("tester"), seed, 1, 10, 10, 2, World.DEFAULT_WIDTH,
+                World.DEFAULT_HEIGHT);
+    }
+
+    private static World generated(long seed) {
+        return new World(new Player("tester"), seed, 1, 10, 10, 2, World.DEFAULT_WIDTH, World.DEFAULT_HEIGHT);
+    }
+
+    // Everything a cached copy must share with a freshly generated world
+    private static String describe(World world) {
+        StringBuilder layout = new StringBuilder();
+        for (TETile[] column : world.getMap()) {
+            for (TETile tile : column) {
+                layout.append(tile.description()).append('|');
+            }
+        }
+        layout.append(world.getAvatarX()).append(',').append(world.getAvatarY()).append(' ')
+                .append(world.getDoorX()).append(',').append(world.getDoorY());
+        for (Chaser chaser : world.getChasers()) {
+            layout.append(' ').append(chaser.getX()).append(',').append(chaser.getY());
+        }
+        return layout.toString();
+    }
+
+    @Test
+    public void repeatedLevelIsAHit() {
+        LevelCache cache = new LevelCache(4);
+        World first = fromCache(cache, 1);
+        assertEquals(0, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        World second = fromCache(cache, 1);
+        assertEquals(1, cache.getHits());
+        assertEquals(describe(generated(1)), describe(first));
+        assertEquals(describe(first), describe(second));
+    }
+
+    @Test
+    public void copiesDoNotShareState() {
+        LevelCache cache = new LevelCache(4);
+        World first = fromCache(cache, 2);
+        String untouched = describe(first);
+        for (char key : "wasdwasd".toCharArray()) {
+            first.moveAvatar(key);
+        }
+        first.moveChasers();
+        assertEquals(untouched, describe(fromCache(cache, 2)));
+    }
+
+    @Test
+    public void leastRecentlyUsedLevelIsEvicted() {
+        LevelCache cache = new LevelCache(2);
+        fromCache(cache, 1);
+        fromCache(cache, 2);
+        fromCache(cache, 1); // Now 2 is the least recently used
+        fromCache(cache, 3);
+        assertEquals(2, cache.size());
+
+        long misses = cache.getMisses();
+        fromCache(cache, 1);
+        assertEquals(misses, cache.getMisses());
+        fromCache(cache, 2);
+        assertEquals(misses + 1, cache.getMisses());
+    }
+
+    @Test
+    public void spilledLevelIsReadBackEqual() {
+        LevelCache cache = new LevelCache(1, spillDir.resolve("levels.bin"), 1 << 20);
+        fromCache(cache, 4);
+        fromCache(cache, 5); // Spills level 4
+        assertEquals(1, cache.size());
+
+        World reloaded = fromCache(cache, 4);
+        assertEquals(1, cache.getSpillHits());
+        assertEquals(2, cache.getMisses());
+        assertEquals(describe(generated(4)), describe(reloaded));
+
+        cache.clear();
+        fromCache(cache, 5);
+        assertEquals(3, cache.getMisses());
+    }
+}
@@ -0,0 +1,169 @@
+package core;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tileengine.TETile;
+import utils.FileUtils;
+
+import java.awt.Point;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SaveGameTests {
+    @TempDir
+    Path saveDir;
+
+    @BeforeAll
+    public static void silence() {
+        AudioManager.useSilentAudio();
+    }
+
+    private static SaveGame capture(long seed, int points) {
+        Player player = new Player("tester", points);
+        World world = new World(player, seed, 10, 10, 2);
+        world.moveAvatar('d');
+        world.moveAvatar('w');
+        return SaveGame.capture(player, world, 3);
+    }
+
+    private static String describe(TETile[][] tiles) {
+        StringBuilder map = new StringBuilder();
+        for (TETile[] column : tiles) {
+            for (TETile tile : column) {
+                map.append(tile.description()).append('|');
+            }
+        }
+        return map.toString();
+    }
+
+    @Test
+    public void encodeAndDecodeRoundTrip() {
+        SaveGame save = capture(123, 250);
+        byte[] data = save.encode();
+        SaveGame decoded = SaveGame.decode(data);
+
+        assertEquals("tester", decoded.getUsername());
+        assertEquals(250, decoded.getPoints());
+        assertEquals(3, decoded.getLevel());
+        assertEquals(save.seed, decoded.seed);
+        assertEquals(save.avatarX, decoded.avatarX);
+        assertEquals(save.avatarY, decoded.avatarY);
+        assertEquals(save.consumablePositions, decoded.consumablePositions);
+        assertEquals(save.obstacleTypes, decoded.obstacleTypes);
+        assertEquals(save.chasers, decoded.chasers);
+        assertArrayEquals(data, decoded.encode());
+    }
+
+    @Test
+    public void restoreRebuildsTheSavedMap() {
+        Player player = new Player("tester", 0);
+        World world = new World(player, 77, 10, 10, 2);
+        world.moveAvatar('s');
+        world.moveAvatar('a');
+        SaveGame save = SaveGame.decode(SaveGame.capture(player, world, 1).encode());
+
+        World restored = save.restore(new Player("tester"));
+        assertEquals(describe(world.getMap()), describe(restored.getMap()));
+    }
+
+    @Test
+    public void itemsUnderChasersSurviveASave() {
+        Player player = new Player("tester", 0);
+        World world = new World(player, 31, 10, 10, 3);
+        ConsumableType type = ConsumableType.values()[0];
+        for (Chaser chaser : world.getChasers()) {
+            world.addConsumable(chaser.getX(), chaser.getY(), type);
+        }
+        SaveGame save = SaveGame.decode(SaveGame.capture(player, world, 1).encode());
+
+        World restored = save.restore(new Player("tester"));
+        assertEquals(world.getChasers().size(), restored.getChasers().size());
+        for (Chaser chaser : restored.getChasers()) {
+            assertEquals(type.getTile(), chaser.getTileUnder(), "under " + chaser.getX() + ", " + chaser.getY());
+        }
+        assertEquals(describe(world.getMap()), describe(restored.getMap()));
+    }
+
+    @Test
+    public void corruptDataIsRejected() {
+        byte[] data = capture(5, 0).encode();
+        for (int i = 0; i < data.length; i += 7) {
+            byte[] corrupt = data.clone();
+            corrupt[i] ^= 0x10;
+            assertThrows(IllegalArgumentException.class, () -> SaveGame.decode(corrupt), "flipped byte " + i);
+        }
+        byte[] truncated = Arrays.copyOf(data, data.length - 1);
+        assertThrows(IllegalArgumentException.class, () -> SaveGame.decode(truncated));
+        assertThrows(IllegalArgumentException.class, () -> SaveGame.decode(new byte[3]));
+    }
+
+    @Test
+    public void positionsOffTheMapAreRejected() {
+        SaveGame avatarOff = capture(6, 0);
+        avatarOff.avatarX = avatarOff.width;
+        assertThrows(IllegalArgumentException.class, () -> SaveGame.decode(avatarOff.encode()));
+
+        SaveGame obstacleOff = capture(6, 0);
+        obstacleOff.obstaclePositions.add(new Point(3, obstacleOff.height));
+        obstacleOff.obstacleTypes.add(ObstacleType.values()[0]);
+        assertThrows(IllegalArgumentException.class, () -> SaveGame.decode(obstacleOff.encode()));
+
+        SaveGame chaserOff = capture(6, 0);
+        chaserOff.chasers.get(0).y = chaserOff.height;
+        assertThrows(IllegalArgumentException.class, () -> SaveGame.parse(chaserOff.serialize()));
+
+        SaveGame onMap = capture(6, 0);
+        assertEquals(onMap.avatarX, SaveGame.parse(onMap.serialize()).avatarX);
+    }
+
+    @Test
+    public void writerSavesCanBeReadBack() {
+        SaveWriter writer = new SaveWriter(saveDir.toString(), SaveGame.MAX_AUTO_SAVES);
+        SaveGame save = capture(9, 40);
+        writer.submit(save);
+        writer.flush();
+
+        assertTrue(SaveGame.exists(saveDir.toString(), "tester"));
+        SaveGame read = SaveGame.read(saveDir.toString(), "tester");
+        assertNotNull(read);
+        assertArrayEquals(save.encode(), read.encode());
+        assertTrue(read.getSkippedSaves().isEmpty());
+        assertNull(SaveGame.read(saveDir.toString(), "nobody"));
+    }
+
+    @Test
+    public void corruptSaveFallsBackToAnOlderOne() {
+        String dir = saveDir.toString();
+        SaveWriter writer = new SaveWriter(dir, SaveGame.MAX_AUTO_SAVES);
+        SaveGame older = capture(11, 10);
+        writer.submit(older);
+        writer.submit(capture(12, 20));
+        writer.flush();
+
+        // Slot 1 holds the newer save; damage it
+        String newest = SaveGame.autoSaveFileName(dir, "tester", 1);
+        byte[] data = FileUtils.readBytes(newest);
+        data[data.length / 2] ^= 0x01;
+        FileUtils.writeBytesAtomically(newest, data);
+
+        SaveGame read = SaveGame.read(dir, "tester");
+        assertArrayEquals(older.encode(), read.encode());
+        assertEquals(1, read.getSkippedSaves().size());
+        assertTrue(read.getSkippedSaves().get(0).startsWith(newest));
+
+        // With every save damaged there is nothing to fall back to
+        String oldest = SaveGame.autoSaveFileName(dir, "tester", 0);
+        byte[] oldData = FileUtils.readBytes(oldest);
+        oldData[oldData.length / 2] ^= 0x01;
+        FileUtils.writeBytesAtomically(oldest, oldData);
+        assertThrows(IllegalArgumentException.class, () -> SaveGame.read(dir, "tester"));
+    }
+}
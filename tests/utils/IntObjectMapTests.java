@@ -0,0 +1,117 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class IntObjectMapTests {
+    @Test
+    public void randomOperationsMatchHashMap() {
+        Random random = new Random(9);
+        // Few distinct keys keep the map busy with collisions; many keys force resizes
+        for (int keyRange : new int[] { 20, 300, 50_000 }) {
+            IntObjectMap<String> map = new IntObjectMap<>();
+            Map<Integer, String> expected = new HashMap<>();
+            for (int op = 0; op < 100_000; op++) {
+                int key = random.nextInt(keyRange);
+                int choice = random.nextInt(10);
+                if (choice < 5) {
+                    String value = "v" + op;
+                    assertEquals(expected.put(key, value), map.put(key, value), "put " + key);
+                } else if (choice < 8) {
+                    assertEquals(expected.remove(key), map.remove(key), "remove " + key);
+                } else {
+                    assertEquals(expected.get(key), map.get(key), "get " + key);
+                    assertEquals(expected.containsKey(key), map.containsKey(key), "contains " + key);
+                }
+                assertEquals(expected.size(), map.size());
+            }
+            checkSameEntries(expected, map);
+        }
+    }
+
+    @Test
+    public void removeInsideAWrappedClusterKeepsTheRest() {
+        // Keys whose home is the last slot of the initial 16-slot table fill it and
+        // wrap around to the front, so removals have to shift entries across the end
+        List<Integer> lastSlot = keysWithHome(15, 4);
+        List<Integer> firstSlot = keysWithHome(0, 2);
+        Random random = new Random(10);
+        for (int round = 0; round < 50; round++) {
+            IntObjectMap<Integer> map = new IntObjectMap<>();
+            Map<Integer, Integer> expected = new HashMap<>();
+            List<Integer> keys = new ArrayList<>(lastSlot);
+            keys.addAll(firstSlot);
+            Collections.shuffle(keys, random);
+            for (int key : keys) {
+                map.put(key, key);
+                expected.put(key, key);
+            }
+            Collections.shuffle(keys, random);
+            for (int key : keys) {
+                assertEquals(key, map.remove(key));
+                expected.remove(key);
+                checkSameEntries(expected, map);
+            }
+            assertTrue(map.isEmpty());
+        }
+    }
+
+    @Test
+    public void growingKeepsEveryEntry() {
+        IntObjectMap<Integer> map = new IntObjectMap<>();
+        for (int key = 0; key < 10_000; key++) {
+            map.put(key * 7, key);
+        }
+        for (int key = 0; key < 10_000; key += 2) {
+            assertEquals(key, map.remove(key * 7));
+        }
+        assertEquals(5_000, map.size());
+        for (int key = 0; key < 10_000; key++) {
+            assertEquals(key % 2 == 0 ? null : key, map.get(key * 7));
+        }
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(7));
+    }
+
+    @Test
+    public void negativeKeysAreRejected() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertThrows(IllegalArgumentException.class, () -> map.put(-1, "x"));
+        assertFalse(map.containsKey(-1));
+        assertNull(map.remove(-1));
+    }
+
+    // The first count keys that hash to slot home of a 16-slot table, as IntObjectMap.slot does
+    private static List<Integer> keysWithHome(int home, int count) {
+        List<Integer> keys = new ArrayList<>();
+        for (int key = 0; keys.size() < count; key++) {
+            if ((key * 0x9E3779B9) >>> 28 == home) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+
+    private static <V> void checkSameEntries(Map<Integer, V> expected, IntObjectMap<V> map) {
+        assertEquals(expected.size(), map.size());
+        for (Map.Entry<Integer, V> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()), "key " + entry.getKey());
+        }
+        Map<Integer, V> visited = new HashMap<>();
+        map.forEach(visited::put);
+        assertEquals(expected, visited);
+    }
+}
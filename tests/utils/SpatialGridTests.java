@@ -0,0 +1,80 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpatialGridTests {
+    private static final int WIDTH = 70;
+    private static final int HEIGHT = 45;
+
+    @Test
+    public void visitWithinFindsExactlyTheNearbyPoints() {
+        Random random = new Random(11);
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 8);
+        List<int[]> points = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            int[] point = { random.nextInt(WIDTH), random.nextInt(HEIGHT) };
+            points.add(point);
+            grid.add(point[0], point[1]);
+        }
+        for (int i = 0; i < 100; i++) { // A repeated point loses one copy per removal
+            int[] point = points.remove(random.nextInt(points.size()));
+            assertTrue(grid.remove(point[0], point[1]));
+        }
+        assertEquals(points.size(), grid.size());
+
+        for (int query = 0; query < 500; query++) {
+            int x = random.nextInt(WIDTH);
+            int y = random.nextInt(HEIGHT);
+            int radius = random.nextInt(12);
+            List<String> expected = new ArrayList<>();
+            int nearest = Integer.MAX_VALUE;
+            for (int[] point : points) {
+                int dx = point[0] - x;
+                int dy = point[1] - y;
+                if (Math.abs(dx) <= radius && Math.abs(dy) <= radius) {
+                    expected.add(point[0] + "," + point[1]);
+                    nearest = Math.min(nearest, dx * dx + dy * dy);
+                }
+            }
+            List<String> visited = new ArrayList<>();
+            assertFalse(grid.visitWithin(x, y, radius, (px, py) -> !visited.add(px + "," + py)));
+            Collections.sort(expected);
+            Collections.sort(visited);
+            assertEquals(expected, visited, "around " + x + ", " + y + " within " + radius);
+            assertEquals(nearest, grid.nearestDistanceSquared(x, y, radius));
+        }
+    }
+
+    @Test
+    public void visitWithinStopsWhenAsked() {
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 8);
+        for (int x = 10; x < 20; x++) {
+            grid.add(x, 10);
+        }
+        int[] visits = { 0 };
+        assertTrue(grid.visitWithin(15, 10, 10, (x, y) -> ++visits[0] == 3));
+        assertEquals(3, visits[0]);
+        assertFalse(grid.visitWithin(60, 40, 5, (x, y) -> true)); // Nothing there
+    }
+
+    @Test
+    public void removingAMissingPointChangesNothing() {
+        SpatialGrid grid = new SpatialGrid(WIDTH, HEIGHT, 8);
+        grid.add(3, 4);
+        assertFalse(grid.remove(4, 3));
+        assertEquals(1, grid.size());
+        grid.clear();
+        assertEquals(0, grid.size());
+        assertFalse(grid.remove(3, 4));
+        assertFalse(grid.visitWithin(3, 4, 2, (x, y) -> true));
+    }
+}
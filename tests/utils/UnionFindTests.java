@@ -0,0 +1,65 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class UnionFindTests {
+    @Test
+    public void unionsMatchRelabelledComponents() {
+        Random random = new Random(12);
+        int n = 200;
+        UnionFind sets = new UnionFind(n);
+        int[] label = new int[n]; // The slow way: relabel a whole component on every merge
+        for (int i = 0; i < n; i++) {
+            label[i] = i;
+        }
+
+        for (int op = 0; op < 400; op++) {
+            int a = random.nextInt(n);
+            int b = random.nextInt(n);
+            boolean separate = label[a] != label[b];
+            assertEquals(separate, sets.union(a, b), "union " + a + ", " + b);
+            if (separate) {
+                int old = label[b];
+                for (int i = 0; i < n; i++) {
+                    if (label[i] == old) {
+                        label[i] = label[a];
+                    }
+                }
+            }
+
+            Set<Integer> components = new HashSet<>();
+            for (int i = 0; i < n; i++) {
+                components.add(label[i]);
+            }
+            assertEquals(components.size(), sets.count());
+            for (int check = 0; check < 20; check++) {
+                int x = random.nextInt(n);
+                int y = random.nextInt(n);
+                assertEquals(label[x] == label[y], sets.connected(x, y));
+                assertEquals(label[x] == label[y], sets.find(x) == sets.find(y));
+            }
+        }
+    }
+
+    @Test
+    public void startsAsSingletons() {
+        UnionFind sets = new UnionFind(5);
+        assertEquals(5, sets.count());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, sets.find(i));
+        }
+        assertTrue(sets.union(0, 4));
+        assertFalse(sets.union(4, 0));
+        assertTrue(sets.connected(0, 4));
+        assertFalse(sets.connected(0, 1));
+        assertEquals(4, sets.count());
+    }
+}
@@ -0,0 +1,85 @@
+package utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class WeightedSamplerTests {
+    private static final int DRAWS = 200_000;
+
+    @Test
+    public void drawsFollowTheWeights() {
+        Random random = new Random(5);
+        WeightedSampler sampler = new WeightedSampler(13);
+        double[] weights = new double[sampler.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = i % 4 == 0 ? 0.0 : random.nextDouble() * 10;
+            sampler.set(i, weights[i]);
+        }
+        checkFrequencies(sampler, weights, random);
+    }
+
+    @Test
+    public void drawsFollowUpdatedWeights() {
+        Random random = new Random(6);
+        WeightedSampler sampler = new WeightedSampler(20);
+        double[] weights = new double[sampler.size()];
+        for (int round = 0; round < 5; round++) {
+            // Change a few weights, zeroing some, as placing items does
+            for (int change = 0; change < 8; change++) {
+                int index = random.nextInt(weights.length);
+                weights[index] = random.nextInt(3) == 0 ? 0.0 : random.nextDouble() * 5;
+                sampler.set(index, weights[index]);
+            }
+            weights[round] = 1.0;
+            sampler.set(round, 1.0);
+            checkFrequencies(sampler, weights, random);
+        }
+    }
+
+    @Test
+    public void emptySamplerDrawsNothing() {
+        Random random = new Random(7);
+        WeightedSampler sampler = new WeightedSampler(4);
+        assertEquals(-1, sampler.sample(random));
+        sampler.set(2, 3.0);
+        assertEquals(2, sampler.sample(random));
+        sampler.clear();
+        assertEquals(0.0, sampler.total());
+        assertEquals(-1, sampler.sample(random));
+    }
+
+    @Test
+    public void negativeWeightsAreRejected() {
+        WeightedSampler sampler = new WeightedSampler(2);
+        assertThrows(IllegalArgumentException.class, () -> sampler.set(0, -1.0));
+        assertThrows(IllegalArgumentException.class, () -> sampler.set(1, Double.NaN));
+    }
+
+    // Each index is drawn within five standard deviations of its expected count
+    private static void checkFrequencies(WeightedSampler sampler, double[] weights, Random random) {
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        assertEquals(total, sampler.total(), 1e-9);
+
+        int[] counts = new int[weights.length];
+        for (int draw = 0; draw < DRAWS; draw++) {
+            counts[sampler.sample(random)]++;
+        }
+        for (int i = 0; i < weights.length; i++) {
+            double p = weights[i] / total;
+            double expected = DRAWS * p;
+            double tolerance = 5 * Math.sqrt(DRAWS * p * (1 - p));
+            if (weights[i] == 0.0) {
+                assertEquals(0, counts[i], "index " + i + " has no weight");
+            } else {
+                assertEquals(expected, counts[i], tolerance, "draws of index " + i);
+            }
+        }
+    }
+}